@@ -17,45 +17,109 @@
 package net.rithms.riot.api;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
+import com.google.gson.Gson;
+
+import net.rithms.riot.api.request.RequestResponse;
 import net.rithms.riot.api.request.ratelimit.DefaultRateLimitHandler;
 import net.rithms.riot.api.request.ratelimit.RateLimitHandler;
+import net.rithms.riot.api.request.transport.AsyncHttpTransport;
+import net.rithms.riot.api.request.transport.HttpTransport;
+import net.rithms.riot.api.request.transport.PooledHttpTransport;
 
 /**
  * Configuration class to use with the {@link RiotApi}.
  */
 public class ApiConfig implements Cloneable {
 
+	/**
+	 * Holds the default executor, which is shared by all {@code ApiConfig}s and only created once it is used
+	 */
+	private static class DefaultExecutorHolder {
+
+		private static final int THREADS = 32;
+		private static final ExecutorService INSTANCE = newDefaultExecutor(THREADS);
+	}
+
+	/**
+	 * Holds the default http transport, which is shared by all {@code ApiConfig}s and only created once it is used
+	 */
+	private static class DefaultHttpTransportHolder {
+
+		private static final HttpTransport INSTANCE = new PooledHttpTransport();
+	}
+
 	public final int DEFAULT_ASYNC_REQUEST_TIMEOUT = 10000;
+	public final boolean DEFAULT_COALESCE_REQUESTS = false;
+	public final boolean DEFAULT_COMPRESS_RESPONSES = true;
 	public final Level DEFAULT_DEBUG_LEVEL = Level.WARNING;
 	public final boolean DEFAULT_DEBUG_TO_FILE = false;
+	public final ExecutionMode DEFAULT_EXECUTION_MODE = ExecutionMode.PLATFORM_THREADS;
+	public final int DEFAULT_EXECUTOR_THREADS = DefaultExecutorHolder.THREADS;
+	public final Gson DEFAULT_GSON = DtoGson.INSTANCE;
+	public final boolean DEFAULT_KEEP_RESPONSE_BODY = false;
+	public final MatchArchive DEFAULT_MATCH_ARCHIVE = null;
 	public final int DEFAULT_MAX_ASYNC_THREADS = 0;
 	public final RateLimitHandler DEFAULT_RATE_LIMIT_HANDLER = new DefaultRateLimitHandler();
 	public final int DEFAULT_REQUEST_TIMEOUT = 0;
+	public final ResponseCache DEFAULT_RESPONSE_CACHE = null;
+	public final boolean DEFAULT_SCHEDULE_RATE_LIMITED_REQUESTS = true;
 	public final boolean DEFAULT_TOURNAMENT_MOCK_MODE = false;
+	public final boolean DEFAULT_WAIT_FOR_RATE_LIMITS = false;
 
 	private int asyncRequestTimeout = DEFAULT_ASYNC_REQUEST_TIMEOUT;
+	private boolean coalesceRequests = DEFAULT_COALESCE_REQUESTS;
+	private boolean compressResponses = DEFAULT_COMPRESS_RESPONSES;
 	private Level debugLevel = DEFAULT_DEBUG_LEVEL;
 	private boolean debugToFile = DEFAULT_DEBUG_TO_FILE;
+	private ExecutionMode executionMode = DEFAULT_EXECUTION_MODE;
+	// null selects the shared default executor
+	private ExecutorService executor = null;
+	private Gson gson = DEFAULT_GSON;
+	// null selects the shared default http transport
+	private HttpTransport httpTransport = null;
+	private boolean keepResponseBody = DEFAULT_KEEP_RESPONSE_BODY;
 	private String key = null;
+	private MatchArchive matchArchive = DEFAULT_MATCH_ARCHIVE;
 	private int maxAsyncThreads = DEFAULT_MAX_ASYNC_THREADS;
 	private RateLimitHandler rateLimitHandler = DEFAULT_RATE_LIMIT_HANDLER;
 	private int requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+	private ResponseCache responseCache = DEFAULT_RESPONSE_CACHE;
+	private boolean scheduleRateLimitedRequests = DEFAULT_SCHEDULE_RATE_LIMITED_REQUESTS;
 	private String tournamentKey = null;
 	private boolean tournamentMockMode = DEFAULT_TOURNAMENT_MOCK_MODE;
+	private boolean waitForRateLimits = DEFAULT_WAIT_FOR_RATE_LIMITS;
 
 	@Override
 	public ApiConfig clone() {
-		return new ApiConfig().setAsyncRequestTimeout(getAsyncRequestTimeout()).setDebugLevel(getDebugLevel()).setDebugToFile(getDebugToFile()).setKey(getKey())
+		return new ApiConfig().setAsyncRequestTimeout(getAsyncRequestTimeout()).setCoalesceRequests(getCoalesceRequests())
+				.setCompressResponses(getCompressResponses()).setDebugLevel(getDebugLevel()).setDebugToFile(getDebugToFile())
+				.setExecutionMode(getExecutionMode()).setExecutor(getExecutor()).setGson(getGson()).setHttpTransport(getHttpTransport())
+				.setKeepResponseBody(getKeepResponseBody()).setKey(getKey()).setMatchArchive(getMatchArchive())
 				.setMaxAsyncThreads(getMaxAsyncThreads()).setRateLimitHandler(getRateLimitHandler()).setRequestTimeout(getRequestTimeout())
-				.setTournamentKey(getTournamentKey()).setTournamentMockMode(getTournamentMockMode());
+				.setResponseCache(getResponseCache()).setScheduleRateLimitedRequests(getScheduleRateLimitedRequests())
+				.setTournamentKey(getTournamentKey()).setTournamentMockMode(getTournamentMockMode()).setWaitForRateLimits(getWaitForRateLimits());
 	}
 
 	public int getAsyncRequestTimeout() {
 		return asyncRequestTimeout;
 	}
 
+	public boolean getCoalesceRequests() {
+		return coalesceRequests;
+	}
+
+	public boolean getCompressResponses() {
+		return compressResponses;
+	}
+
 	public Level getDebugLevel() {
 		return debugLevel;
 	}
@@ -64,10 +128,34 @@ public class ApiConfig implements Cloneable {
 		return debugToFile;
 	}
 
+	public ExecutionMode getExecutionMode() {
+		return executionMode;
+	}
+
+	public ExecutorService getExecutor() {
+		return (executor == null ? DefaultExecutorHolder.INSTANCE : executor);
+	}
+
+	public Gson getGson() {
+		return gson;
+	}
+
+	public HttpTransport getHttpTransport() {
+		return (httpTransport == null ? DefaultHttpTransportHolder.INSTANCE : httpTransport);
+	}
+
+	public boolean getKeepResponseBody() {
+		return keepResponseBody;
+	}
+
 	public String getKey() {
 		return key;
 	}
 
+	public MatchArchive getMatchArchive() {
+		return matchArchive;
+	}
+
 	public int getMaxAsyncThreads() {
 		return maxAsyncThreads;
 	}
@@ -80,6 +168,14 @@ public class ApiConfig implements Cloneable {
 		return requestTimeout;
 	}
 
+	public ResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	public boolean getScheduleRateLimitedRequests() {
+		return scheduleRateLimitedRequests;
+	}
+
 	public String getTournamentKey() {
 		return tournamentKey;
 	}
@@ -88,6 +184,26 @@ public class ApiConfig implements Cloneable {
 		return tournamentMockMode;
 	}
 
+	public boolean getWaitForRateLimits() {
+		return waitForRateLimits;
+	}
+
+	private static ExecutorService newDefaultExecutor(int threads) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "Riot Api - Async Request " + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	/**
 	 * Sets a specified timeout value, in milliseconds, for calls in {@link RiotApiAsync} to wait at most for a response. If set to zero,
 	 * asynchronous requests won't time out.
@@ -110,6 +226,39 @@ public class ApiConfig implements Cloneable {
 		return this;
 	}
 
+	/**
+	 * Sets whether identical calls, that are made while an equal request is still in flight, share that request instead of firing their
+	 * own. This saves rate limit budget when many threads look up the same summoner or match at the same time. Only {@code GET} requests
+	 * made through {@link RiotApi} and {@link RiotApiFuture} are shared; calls in {@link RiotApiAsync} always fire their own request.
+	 * 
+	 * <p>
+	 * <i>Please note that all callers sharing a request receive the same dto instance. Cancelling one of the futures returned by
+	 * {@link RiotApiFuture} does not cancel the shared request.</i>
+	 * </p>
+	 * 
+	 * @param coalesceRequests
+	 *            If {@code true}, identical requests in flight are shared
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setCoalesceRequests(boolean coalesceRequests) {
+		this.coalesceRequests = coalesceRequests;
+		return this;
+	}
+
+	/**
+	 * Sets whether the Riot Api is asked to compress its responses. If enabled, which is the default, requests accept gzip and deflate
+	 * encoded responses, which are decompressed while they are parsed. Large responses like match timelines and leagues shrink
+	 * considerably, at the cost of some CPU time for decompression.
+	 * 
+	 * @param compressResponses
+	 *            If {@code true}, compressed responses are accepted
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setCompressResponses(boolean compressResponses) {
+		this.compressResponses = compressResponses;
+		return this;
+	}
+
 	/**
 	 * Sets the debug level.
 	 * 
@@ -139,6 +288,124 @@ public class ApiConfig implements Cloneable {
 		return this;
 	}
 
+	/**
+	 * Sets which kind of threads asynchronous requests are executed on. By default, they are executed on a bounded pool of platform
+	 * threads.
+	 * 
+	 * <p>
+	 * If set to {@link ExecutionMode#VIRTUAL_THREADS}, every asynchronous request is executed on its own virtual thread, which makes
+	 * hundreds of thousands of concurrent requests cheap. This replaces the current executor by a virtual thread executor, which is shared
+	 * by all {@code ApiConfig}s and only created once it is used. To limit the amount of requests running at once, use
+	 * {@link #setMaxAsyncThreads(int)}. Synchronous requests do not pin the carrier thread, so they can be called from virtual
+	 * threads as well.
+	 * </p>
+	 * 
+	 * <p>
+	 * <i>Please note that virtual threads require Java 21 or higher at runtime, as well as a multi-release jar built with Java 21 support.</i>
+	 * </p>
+	 * 
+	 * @param executionMode
+	 *            Kind of threads to execute asynchronous requests on
+	 * @return This ApiConfig object for chaining
+	 * @throws NullPointerException
+	 *             If {@code executionMode} is {@code null}
+	 * @throws UnsupportedOperationException
+	 *             If {@code executionMode} is {@link ExecutionMode#VIRTUAL_THREADS} and either the runtime or this build of the library does
+	 *             not support virtual threads
+	 */
+	public ApiConfig setExecutionMode(ExecutionMode executionMode) {
+		Objects.requireNonNull(executionMode, "execution mode must not be null");
+		if (executionMode == ExecutionMode.VIRTUAL_THREADS) {
+			executor = VirtualThreads.getExecutor();
+		} else if (this.executionMode == ExecutionMode.VIRTUAL_THREADS) {
+			executor = null;
+		}
+		this.executionMode = executionMode;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link ExecutorService} that asynchronous requests are executed on. By default, a thread pool of
+	 * {@link #DEFAULT_EXECUTOR_THREADS} daemon threads is used, which queues further requests until a thread becomes available. Idle threads
+	 * are terminated after one minute. The default thread pool is shared by all {@code ApiConfig}s, so it bounds the asynchronous requests
+	 * of the whole process.
+	 * 
+	 * <p>
+	 * If the {@link HttpTransport} implements {@link AsyncHttpTransport}, asynchronous requests complete on the transport's own threads
+	 * and this executor is not used.
+	 * </p>
+	 * 
+	 * @param executor
+	 *            {@code ExecutorService} instance
+	 * @return This ApiConfig object for chaining
+	 * @throws NullPointerException
+	 *             If {@code executor} is {@code null}
+	 */
+	public ApiConfig setExecutor(ExecutorService executor) {
+		Objects.requireNonNull(executor, "executor must not be null");
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Sets the {@code Gson} instance used to serialize request bodies and to parse responses of the Riot Api. {@code Gson} is thread-safe
+	 * and caches the type adapters it creates, so the same instance is shared by all requests. By default, a single instance is shared by
+	 * all {@code ApiConfig}s.
+	 * 
+	 * <p>
+	 * A custom instance can be used to register hand-written {@code TypeAdapter}s for the dtos an application requests most.
+	 * </p>
+	 * 
+	 * @param gson
+	 *            {@code Gson} instance
+	 * @return This ApiConfig object for chaining
+	 * @throws NullPointerException
+	 *             If {@code gson} is {@code null}
+	 */
+	public ApiConfig setGson(Gson gson) {
+		Objects.requireNonNull(gson, "gson must not be null");
+		this.gson = gson;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link HttpTransport} used to send requests to the Riot Api. By default, a {@link PooledHttpTransport} is used, which keeps
+	 * connections to each platform alive and reuses them for subsequent requests. The default transport is shared by all {@code ApiConfig}s.
+	 * It keeps as many connections per platform alive as the JDK's keep-alive cache holds, i.e. {@code http.maxConnections} (default
+	 * {@code 5}). Further concurrent requests to the same platform open additional connections, which are closed after use. Raise the
+	 * {@code http.maxConnections} system property to keep more connections alive.
+	 * 
+	 * <p>
+	 * If the transport implements {@link AsyncHttpTransport}, like the {@link net.rithms.riot.api.request.transport.Http2Transport} does,
+	 * asynchronous requests do not occupy a thread while waiting for their response.
+	 * </p>
+	 * 
+	 * @param httpTransport
+	 *            {@code HttpTransport} instance
+	 * @return This ApiConfig object for chaining
+	 * @throws NullPointerException
+	 *             If {@code httpTransport} is {@code null}
+	 */
+	public ApiConfig setHttpTransport(HttpTransport httpTransport) {
+		Objects.requireNonNull(httpTransport, "http transport must not be null");
+		this.httpTransport = httpTransport;
+		return this;
+	}
+
+	/**
+	 * Sets whether the raw body of successful responses is kept and available via {@link RequestResponse#getBody()}. By default, responses
+	 * are decoded directly from the connection's stream into their dto, without ever holding the raw body as a string. Keeping the body
+	 * costs an additional copy of each response, which matters for large responses like match timelines.
+	 * 
+	 * @param keepResponseBody
+	 *            If {@code true}, the raw body of successful responses is kept
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setKeepResponseBody(boolean keepResponseBody) {
+		this.keepResponseBody = keepResponseBody;
+		return this;
+	}
+
 	/**
 	 * Sets the api key for the Riot Api. Most endpoints require this key to be set.
 	 *
@@ -155,11 +422,25 @@ public class ApiConfig implements Cloneable {
 	}
 
 	/**
-	 * Sets the maximum amount of threads for asynchronous api calls running at once. If set to zero, there is no limit.
+	 * Sets the {@link MatchArchive} used to store matches and match timelines on disk. Archived matches and timelines are never requested
+	 * from the Riot Api again. By default, no archive is used.
+	 * 
+	 * @param matchArchive
+	 *            {@code MatchArchive} instance, or {@code null} to disable archiving
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setMatchArchive(MatchArchive matchArchive) {
+		this.matchArchive = matchArchive;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum amount of asynchronous api calls running at once. If set to zero, there is no limit.
 	 * 
 	 * <p>
-	 * If you make asynchronous calls, and the current thread limit is reached, the api call will be queued and executed when resources
-	 * become available.
+	 * If you make asynchronous calls, and the current limit is reached, the api call will be queued and executed when resources become
+	 * available. Independently of this limit, the amount of threads is bounded by the executor set via
+	 * {@link #setExecutor(ExecutorService)}.
 	 * </p>
 	 * 
 	 * @param maxAsyncThreads
@@ -210,6 +491,32 @@ public class ApiConfig implements Cloneable {
 		return this;
 	}
 
+	/**
+	 * Sets the {@link ResponseCache} used to serve repeated calls without firing a request. By default, no cache is used.
+	 * 
+	 * @param responseCache
+	 *            {@code ResponseCache} instance, or {@code null} to disable caching
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setResponseCache(ResponseCache responseCache) {
+		this.responseCache = responseCache;
+		return this;
+	}
+
+	/**
+	 * Sets whether asynchronous requests that the {@link RateLimitHandler} decides not to fire should be scheduled for later instead of
+	 * failing with a {@link net.rithms.riot.api.request.ratelimit.RespectedRateLimitException}. By default, such requests are parked until
+	 * the rate limit is expected to be lifted, and are then released in the order they were made.
+	 * 
+	 * @param scheduleRateLimitedRequests
+	 *            {@code true} if rate limited asynchronous requests should be scheduled for later, {@code false} if they should fail
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setScheduleRateLimitedRequests(boolean scheduleRateLimitedRequests) {
+		this.scheduleRateLimitedRequests = scheduleRateLimitedRequests;
+		return this;
+	}
+
 	/**
 	 * Sets the tournament api key for the Riot Api. Tournament-related endpoints require this key to be set.
 	 *
@@ -240,4 +547,23 @@ public class ApiConfig implements Cloneable {
 		this.tournamentMockMode = tournamentMockMode;
 		return this;
 	}
+
+	/**
+	 * Sets whether synchronous requests that the {@link RateLimitHandler} decides not to fire should block until the rate limit is expected
+	 * to be lifted and then be retried, instead of failing with a {@link net.rithms.riot.api.request.ratelimit.RespectedRateLimitException}.
+	 * By default, such requests fail immediately.
+	 * 
+	 * <p>
+	 * If the waiting thread is interrupted, the request fails with the {@code RespectedRateLimitException} and the thread's interrupt flag
+	 * is set.
+	 * </p>
+	 * 
+	 * @param waitForRateLimits
+	 *            {@code true} if rate limited synchronous requests should wait and be retried, {@code false} if they should fail
+	 * @return This ApiConfig object for chaining
+	 */
+	public ApiConfig setWaitForRateLimits(boolean waitForRateLimits) {
+		this.waitForRateLimits = waitForRateLimits;
+		return this;
+	}
 }
\ No newline at end of file
@@ -21,8 +21,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import com.google.gson.Gson;
-
 import net.rithms.riot.api.request.RequestMethod;
 import net.rithms.riot.constant.Platform;
 
@@ -39,6 +37,7 @@ abstract public class ApiMethod {
 	private Type returnType = null;
 
 	private boolean requireApiKey = false;
+	private boolean returnNullOnNotFound = false;
 
 	protected ApiMethod(ApiConfig config, String service) {
 		this.config = config;
@@ -58,7 +57,7 @@ abstract public class ApiMethod {
 	}
 
 	public void buildJsonBody(Map<String, Object> map) {
-		body = new Gson().toJson(map);
+		body = getConfig().getGson().toJson(map);
 	}
 
 	public void checkRequirements() throws RiotApiException {
@@ -71,6 +70,16 @@ abstract public class ApiMethod {
 		return requireApiKey;
 	}
 
+	/**
+	 * Returns {@code true} if a {@code 404} response to this method is a regular result, which yields a {@code null} dto instead of a
+	 * {@link RiotApiException}.
+	 * 
+	 * @return {@code true} if {@code 404} responses yield {@code null}
+	 */
+	public boolean doesReturnNullOnNotFound() {
+		return returnNullOnNotFound;
+	}
+
 	public String getBody() {
 		return body;
 	}
@@ -113,6 +122,10 @@ abstract public class ApiMethod {
 		requireApiKey = true;
 	}
 
+	protected void returnNullOnNotFound() {
+		returnNullOnNotFound = true;
+	}
+
 	protected void setPlatform(Platform platform) {
 		this.platform = platform;
 	}
@@ -17,57 +17,124 @@
 package net.rithms.riot.api;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import net.rithms.riot.api.request.AsyncRequest;
 
+/**
+ * Dispatches asynchronous requests while respecting the maximum amount of requests running at once. Dispatching is driven by request
+ * completion: whenever a request finishes, the next queued request is executed immediately.
+ * 
+ * <p>
+ * Requests that the {@link net.rithms.riot.api.request.ratelimit.RateLimitHandler} decides not to fire are parked until the rate limit is
+ * expected to be lifted. Then they are queued again, ahead of all requests that were added after them, so that requests are always
+ * released in the order they were added.
+ * </p>
+ */
 class AsyncRequestPool {
 
+	private static class Entry {
+
+		private final AsyncRequest request;
+		private final long sequence;
+		private long wakeNanoTime = 0;
+
+		private Entry(AsyncRequest request, long sequence) {
+			this.request = request;
+			this.sequence = sequence;
+		}
+	}
+
+	private static final Comparator<Entry> SEQUENCE_ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return Long.compare(e1.sequence, e2.sequence);
+		}
+	};
+
+	private static final Comparator<Entry> WAKE_TIME_ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			int result = Long.compare(e1.wakeNanoTime - e2.wakeNanoTime, 0);
+			return (result != 0 ? result : SEQUENCE_ORDER.compare(e1, e2));
+		}
+	};
+
 	private final ApiConfig config;
-	private final Queue<AsyncRequest> queue = new ConcurrentLinkedQueue<AsyncRequest>();
-	private final List<AsyncRequest> pool = new ArrayList<AsyncRequest>();
-	private AsyncRequestPoolSupervisor supervisor = null;
+	private final Map<AsyncRequest, Entry> entries = new HashMap<AsyncRequest, Entry>();
+	private final Queue<Entry> queue = new PriorityQueue<Entry>(16, SEQUENCE_ORDER);
+	private final Queue<Entry> parked = new PriorityQueue<Entry>(16, WAKE_TIME_ORDER);
+	private final Set<AsyncRequest> pool = new HashSet<AsyncRequest>();
+	private final ThreadLocal<List<AsyncRequest>> executing = new ThreadLocal<List<AsyncRequest>>();
+	private long sequence = 0;
+	private ScheduledFuture<?> wakeUp = null;
+	private long wakeUpNanoTime = 0;
 
 	AsyncRequestPool(ApiConfig config) {
 		this.config = config;
 	}
 
-	void add(AsyncRequest request) {
-		queue.add(request);
-		invokeSupervisor();
-	}
-
-	void awaitAll() throws InterruptedException {
-		if (pool.isEmpty() && queue.isEmpty()) {
-			return;
+	void add(final AsyncRequest request) {
+		request.setDoneCallback(new Runnable() {
+			@Override
+			public void run() {
+				onRequestDone(request);
+			}
+		});
+		if (config.getScheduleRateLimitedRequests()) {
+			request.setRateLimitCallback(new AsyncRequest.RateLimitCallback() {
+				@Override
+				public void onRateLimited(AsyncRequest request, long retryAfterMillis) {
+					park(request, retryAfterMillis);
+				}
+			});
 		}
-		List<AsyncRequest> pool = new ArrayList<AsyncRequest>(this.pool);
-		for (AsyncRequest request : pool) {
-			request.await();
+		List<AsyncRequest> dispatched;
+		synchronized (this) {
+			if (request.isDone()) {
+				// The request has been cancelled before it has been added
+				return;
+			}
+			Entry entry = new Entry(request, sequence++);
+			entries.put(request, entry);
+			queue.add(entry);
+			dispatched = pollQueue();
 		}
-		List<AsyncRequest> queue = new ArrayList<AsyncRequest>(this.queue);
-		for (AsyncRequest request : queue) {
-			request.await();
+		execute(dispatched);
+	}
+
+	synchronized void awaitAll() throws InterruptedException {
+		while (!isEmpty()) {
+			wait();
 		}
-		// Repeat until queue and pool are empty
-		clearPool();
-		awaitAll();
 	}
 
-	synchronized int clearPool() {
-		int clearedFromPool = 0;
-		Iterator<AsyncRequest> iterator = pool.iterator();
-		while (iterator.hasNext()) {
-			AsyncRequest request = iterator.next();
-			if (request.isDone()) {
-				iterator.remove();
-				clearedFromPool++;
+	private void execute(List<AsyncRequest> requests) {
+		// Requests may complete or get parked synchronously while being executed, which dispatches further requests. These are executed
+		// by the outermost call on this thread, so that the stack does not grow with the amount of queued requests.
+		List<AsyncRequest> pending = executing.get();
+		if (pending != null) {
+			pending.addAll(requests);
+			return;
+		}
+		pending = new ArrayList<AsyncRequest>(requests);
+		executing.set(pending);
+		try {
+			for (int i = 0; i < pending.size(); i++) {
+				pending.get(i).execute();
 			}
+		} finally {
+			executing.remove();
 		}
-		return clearedFromPool;
 	}
 
 	int getMaxAsyncThreads() {
@@ -77,43 +144,137 @@ class AsyncRequestPool {
 		return Integer.MAX_VALUE;
 	}
 
-	int getPoolSize() {
+	synchronized int getParkedSize() {
+		return parked.size();
+	}
+
+	synchronized int getPoolSize() {
 		return pool.size();
 	}
 
-	int getQueueSize() {
+	synchronized int getQueueSize() {
 		return queue.size();
 	}
 
-	private synchronized void invokeSupervisor() {
-		if (supervisor == null) {
-			supervisor = new AsyncRequestPoolSupervisor(this);
-			supervisor.start();
-		}
+	synchronized boolean isEmpty() {
+		return (pool.isEmpty() && queue.isEmpty() && parked.isEmpty());
 	}
 
-	boolean isEmpty() {
-		return (pool.isEmpty() && queue.isEmpty());
+	private void onRequestDone(AsyncRequest request) {
+		List<AsyncRequest> dispatched;
+		synchronized (this) {
+			Entry entry = entries.remove(request);
+			if (entry == null) {
+				return;
+			}
+			if (!pool.remove(request) && !queue.remove(entry)) {
+				// The request has been cancelled while it was parked
+				parked.remove(entry);
+			}
+			dispatched = pollQueue();
+			if (isEmpty()) {
+				notifyAll();
+			}
+		}
+		execute(dispatched);
 	}
 
-	synchronized boolean pollQueue() {
-		if (getPoolSize() == getMaxAsyncThreads()) {
-			return false;
+	/**
+	 * Parks a request that has been rate limited until the rate limit is expected to be lifted, and dispatches the next queued requests in
+	 * its place.
+	 * 
+	 * @param request
+	 *            The rate limited request
+	 * @param retryAfterMillis
+	 *            The time in milliseconds until the rate limit is expected to be lifted
+	 */
+	private void park(AsyncRequest request, long retryAfterMillis) {
+		retryAfterMillis = Math.max(1, retryAfterMillis);
+		List<AsyncRequest> dispatched;
+		synchronized (this) {
+			Entry entry = entries.get(request);
+			if (entry == null || !pool.remove(request)) {
+				return;
+			}
+			long now = System.nanoTime();
+			entry.wakeNanoTime = now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis);
+			parked.add(entry);
+			scheduleWakeUp(now);
+			dispatched = pollQueue();
 		}
-		AsyncRequest request = queue.poll();
-		if (request == null) {
-			return false;
+		execute(dispatched);
+	}
+
+	/**
+	 * Moves as many requests from the queue to the pool as the maximum amount of requests running at once allows. The returned requests
+	 * must be executed by the caller after releasing the lock on this pool.
+	 * 
+	 * @return Requests to execute
+	 */
+	private List<AsyncRequest> pollQueue() {
+		List<AsyncRequest> dispatched = new ArrayList<AsyncRequest>();
+		while (pool.size() < getMaxAsyncThreads()) {
+			Entry entry = queue.poll();
+			if (entry == null) {
+				break;
+			}
+			if (entry.request.isDone()) {
+				// Skip requests that have been cancelled while they were queued
+				continue;
+			}
+			pool.add(entry.request);
+			dispatched.add(entry.request);
 		}
-		request.execute();
-		pool.add(request);
-		return true;
+		return dispatched;
 	}
 
-	void resignSupervisor() {
-		if (supervisor == null) {
+	/**
+	 * Makes sure a wake-up is scheduled for the earliest parked request. Only a single wake-up is pending at once, which is replaced if a
+	 * request is parked that has to be woken up earlier. Must be called while holding the lock on this pool.
+	 * 
+	 * @param now
+	 *            Current value of {@link System#nanoTime()}
+	 */
+	private void scheduleWakeUp(long now) {
+		if (parked.isEmpty()) {
+			return;
+		}
+		final long wakeNanoTime = parked.peek().wakeNanoTime;
+		if (wakeUp != null && wakeUpNanoTime - wakeNanoTime <= 0) {
 			return;
 		}
-		supervisor.shutdown();
-		supervisor = null;
+		if (wakeUp != null) {
+			wakeUp.cancel(false);
+		}
+		wakeUpNanoTime = wakeNanoTime;
+		wakeUp = SharedScheduler.get().schedule(new Runnable() {
+			@Override
+			public void run() {
+				wakeParkedRequests(wakeNanoTime);
+			}
+		}, Math.max(0, wakeNanoTime - now), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Queues all parked requests, whose rate limit is expected to be lifted by now, and dispatches them in the order they were added. If
+	 * requests remain parked, the next wake-up is scheduled for the earliest of them, so that none is left behind if this wake-up ran early.
+	 * 
+	 * @param scheduledNanoTime
+	 *            The time this wake-up was scheduled for
+	 */
+	private void wakeParkedRequests(long scheduledNanoTime) {
+		List<AsyncRequest> dispatched;
+		synchronized (this) {
+			if (wakeUp != null && wakeUpNanoTime == scheduledNanoTime) {
+				wakeUp = null;
+			}
+			long now = System.nanoTime();
+			while (!parked.isEmpty() && parked.peek().wakeNanoTime - now <= 0) {
+				queue.add(parked.poll());
+			}
+			scheduleWakeUp(now);
+			dispatched = pollQueue();
+		}
+		execute(dispatched);
 	}
 }
\ No newline at end of file
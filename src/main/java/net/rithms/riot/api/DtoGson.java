@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import net.rithms.riot.api.endpoints.league.dto.LeagueList;
+import net.rithms.riot.api.endpoints.league.dto.LeaguePosition;
+import net.rithms.riot.api.endpoints.match.dto.Match;
+import net.rithms.riot.api.endpoints.match.dto.MatchList;
+import net.rithms.riot.api.endpoints.match.dto.MatchTimeline;
+import net.rithms.riot.api.endpoints.spectator.dto.CurrentGameInfo;
+import net.rithms.riot.api.endpoints.spectator.dto.FeaturedGames;
+import net.rithms.riot.api.endpoints.summoner.dto.Summoner;
+import net.rithms.riot.api.request.RiotApiError;
+
+/**
+ * Holds the {@code Gson} instance shared by all {@link ApiConfig}s that do not specify their own.
+ * 
+ * <p>
+ * {@code Gson} caches the type adapter of each type it has bound once, so a single instance is reused for all requests. The adapters of
+ * the most frequently requested dtos are resolved up front, so that the first requests do not pay for the reflective binding.
+ * </p>
+ */
+final class DtoGson {
+
+	private static final Class<?>[] PRELOADED_TYPES = { CurrentGameInfo.class, FeaturedGames.class, LeagueList.class, LeaguePosition.class,
+			Match.class, MatchList.class, MatchTimeline.class, RiotApiError.class, Summoner.class };
+
+	static final Gson INSTANCE = newGson();
+
+	private DtoGson() {
+	}
+
+	private static Gson newGson() {
+		Gson gson = new GsonBuilder().create();
+		for (Class<?> type : PRELOADED_TYPES) {
+			gson.getAdapter(type);
+		}
+		return gson;
+	}
+}
@@ -16,12 +16,17 @@
 
 package net.rithms.riot.api;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
 
 import net.rithms.riot.api.request.AsyncRequest;
 import net.rithms.riot.api.request.Request;
+import net.rithms.riot.api.request.RequestAdapter;
 import net.rithms.riot.api.request.RequestListener;
 import net.rithms.riot.api.request.ratelimit.RateLimitException;
 
@@ -30,6 +35,7 @@ class EndpointManager {
 	private final ApiConfig config;
 	private final AsyncRequestPool pool;
 	private final Collection<RequestListener> listeners = new CopyOnWriteArrayList<RequestListener>();
+	private final ConcurrentMap<String, SharedRequest> sharedRequests = new ConcurrentHashMap<String, SharedRequest>();
 
 	EndpointManager(ApiConfig config) {
 		this.config = config;
@@ -40,6 +46,22 @@ class EndpointManager {
 		this.listeners.addAll(Arrays.asList(listeners));
 	}
 
+	/**
+	 * Stores the dto of the given request once it succeeds. The listener is added before any other listener, so that the dto is stored
+	 * before the callers are notified.
+	 */
+	private void addStoringListener(AsyncRequest request) {
+		if (config.getResponseCache() == null && config.getMatchArchive() == null) {
+			return;
+		}
+		request.addListeners(new RequestAdapter() {
+			@Override
+			public void onRequestSucceeded(AsyncRequest request) {
+				storeDto(request.getObject(), request.getDto(), request.getResponse().getBodyLength());
+			}
+		});
+	}
+
 	void awaitAll() throws InterruptedException {
 		pool.awaitAll();
 	}
@@ -49,17 +71,91 @@ class EndpointManager {
 	}
 
 	<T> T callMethodAndReturnDto(ApiMethod method) throws RateLimitException, RiotApiException {
-		Request request = new Request(config, method);
-		return request.getDto();
+		T storedDto = lookUpStoredDto(method);
+		if (storedDto != null) {
+			return storedDto;
+		}
+		String key = (config.getCoalesceRequests() ? SharedRequest.getKey(method) : null);
+		if (key == null) {
+			Request request = new Request(config, method);
+			T dto = request.getDto();
+			storeDto(method, dto, request.getResponse().getBodyLength());
+			return dto;
+		}
+		SharedRequest sharedRequest = new SharedRequest();
+		SharedRequest inFlight = sharedRequests.putIfAbsent(key, sharedRequest);
+		if (inFlight != null) {
+			return inFlight.await();
+		}
+		T dto = null;
+		Throwable failure = null;
+		try {
+			Request request = new Request(config, method);
+			dto = request.getDto();
+			storeDto(method, dto, request.getResponse().getBodyLength());
+			return dto;
+		} catch (RiotApiException | RuntimeException | Error e) {
+			failure = e;
+			throw e;
+		} finally {
+			completeSharedRequest(key, sharedRequest, dto, failure);
+		}
 	}
 
 	AsyncRequest callMethodAsynchronously(ApiMethod method) {
 		AsyncRequest request = new AsyncRequest(config, method);
+		addStoringListener(request);
 		request.addListeners(listeners.toArray(new RequestListener[listeners.size()]));
 		pool.add(request);
 		return request;
 	}
 
+	/**
+	 * Calls the given api method asynchronously and passes its result to the given listener. Like the results of synchronous calls, the
+	 * result may be looked up in the match archive and the response cache, or be shared with an identical call in flight.
+	 * 
+	 * @return The request fired for this call alone, or {@code null} if the result is looked up or shared with other calls
+	 */
+	AsyncRequest callMethodWithListener(ApiMethod method, SharedRequest.Listener listener) {
+		Object storedDto = lookUpStoredDto(method);
+		if (storedDto != null) {
+			listener.onComplete(storedDto, null);
+			return null;
+		}
+		String key = (config.getCoalesceRequests() ? SharedRequest.getKey(method) : null);
+		if (key == null) {
+			AsyncRequest request = new AsyncRequest(config, method);
+			addStoringListener(request);
+			request.addListeners(listeners.toArray(new RequestListener[listeners.size()]));
+			request.addListeners(newCompletingListener(listener));
+			pool.add(request);
+			return request;
+		}
+		SharedRequest sharedRequest = new SharedRequest();
+		SharedRequest inFlight = sharedRequests.putIfAbsent(key, sharedRequest);
+		if (inFlight != null) {
+			inFlight.addListener(listener);
+			return null;
+		}
+		sharedRequest.addListener(listener);
+		AsyncRequest request = new AsyncRequest(config, method);
+		addStoringListener(request);
+		request.addListeners(listeners.toArray(new RequestListener[listeners.size()]));
+		request.addListeners(newSharedRequestListener(key, sharedRequest));
+		pool.add(request);
+		return null;
+	}
+
+	private void completeSharedRequest(String key, SharedRequest sharedRequest, Object dto, Throwable failure) {
+		// Calls made from now on must not receive this result anymore
+		sharedRequests.remove(key, sharedRequest);
+		sharedRequest.complete(dto, failure);
+	}
+
+	int getParkedSize() {
+		return pool.getParkedSize();
+	}
+
 	int getPoolSize() {
 		return pool.getPoolSize();
 	}
@@ -68,7 +164,97 @@ class EndpointManager {
 		return pool.getQueueSize();
 	}
 
+	/**
+	 * Looks up the dto of the given api method in the match archive and the response cache.
+	 * 
+	 * @return The stored dto, or {@code null} if the Riot Api has to be called
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T lookUpStoredDto(ApiMethod method) {
+		MatchArchive archive = config.getMatchArchive();
+		if (archive != null) {
+			try {
+				Object dto = archive.get(method);
+				if (dto != null) {
+					return (T) dto;
+				}
+			} catch (IOException e) {
+				RiotApi.log.log(Level.WARNING, "[" + method + "] Failed to read from match archive", e);
+			} catch (IllegalStateException e) {
+				RiotApi.log.fine("[" + method + "] Match archive has been closed, skipping lookup");
+			}
+		}
+		ResponseCache cache = config.getResponseCache();
+		if (cache != null) {
+			return (T) cache.get(method);
+		}
+		return null;
+	}
+
+	private static RequestListener newCompletingListener(final SharedRequest.Listener listener) {
+		return new RequestAdapter() {
+			@Override
+			public void onRequestFailed(RiotApiException e) {
+				listener.onComplete(null, e);
+			}
+
+			@Override
+			public void onRequestSucceeded(AsyncRequest request) {
+				try {
+					listener.onComplete(request.getDtoAndThrowException(), null);
+				} catch (RiotApiException e) {
+					listener.onComplete(null, e);
+				}
+			}
+
+			@Override
+			public void onRequestTimeout(AsyncRequest request) {
+				listener.onComplete(null, request.getException());
+			}
+		};
+	}
+
+	private RequestListener newSharedRequestListener(final String key, final SharedRequest sharedRequest) {
+		return new RequestAdapter() {
+			@Override
+			public void onRequestFailed(RiotApiException e) {
+				completeSharedRequest(key, sharedRequest, null, e);
+			}
+
+			@Override
+			public void onRequestSucceeded(AsyncRequest request) {
+				try {
+					completeSharedRequest(key, sharedRequest, request.getDtoAndThrowException(), null);
+				} catch (RiotApiException e) {
+					completeSharedRequest(key, sharedRequest, null, e);
+				}
+			}
+
+			@Override
+			public void onRequestTimeout(AsyncRequest request) {
+				completeSharedRequest(key, sharedRequest, null, request.getException());
+			}
+		};
+	}
+
 	void removeListeners(RequestListener... listeners) {
 		this.listeners.removeAll(Arrays.asList(listeners));
 	}
+
+	private void storeDto(ApiMethod method, Object dto, long bodyLength) {
+		MatchArchive archive = config.getMatchArchive();
+		if (archive != null) {
+			try {
+				archive.put(method, dto);
+			} catch (IOException e) {
+				RiotApi.log.log(Level.WARNING, "[" + method + "] Failed to write to match archive", e);
+			} catch (IllegalStateException e) {
+				// The archive has been closed
+			}
+		}
+		ResponseCache cache = config.getResponseCache();
+		if (cache != null) {
+			cache.put(method, dto, bodyLength);
+		}
+	}
 }
\ No newline at end of file
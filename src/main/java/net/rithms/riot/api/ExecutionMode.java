@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+/**
+ * An enumeration to indicate which kind of threads asynchronous requests are executed on.
+ * 
+ * @see ApiConfig#setExecutionMode(ExecutionMode)
+ */
+public enum ExecutionMode {
+	/**
+	 * Asynchronous requests are executed on the executor set via {@link ApiConfig#setExecutor(java.util.concurrent.ExecutorService)}.
+	 */
+	PLATFORM_THREADS,
+	/**
+	 * Every asynchronous request is executed on its own virtual thread. Requires Java 21 or higher.
+	 */
+	VIRTUAL_THREADS
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import net.rithms.riot.api.LadderSnapshot.Ladder;
+import net.rithms.riot.api.LadderSnapshot.Tier;
+import net.rithms.riot.api.endpoints.league.constant.LeagueQueue;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Compares two {@link LadderSnapshot}s and reports how the entries of each summoner changed between them.
+ * 
+ * <pre>
+ * LadderSnapshot before = snapshotter.takeSnapshot();
+ * // ...
+ * LadderSnapshot after = snapshotter.takeSnapshot();
+ * for (LadderDiff.Change change : LadderDiff.diff(before, after)) {
+ * 	// ...
+ * }
+ * </pre>
+ * 
+ * <p>
+ * Summoners are matched by their summoner ID across all tiers of the same platform and queue, so a summoner that is promoted from master
+ * to grandmaster is reported as a single change of tier. Lookups use the hash index of {@link Ladder#indexOf(String)}, so the diff takes
+ * linear time in the number of entries. Platforms and queues with a ladder that could not be retrieved in either snapshot are skipped, since
+ * their summoners would otherwise appear to have left the ladder.
+ * </p>
+ */
+public class LadderDiff {
+
+	/**
+	 * The change of a single summoner's entry. Entries that did not change are not reported.
+	 */
+	public static class Change {
+
+		private final int lossesDelta;
+		private final int newLeaguePoints;
+		private final String newMiniSeriesProgress;
+		private final String newRank;
+		private final Tier newTier;
+		private final int oldLeaguePoints;
+		private final String oldMiniSeriesProgress;
+		private final String oldRank;
+		private final Tier oldTier;
+		private final Platform platform;
+		private final LeagueQueue queue;
+		private final String summonerId;
+		private final String summonerName;
+		private final Type type;
+		private final int winsDelta;
+
+		private Change(Type type, Platform platform, LeagueQueue queue, Ladder oldLadder, int oldIndex, Ladder newLadder, int newIndex) {
+			this.type = type;
+			this.platform = platform;
+			this.queue = queue;
+			Ladder ladder = (newLadder != null ? newLadder : oldLadder);
+			int index = (newLadder != null ? newIndex : oldIndex);
+			summonerId = ladder.getSummonerId(index);
+			summonerName = ladder.getSummonerName(index);
+			if (oldLadder != null) {
+				oldTier = oldLadder.getTier();
+				oldRank = oldLadder.getRank(oldIndex);
+				oldLeaguePoints = oldLadder.getLeaguePoints(oldIndex);
+				oldMiniSeriesProgress = oldLadder.getMiniSeriesProgress(oldIndex);
+			} else {
+				oldTier = null;
+				oldRank = null;
+				oldLeaguePoints = 0;
+				oldMiniSeriesProgress = null;
+			}
+			if (newLadder != null) {
+				newTier = newLadder.getTier();
+				newRank = newLadder.getRank(newIndex);
+				newLeaguePoints = newLadder.getLeaguePoints(newIndex);
+				newMiniSeriesProgress = newLadder.getMiniSeriesProgress(newIndex);
+			} else {
+				newTier = null;
+				newRank = null;
+				newLeaguePoints = 0;
+				newMiniSeriesProgress = null;
+			}
+			if (oldLadder != null && newLadder != null) {
+				winsDelta = newLadder.getWins(newIndex) - oldLadder.getWins(oldIndex);
+				lossesDelta = newLadder.getLosses(newIndex) - oldLadder.getLosses(oldIndex);
+			} else {
+				winsDelta = 0;
+				lossesDelta = 0;
+			}
+		}
+
+		/**
+		 * Returns the difference in league points, or {@code 0} if the summoner entered or left the ladder.
+		 * 
+		 * @return The difference in league points
+		 */
+		public int getLeaguePointsDelta() {
+			return (type == Type.CHANGED ? newLeaguePoints - oldLeaguePoints : 0);
+		}
+
+		public int getLossesDelta() {
+			return lossesDelta;
+		}
+
+		public int getNewLeaguePoints() {
+			return newLeaguePoints;
+		}
+
+		public String getNewMiniSeriesProgress() {
+			return newMiniSeriesProgress;
+		}
+
+		public String getNewRank() {
+			return newRank;
+		}
+
+		/**
+		 * Returns the tier of the summoner in the newer snapshot.
+		 * 
+		 * @return The new tier, or {@code null} if the summoner left the ladder
+		 */
+		public Tier getNewTier() {
+			return newTier;
+		}
+
+		public int getOldLeaguePoints() {
+			return oldLeaguePoints;
+		}
+
+		public String getOldMiniSeriesProgress() {
+			return oldMiniSeriesProgress;
+		}
+
+		public String getOldRank() {
+			return oldRank;
+		}
+
+		/**
+		 * Returns the tier of the summoner in the older snapshot.
+		 * 
+		 * @return The old tier, or {@code null} if the summoner entered the ladder
+		 */
+		public Tier getOldTier() {
+			return oldTier;
+		}
+
+		public Platform getPlatform() {
+			return platform;
+		}
+
+		public LeagueQueue getQueue() {
+			return queue;
+		}
+
+		public String getSummonerId() {
+			return summonerId;
+		}
+
+		public String getSummonerName() {
+			return summonerName;
+		}
+
+		public Type getType() {
+			return type;
+		}
+
+		public int getWinsDelta() {
+			return winsDelta;
+		}
+
+		/**
+		 * Returns {@code true} if the tier or the rank of the summoner changed. Entering or leaving the ladder is no change of rank.
+		 * 
+		 * @return {@code true} if the tier or rank changed
+		 */
+		public boolean isRankChanged() {
+			return type == Type.CHANGED && (oldTier != newTier || !Objects.equals(oldRank, newRank));
+		}
+
+		@Override
+		public String toString() {
+			return type + " " + platform + "/" + queue + "/" + summonerId;
+		}
+	}
+
+	/**
+	 * The kind of a change
+	 */
+	public enum Type {
+		/**
+		 * The summoner appears in the newer snapshot only
+		 */
+		ENTERED,
+		/**
+		 * The summoner appears in the older snapshot only
+		 */
+		LEFT,
+		/**
+		 * The summoner appears in both snapshots, but the entries differ
+		 */
+		CHANGED
+	}
+
+	private LadderDiff() {
+	}
+
+	/**
+	 * Compares the given snapshots.
+	 * 
+	 * @param before
+	 *            The older snapshot
+	 * @param after
+	 *            The newer snapshot
+	 * @return The changes, grouped by platform and queue
+	 * @throws NullPointerException
+	 *             If {@code before} or {@code after} is {@code null}
+	 */
+	public static List<Change> diff(LadderSnapshot before, LadderSnapshot after) {
+		Objects.requireNonNull(before);
+		Objects.requireNonNull(after);
+		List<Change> changes = new ArrayList<Change>();
+		for (Platform platform : Platform.values()) {
+			for (LeagueQueue queue : LeagueQueue.values()) {
+				if (before.hasFailure(platform, queue) || after.hasFailure(platform, queue)) {
+					continue;
+				}
+				diff(platform, queue, before.getLadders(platform, queue), after.getLadders(platform, queue), changes);
+			}
+		}
+		return changes;
+	}
+
+	private static void diff(Platform platform, LeagueQueue queue, List<Ladder> oldLadders, List<Ladder> newLadders, List<Change> changes) {
+		if (oldLadders.isEmpty() && newLadders.isEmpty()) {
+			return;
+		}
+		boolean[][] matched = new boolean[oldLadders.size()][];
+		for (int i = 0; i < matched.length; i++) {
+			matched[i] = new boolean[oldLadders.get(i).size()];
+		}
+		for (Ladder newLadder : newLadders) {
+			for (int newIndex = 0; newIndex < newLadder.size(); newIndex++) {
+				String summonerId = newLadder.getSummonerId(newIndex);
+				Ladder oldLadder = null;
+				int oldIndex = -1;
+				for (int i = 0; i < matched.length && oldIndex == -1; i++) {
+					oldIndex = oldLadders.get(i).indexOf(summonerId);
+					if (oldIndex != -1) {
+						oldLadder = oldLadders.get(i);
+						matched[i][oldIndex] = true;
+					}
+				}
+				if (oldLadder == null) {
+					changes.add(new Change(Type.ENTERED, platform, queue, null, -1, newLadder, newIndex));
+				} else if (isChanged(oldLadder, oldIndex, newLadder, newIndex)) {
+					changes.add(new Change(Type.CHANGED, platform, queue, oldLadder, oldIndex, newLadder, newIndex));
+				}
+			}
+		}
+		for (int i = 0; i < matched.length; i++) {
+			for (int oldIndex = 0; oldIndex < matched[i].length; oldIndex++) {
+				if (!matched[i][oldIndex]) {
+					changes.add(new Change(Type.LEFT, platform, queue, oldLadders.get(i), oldIndex, null, -1));
+				}
+			}
+		}
+	}
+
+	private static boolean isChanged(Ladder oldLadder, int oldIndex, Ladder newLadder, int newIndex) {
+		if (oldLadder.getTier() != newLadder.getTier() || !Objects.equals(oldLadder.getRank(oldIndex), newLadder.getRank(newIndex))) {
+			return true;
+		}
+		if (oldLadder.getLeaguePoints(oldIndex) != newLadder.getLeaguePoints(newIndex) || oldLadder.getWins(oldIndex) != newLadder.getWins(newIndex)
+				|| oldLadder.getLosses(oldIndex) != newLadder.getLosses(newIndex)) {
+			return true;
+		}
+		// Progress strings are interned, so they can be compared by reference
+		return oldLadder.getMiniSeriesProgress(oldIndex) != newLadder.getMiniSeriesProgress(newIndex);
+	}
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import net.rithms.riot.api.endpoints.league.constant.LeagueQueue;
+import net.rithms.riot.api.endpoints.league.dto.LeagueItem;
+import net.rithms.riot.api.endpoints.league.dto.LeagueList;
+import net.rithms.riot.api.endpoints.league.dto.MiniSeries;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * The ladders of the apex tiers across platforms and queues at a point in time, as taken by {@link LadderSnapshotter}.
+ * 
+ * <p>
+ * The entries of each ladder are stored column by column in arrays instead of as one {@link LeagueItem} per summoner, which keeps large
+ * snapshots compact. Entries are accessed by their index within the ladder.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class is immutable and thus thread-safe.</i>
+ * </p>
+ */
+public class LadderSnapshot {
+
+	/**
+	 * A ladder that could not be retrieved
+	 */
+	public static class Failure {
+
+		private final RiotApiException exception;
+		private final Platform platform;
+		private final LeagueQueue queue;
+		private final Tier tier;
+
+		public Failure(Platform platform, LeagueQueue queue, Tier tier, RiotApiException exception) {
+			this.platform = Objects.requireNonNull(platform);
+			this.queue = Objects.requireNonNull(queue);
+			this.tier = Objects.requireNonNull(tier);
+			this.exception = exception;
+		}
+
+		public RiotApiException getException() {
+			return exception;
+		}
+
+		public Platform getPlatform() {
+			return platform;
+		}
+
+		public LeagueQueue getQueue() {
+			return queue;
+		}
+
+		public Tier getTier() {
+			return tier;
+		}
+
+		@Override
+		public String toString() {
+			return platform + "/" + queue + "/" + tier + ": " + exception;
+		}
+	}
+
+	/**
+	 * The ladder of a single tier in a single queue on a single platform
+	 */
+	public static class Ladder {
+
+		private static final byte FLAG_FRESH_BLOOD = 1;
+		private static final byte FLAG_HOT_STREAK = 2;
+		private static final byte FLAG_INACTIVE = 4;
+		private static final byte FLAG_VETERAN = 8;
+		private static final String[] RANKS = { null, "I", "II", "III", "IV" };
+
+		private final byte[] flags;
+		private volatile int[] index = null;
+		private final String leagueId;
+		private final int[] leaguePoints;
+		private final int[] losses;
+		private final String[] miniSeriesProgress;
+		private final String name;
+		private final Platform platform;
+		private final LeagueQueue queue;
+		private final byte[] ranks;
+		private final String[] summonerIds;
+		private final String[] summonerNames;
+		private final Tier tier;
+		private final int[] wins;
+
+		/**
+		 * Constructs a {@code Ladder} from the entries of the given {@code LeagueList}.
+		 * 
+		 * @param platform
+		 *            Platform of the ladder
+		 * @param queue
+		 *            Queue of the ladder
+		 * @param tier
+		 *            Tier of the ladder
+		 * @param leagueList
+		 *            The league list to copy the entries from
+		 * @throws NullPointerException
+		 *             If any parameter is {@code null}
+		 */
+		public Ladder(Platform platform, LeagueQueue queue, Tier tier, LeagueList leagueList) {
+			this(platform, queue, tier, leagueList, null);
+		}
+
+		/**
+		 * Constructs a {@code Ladder} from the entries of the given {@code LeagueList}. Summoner IDs and names that also appear in the ladders
+		 * of the same platform and queue of the given previous snapshot share their instances with that snapshot, so that consecutive
+		 * snapshots take little more memory than one and can be compared by reference.
+		 * 
+		 * @param platform
+		 *            Platform of the ladder
+		 * @param queue
+		 *            Queue of the ladder
+		 * @param tier
+		 *            Tier of the ladder
+		 * @param leagueList
+		 *            The league list to copy the entries from
+		 * @param previous
+		 *            The previous snapshot, or {@code null}
+		 * @throws NullPointerException
+		 *             If {@code platform}, {@code queue}, {@code tier} or {@code leagueList} is {@code null}
+		 */
+		public Ladder(Platform platform, LeagueQueue queue, Tier tier, LeagueList leagueList, LadderSnapshot previous) {
+			this.platform = Objects.requireNonNull(platform);
+			this.queue = Objects.requireNonNull(queue);
+			this.tier = Objects.requireNonNull(tier);
+			leagueId = leagueList.getLeagueId();
+			name = leagueList.getName();
+			List<LeagueItem> entries = leagueList.getEntries();
+			int size = (entries == null ? 0 : entries.size());
+			flags = new byte[size];
+			leaguePoints = new int[size];
+			losses = new int[size];
+			miniSeriesProgress = new String[size];
+			ranks = new byte[size];
+			summonerIds = new String[size];
+			summonerNames = new String[size];
+			wins = new int[size];
+			List<Ladder> previousLadders = (previous == null ? Collections.<Ladder> emptyList() : previous.getLadders(platform, queue));
+			for (int i = 0; i < size; i++) {
+				LeagueItem entry = entries.get(i);
+				flags[i] = (byte) ((entry.isFreshBlood() ? FLAG_FRESH_BLOOD : 0) | (entry.isHotStreak() ? FLAG_HOT_STREAK : 0)
+						| (entry.isInactive() ? FLAG_INACTIVE : 0) | (entry.isVeteran() ? FLAG_VETERAN : 0));
+				leaguePoints[i] = entry.getLeaguePoints();
+				losses[i] = entry.getLosses();
+				MiniSeries miniSeries = entry.getMiniSeries();
+				// There are only a handful of distinct progress strings, so they are shared across entries
+				miniSeriesProgress[i] = (miniSeries == null || miniSeries.getProgress() == null ? null : miniSeries.getProgress().intern());
+				ranks[i] = toRankIndex(entry.getRank());
+				summonerIds[i] = entry.getSummonerId();
+				summonerNames[i] = entry.getSummonerName();
+				for (Ladder previousLadder : previousLadders) {
+					int previousIndex = previousLadder.indexOf(summonerIds[i]);
+					if (previousIndex != -1) {
+						summonerIds[i] = previousLadder.summonerIds[previousIndex];
+						if (Objects.equals(summonerNames[i], previousLadder.summonerNames[previousIndex])) {
+							summonerNames[i] = previousLadder.summonerNames[previousIndex];
+						}
+						break;
+					}
+				}
+				wins[i] = entry.getWins();
+			}
+		}
+
+		private static int hash(String summonerId) {
+			int hash = summonerId.hashCode();
+			return hash ^ (hash >>> 16);
+		}
+
+		private static byte toRankIndex(String rank) {
+			for (byte i = 1; i < RANKS.length; i++) {
+				if (RANKS[i].equals(rank)) {
+					return i;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Builds an open addressing hash table from summoner IDs to entry indices. Slots hold the entry index plus one, so that {@code 0}
+		 * marks an empty slot.
+		 */
+		private int[] buildIndex() {
+			int capacity = Integer.highestOneBit(Math.max(1, summonerIds.length) * 2) * 2;
+			int mask = capacity - 1;
+			int[] table = new int[capacity];
+			for (int i = 0; i < summonerIds.length; i++) {
+				if (summonerIds[i] == null) {
+					continue;
+				}
+				int slot = hash(summonerIds[i]) & mask;
+				while (table[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = i + 1;
+			}
+			return table;
+		}
+
+		public String getLeagueId() {
+			return leagueId;
+		}
+
+		public int getLeaguePoints(int index) {
+			return leaguePoints[index];
+		}
+
+		public int getLosses(int index) {
+			return losses[index];
+		}
+
+		/**
+		 * Returns the progress of the promotion series of the given entry, e.g. {@code "WLN"}.
+		 * 
+		 * @param index
+		 *            Index of the entry
+		 * @return The progress of the promotion series, or {@code null} if the summoner is not in a promotion series
+		 */
+		public String getMiniSeriesProgress(int index) {
+			return miniSeriesProgress[index];
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Platform getPlatform() {
+			return platform;
+		}
+
+		public LeagueQueue getQueue() {
+			return queue;
+		}
+
+		public String getRank(int index) {
+			return RANKS[ranks[index]];
+		}
+
+		public String getSummonerId(int index) {
+			return summonerIds[index];
+		}
+
+		public String getSummonerName(int index) {
+			return summonerNames[index];
+		}
+
+		public Tier getTier() {
+			return tier;
+		}
+
+		public int getWins(int index) {
+			return wins[index];
+		}
+
+		/**
+		 * Returns the index of the entry of the given summoner. The hash index backing this lookup is built on first use.
+		 * 
+		 * @param summonerId
+		 *            Summoner ID
+		 * @return The index of the entry, or {@code -1} if the summoner is not part of this ladder
+		 */
+		public int indexOf(String summonerId) {
+			if (summonerId == null) {
+				return -1;
+			}
+			int[] table = index;
+			if (table == null) {
+				index = table = buildIndex();
+			}
+			int mask = table.length - 1;
+			for (int slot = hash(summonerId) & mask;; slot = (slot + 1) & mask) {
+				int entry = table[slot];
+				if (entry == 0) {
+					return -1;
+				}
+				String id = summonerIds[entry - 1];
+				if (id == summonerId || id.equals(summonerId)) {
+					return entry - 1;
+				}
+			}
+		}
+
+		public boolean isFreshBlood(int index) {
+			return (flags[index] & FLAG_FRESH_BLOOD) != 0;
+		}
+
+		public boolean isHotStreak(int index) {
+			return (flags[index] & FLAG_HOT_STREAK) != 0;
+		}
+
+		public boolean isInactive(int index) {
+			return (flags[index] & FLAG_INACTIVE) != 0;
+		}
+
+		public boolean isVeteran(int index) {
+			return (flags[index] & FLAG_VETERAN) != 0;
+		}
+
+		/**
+		 * Returns the number of entries of this ladder.
+		 * 
+		 * @return The number of entries
+		 */
+		public int size() {
+			return summonerIds.length;
+		}
+
+		@Override
+		public String toString() {
+			return platform + "/" + queue + "/" + tier + " (" + size() + ")";
+		}
+	}
+
+	/**
+	 * The tiers whose ladders are available as a whole
+	 */
+	public enum Tier {
+		CHALLENGER,
+		GRANDMASTER,
+		MASTER
+	}
+
+	private final List<Failure> failures;
+	private final List<Ladder> ladders;
+	private final long timestamp;
+
+	/**
+	 * Constructs a {@code LadderSnapshot}.
+	 * 
+	 * @param timestamp
+	 *            The time the snapshot was taken at specified as epoch milliseconds
+	 * @param ladders
+	 *            The ladders of the snapshot
+	 * @param failures
+	 *            The ladders that could not be retrieved
+	 */
+	public LadderSnapshot(long timestamp, List<Ladder> ladders, List<Failure> failures) {
+		this.timestamp = timestamp;
+		this.ladders = Collections.unmodifiableList(new ArrayList<Ladder>(ladders));
+		this.failures = Collections.unmodifiableList(new ArrayList<Failure>(failures));
+	}
+
+	/**
+	 * Returns the total number of entries of all ladders.
+	 * 
+	 * @return The number of entries
+	 */
+	public int getEntryCount() {
+		int count = 0;
+		for (Ladder ladder : ladders) {
+			count += ladder.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the ladders that could not be retrieved.
+	 * 
+	 * @return An unmodifiable list of failures
+	 */
+	public List<Failure> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Returns the ladder of the given tier in the given queue on the given platform.
+	 * 
+	 * @param platform
+	 *            Platform of the ladder
+	 * @param queue
+	 *            Queue of the ladder
+	 * @param tier
+	 *            Tier of the ladder
+	 * @return The ladder, or {@code null} if it is not part of this snapshot
+	 */
+	public Ladder getLadder(Platform platform, LeagueQueue queue, Tier tier) {
+		for (Ladder ladder : ladders) {
+			if (ladder.platform == platform && ladder.queue == queue && ladder.tier == tier) {
+				return ladder;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the ladders of all tiers in the given queue on the given platform.
+	 * 
+	 * @param platform
+	 *            Platform of the ladders
+	 * @param queue
+	 *            Queue of the ladders
+	 * @return The ladders, ordered by tier
+	 */
+	public List<Ladder> getLadders(Platform platform, LeagueQueue queue) {
+		List<Ladder> result = new ArrayList<Ladder>(Tier.values().length);
+		for (Ladder ladder : ladders) {
+			if (ladder.platform == platform && ladder.queue == queue) {
+				result.add(ladder);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the ladders of this snapshot, ordered by platform, queue and tier.
+	 * 
+	 * @return An unmodifiable list of ladders
+	 */
+	public List<Ladder> getLadders() {
+		return ladders;
+	}
+
+	/**
+	 * Returns the time this snapshot was taken at.
+	 * 
+	 * @return The time specified as epoch milliseconds
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Returns {@code true} if a ladder of the given queue on the given platform could not be retrieved.
+	 * 
+	 * @param platform
+	 *            Platform of the ladders
+	 * @param queue
+	 *            Queue of the ladders
+	 * @return {@code true} if there is a failure for the given platform and queue
+	 */
+	public boolean hasFailure(Platform platform, LeagueQueue queue) {
+		for (Failure failure : failures) {
+			if (failure.platform == platform && failure.queue == queue) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns {@code true} if all ladders could be retrieved.
+	 * 
+	 * @return {@code true} if there are no failures
+	 */
+	public boolean isComplete() {
+		return failures.isEmpty();
+	}
+}
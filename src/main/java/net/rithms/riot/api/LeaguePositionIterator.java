@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import net.rithms.riot.api.endpoints.league.constant.LeagueQueue;
+import net.rithms.riot.api.endpoints.league.dto.LeaguePosition;
+import net.rithms.riot.api.request.AsyncRequest;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Iterates over all positional league entries of a tier and division, page by page until the first empty page. Several pages are requested
+ * concurrently ahead of the caller, and the entries of each page are returned as soon as that page has arrived, in page order. Once an empty
+ * page arrives, the pages requested beyond it are cancelled.
+ * 
+ * <pre>
+ * LeaguePositionIterator positions = new LeaguePositionIterator(api, Platform.EUW, LeagueQueue.RANKED_SOLO_5x5, "DIAMOND", "I", "APEX");
+ * try {
+ * 	while (positions.hasNext()) {
+ * 		LeaguePosition position = positions.next();
+ * 		// ...
+ * 	}
+ * } finally {
+ * 	positions.close();
+ * }
+ * </pre>
+ * 
+ * <p>
+ * Since {@link Iterator} can not throw checked exceptions, a {@link RiotApiException} raised while requesting a page is thrown wrapped in an
+ * {@link UncheckedRiotApiException} by {@link #hasNext()} and {@link #next()}. A {@code 404} response is treated like an empty page.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class is not thread-safe.</i>
+ * </p>
+ */
+public class LeaguePositionIterator implements Iterator<LeaguePosition>, Closeable {
+
+	public static final int DEFAULT_PAGES_IN_FLIGHT = 4;
+
+	/**
+	 * The number of the first page, as documented by {@link RiotApi#getAllLeaguePositions(Platform, String, String, String, String, int)}
+	 */
+	public static final int FIRST_PAGE = 0;
+
+	private final RiotApiAsync api;
+	private final String division;
+	private boolean exhausted = false;
+	private int nextPage = FIRST_PAGE;
+	private Iterator<LeaguePosition> page = Collections.<LeaguePosition> emptyList().iterator();
+	private final Deque<AsyncRequest> pendingPages = new ArrayDeque<AsyncRequest>();
+	private final Platform platform;
+	private final String position;
+	private final String positionalQueue;
+	private final String tier;
+
+	/**
+	 * Constructs a {@code LeaguePositionIterator} that keeps {@value #DEFAULT_PAGES_IN_FLIGHT} pages in flight, and requests them right away.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request pages with
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param positionalQueue
+	 *            Queue
+	 * @param tier
+	 *            Tier
+	 * @param division
+	 *            Division
+	 * @param position
+	 *            Position
+	 * @throws NullPointerException
+	 *             If any parameter is {@code null}
+	 */
+	public LeaguePositionIterator(RiotApi api, Platform platform, LeagueQueue positionalQueue, String tier, String division, String position) {
+		this(api, platform, positionalQueue.toString(), tier, division, position, DEFAULT_PAGES_IN_FLIGHT);
+	}
+
+	/**
+	 * Constructs a {@code LeaguePositionIterator} and requests the first {@code pagesInFlight} pages right away.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request pages with
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param positionalQueue
+	 *            Queue
+	 * @param tier
+	 *            Tier
+	 * @param division
+	 *            Division
+	 * @param position
+	 *            Position
+	 * @param pagesInFlight
+	 *            The number of pages to request ahead of the caller
+	 * @throws NullPointerException
+	 *             If any parameter is {@code null}
+	 * @throws IllegalArgumentException
+	 *             If {@code pagesInFlight} is less than {@code 1}
+	 */
+	public LeaguePositionIterator(RiotApi api, Platform platform, String positionalQueue, String tier, String division, String position,
+			int pagesInFlight) {
+		if (pagesInFlight < 1) {
+			throw new IllegalArgumentException("pagesInFlight must be at least 1");
+		}
+		this.api = api.getAsyncApi();
+		this.platform = Objects.requireNonNull(platform);
+		this.positionalQueue = Objects.requireNonNull(positionalQueue);
+		this.tier = Objects.requireNonNull(tier);
+		this.division = Objects.requireNonNull(division);
+		this.position = Objects.requireNonNull(position);
+		for (int i = 0; i < pagesInFlight; i++) {
+			requestPage();
+		}
+	}
+
+	/**
+	 * Cancels the requests for all pages that are still pending. Entries of the current page can still be retrieved after closing.
+	 */
+	@Override
+	public void close() {
+		exhausted = true;
+		AsyncRequest request;
+		while ((request = pendingPages.poll()) != null) {
+			request.cancel();
+		}
+	}
+
+	/**
+	 * Returns the number of the page that will be requested next. Once the iteration has ended, this is one past the last page that was
+	 * requested.
+	 * 
+	 * @return The number of the next page
+	 */
+	public int getNextPage() {
+		return nextPage;
+	}
+
+	/**
+	 * Returns {@code true} if there are more entries. This method blocks until the next page has arrived, if all entries of the current page
+	 * have been retrieved already.
+	 * 
+	 * @return {@code true} if there are more entries
+	 * @throws UncheckedRiotApiException
+	 *             If the API returns an error or unparsable result
+	 */
+	@Override
+	public boolean hasNext() {
+		while (!page.hasNext()) {
+			if (exhausted) {
+				return false;
+			}
+			Set<LeaguePosition> positions = awaitPage();
+			if (positions == null || positions.isEmpty()) {
+				close();
+				return false;
+			}
+			requestPage();
+			page = positions.iterator();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the next entry. This method blocks until the next page has arrived, if all entries of the current page have been retrieved
+	 * already.
+	 * 
+	 * @return The next entry
+	 * @throws NoSuchElementException
+	 *             If there are no more entries
+	 * @throws UncheckedRiotApiException
+	 *             If the API returns an error or unparsable result
+	 */
+	@Override
+	public LeaguePosition next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return page.next();
+	}
+
+	/**
+	 * Not supported.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             Always
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+
+	private Set<LeaguePosition> awaitPage() {
+		AsyncRequest request = pendingPages.poll();
+		try {
+			request.await();
+			if (!request.isSuccessful()) {
+				RiotApiException exception = request.getException();
+				throw (exception != null ? exception : new RiotApiException(RiotApiException.IOEXCEPTION, "Page request was cancelled"));
+			}
+			return request.getDtoAndThrowException();
+		} catch (InterruptedException e) {
+			close();
+			request.cancel();
+			Thread.currentThread().interrupt();
+			throw new UncheckedRiotApiException(new RiotApiException(RiotApiException.IOEXCEPTION, "Interrupted while waiting for page"));
+		} catch (RiotApiException e) {
+			if (e.getErrorCode() == RiotApiException.DATA_NOT_FOUND) {
+				return null;
+			}
+			close();
+			throw new UncheckedRiotApiException(e);
+		}
+	}
+
+	private void requestPage() {
+		pendingPages.add(api.getAllLeaguePositions(platform, positionalQueue, tier, division, position, nextPage++));
+	}
+}
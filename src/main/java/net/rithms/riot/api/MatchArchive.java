@@ -0,0 +1,613 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import net.rithms.riot.api.endpoints.match.dto.Match;
+import net.rithms.riot.api.endpoints.match.dto.MatchTimeline;
+import net.rithms.riot.api.endpoints.match.methods.GetMatch;
+import net.rithms.riot.api.endpoints.match.methods.GetTimelineByMatchId;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * A persistent on-disk store for matches and match timelines. Both never change once a game has ended, so they only need to be requested
+ * from the Riot Api once, even across restarts.
+ *
+ * <p>
+ * Dtos are stored as gzip compressed JSON in append-only segment files. A memory-mapped open addressing hash index maps each game id to
+ * the location of its dto, so a lookup costs a single read from disk. The index records how far into the segment files it reaches. Records
+ * appended after that, e.g. if the process died before the index was updated, are indexed when the archive is opened. If the index is lost
+ * or does not match the segment files, it is rebuilt from the segment files.
+ * </p>
+ *
+ * <p>
+ * When set using {@link ApiConfig#setMatchArchive(MatchArchive)}, calls of {@link RiotApi#getMatch(Platform, long)} and
+ * {@link RiotApi#getTimelineByMatchId(Platform, long)} are answered from the archive before the Riot Api is called, and new results are
+ * added to the archive. Matches requested for a specific account are not archived, since their participant identities differ.
+ * </p>
+ *
+ * <pre>
+ * MatchArchive archive = new MatchArchive(new File("matches"));
+ * ApiConfig config = new ApiConfig().setKey("YOUR-API-KEY-HERE").setMatchArchive(archive);
+ * </pre>
+ *
+ * <p>
+ * <i>Please note that a directory must only be opened by a single {@code MatchArchive} at a time.</i>
+ * </p>
+ */
+public class MatchArchive implements Closeable {
+
+	private static final int INDEX_MAGIC = 0x524d4158;
+	private static final int INDEX_HEADER_SIZE = 32;
+	private static final int INDEX_INITIAL_CAPACITY = 1 << 16;
+	private static final double INDEX_MAX_LOAD = 0.7;
+	private static final int SLOT_SIZE = 32;
+	private static final int RECORD_HEADER_SIZE = 16;
+	private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+	private static final int KIND_MATCH = 0;
+	private static final int KIND_TIMELINE = 1;
+
+	/**
+	 * Platform IDs in the order of the codes they are stored with. New platforms must only be appended.
+	 */
+	private static final String[] PLATFORM_CODES = { "BR1", "EUN1", "EUW1", "JP1", "KR", "LA1", "LA2", "NA1", "OC1", "RU", "TR1" };
+
+	private final File directory;
+	private final Gson gson;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final List<FileChannel> segments = new ArrayList<FileChannel>();
+	private RandomAccessFile indexFile = null;
+	private MappedByteBuffer index = null;
+	private int capacity = 0;
+	private int size = 0;
+	private boolean closed = false;
+
+	/**
+	 * Opens the archive in the given directory, creating it if it does not exist.
+	 *
+	 * @param directory
+	 *            Directory to store the archive in
+	 * @throws IOException
+	 *             If the archive can not be opened
+	 */
+	public MatchArchive(File directory) throws IOException {
+		this(directory, DtoGson.INSTANCE);
+	}
+
+	/**
+	 * Opens the archive in the given directory, creating it if it does not exist.
+	 *
+	 * @param directory
+	 *            Directory to store the archive in
+	 * @param gson
+	 *            {@code Gson} instance to encode and decode dtos with
+	 * @throws IOException
+	 *             If the archive can not be opened
+	 */
+	public MatchArchive(File directory, Gson gson) throws IOException {
+		this.directory = directory;
+		this.gson = gson;
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Failed to create directory " + directory);
+		}
+		for (int i = 0;; i++) {
+			File segment = getSegmentFile(i);
+			if (!segment.exists()) {
+				break;
+			}
+			segments.add(new RandomAccessFile(segment, "rw").getChannel());
+		}
+		if (segments.isEmpty()) {
+			segments.add(new RandomAccessFile(getSegmentFile(0), "rw").getChannel());
+		}
+		if (!openIndex()) {
+			rebuildIndex();
+			return;
+		}
+		int indexedSegment = index.getInt(12);
+		long indexedEnd = index.getLong(16);
+		if (indexedSegment >= segments.size() || segments.get(indexedSegment).size() < indexedEnd) {
+			RiotApi.log.warning("[MatchArchive] Index of " + directory + " exceeds the segment files");
+			rebuildIndex();
+		} else if (indexedSegment < segments.size() - 1 || segments.get(indexedSegment).size() > indexedEnd) {
+			RiotApi.log.info("[MatchArchive] Indexing records appended to " + directory + " after the index was last updated");
+			indexSegments(indexedSegment, indexedEnd);
+		}
+	}
+
+	/**
+	 * Closes the archive. Pending writes are forced to disk.
+	 *
+	 * @throws IOException
+	 *             If closing any of the files fails
+	 */
+	@Override
+	public void close() throws IOException {
+		lock.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			forceToDisk();
+			indexFile.close();
+			for (FileChannel segment : segments) {
+				segment.close();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Forces the index to disk and marks it as valid. The magic number is written last, so an index that was not completely written when
+	 * the process died is never opened.
+	 */
+	private void commitIndex() throws IOException {
+		index.force();
+		index.putInt(0, INDEX_MAGIC);
+		index.force();
+	}
+
+	/**
+	 * Returns {@code true} if the match with the given id is archived.
+	 *
+	 * @param platform
+	 *            Platform the match was played on
+	 * @param matchId
+	 *            The ID of the match
+	 * @return {@code true} if the match is archived
+	 */
+	public boolean containsMatch(Platform platform, long matchId) {
+		lock.readLock().lock();
+		try {
+			requireOpen();
+			return findSlot(matchId, getMeta(platform, KIND_MATCH)) >= 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the timeline of the match with the given id is archived.
+	 *
+	 * @param platform
+	 *            Platform the match was played on
+	 * @param matchId
+	 *            The ID of the match
+	 * @return {@code true} if the timeline is archived
+	 */
+	public boolean containsTimeline(Platform platform, long matchId) {
+		lock.readLock().lock();
+		try {
+			requireOpen();
+			return findSlot(matchId, getMeta(platform, KIND_TIMELINE)) >= 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Looks up the slot of the given key.
+	 *
+	 * @return The position of the slot in the index, or {@code -(position + 1)} of the empty slot the key would be inserted at
+	 */
+	private int findSlot(long gameId, int meta) {
+		int mask = capacity - 1;
+		for (int i = hash(gameId, meta) & mask;; i = (i + 1) & mask) {
+			int position = INDEX_HEADER_SIZE + i * SLOT_SIZE;
+			int slotMeta = index.getInt(position + 8);
+			if (slotMeta == 0) {
+				return -(position + 1);
+			}
+			if (slotMeta == meta && index.getLong(position) == gameId) {
+				return position;
+			}
+		}
+	}
+
+	/**
+	 * Forces all archived dtos to disk.
+	 *
+	 * @throws IOException
+	 *             If writing to disk fails
+	 */
+	public void flush() throws IOException {
+		lock.writeLock().lock();
+		try {
+			requireOpen();
+			forceToDisk();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void forceToDisk() throws IOException {
+		index.force();
+		for (FileChannel segment : segments) {
+			segment.force(false);
+		}
+	}
+
+	/**
+	 * Returns the archived dto for the given api method, if the api method is archived.
+	 */
+	Object get(ApiMethod method) throws IOException {
+		if (method instanceof GetMatch) {
+			GetMatch getMatch = (GetMatch) method;
+			if (isArchived(getMatch)) {
+				return getMatch(getMatch.getPlatform(), getMatch.getMatchId());
+			}
+		} else if (method instanceof GetTimelineByMatchId) {
+			GetTimelineByMatchId getTimeline = (GetTimelineByMatchId) method;
+			return getTimeline(getTimeline.getPlatform(), getTimeline.getMatchId());
+		}
+		return null;
+	}
+
+	private File getIndexFile(int capacity) {
+		return new File(directory, "index-" + capacity + ".dat");
+	}
+
+	/**
+	 * Returns the archived match with the given id.
+	 *
+	 * @param platform
+	 *            Platform the match was played on
+	 * @param matchId
+	 *            The ID of the match
+	 * @return The archived match, or {@code null} if the match is not archived
+	 * @throws IOException
+	 *             If reading the match fails
+	 */
+	public Match getMatch(Platform platform, long matchId) throws IOException {
+		return read(matchId, getMeta(platform, KIND_MATCH), Match.class);
+	}
+
+	private static int getMeta(Platform platform, int kind) {
+		for (int i = 0; i < PLATFORM_CODES.length; i++) {
+			if (PLATFORM_CODES[i].equals(platform.getId())) {
+				// Never 0, which marks empty slots
+				return ((i + 1) << 1) | kind;
+			}
+		}
+		throw new IllegalArgumentException("Platform " + platform + " has no archive code");
+	}
+
+	private File getSegmentFile(int segment) {
+		return new File(directory, String.format(Locale.ROOT, "segment-%05d.dat", segment));
+	}
+
+	/**
+	 * Returns the archived timeline of the match with the given id.
+	 *
+	 * @param platform
+	 *            Platform the match was played on
+	 * @param matchId
+	 *            The ID of the match
+	 * @return The archived timeline, or {@code null} if the timeline is not archived
+	 * @throws IOException
+	 *             If reading the timeline fails
+	 */
+	public MatchTimeline getTimeline(Platform platform, long matchId) throws IOException {
+		return read(matchId, getMeta(platform, KIND_TIMELINE), MatchTimeline.class);
+	}
+
+	private static int hash(long gameId, int meta) {
+		long h = gameId * 31 + meta;
+		h ^= (h >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= (h >>> 33);
+		return (int) h;
+	}
+
+	private void insert(long gameId, int meta, int segment, long offset, int length) throws IOException {
+		if (size + 1 > capacity * INDEX_MAX_LOAD) {
+			resizeIndex(capacity << 1);
+		}
+		int position = findSlot(gameId, meta);
+		if (position < 0) {
+			position = -(position + 1);
+			size++;
+		}
+		putSlot(position, gameId, meta, segment, offset, length);
+		index.putInt(8, size);
+		// Records are inserted in the order they are stored, so this is how far the index reaches
+		index.putInt(12, segment);
+		index.putLong(16, offset + RECORD_HEADER_SIZE + length);
+	}
+
+	/**
+	 * Adds all records to the index, starting at the given offset of the given segment. Incomplete records at the end of a segment, which
+	 * are left behind if the process dies while writing, are truncated.
+	 */
+	private void indexSegments(int fromSegment, long fromOffset) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+		for (int segmentIndex = fromSegment; segmentIndex < segments.size(); segmentIndex++) {
+			FileChannel segment = segments.get(segmentIndex);
+			long offset = (segmentIndex == fromSegment ? fromOffset : 0);
+			long segmentSize = segment.size();
+			while (offset + RECORD_HEADER_SIZE <= segmentSize) {
+				header.clear();
+				readFully(segment, header, offset);
+				long gameId = header.getLong(0);
+				int meta = header.getInt(8);
+				int length = header.getInt(12);
+				if (meta == 0 || length < 0 || offset + RECORD_HEADER_SIZE + length > segmentSize) {
+					break;
+				}
+				insert(gameId, meta, segmentIndex, offset, length);
+				offset += RECORD_HEADER_SIZE + length;
+			}
+			if (offset < segmentSize) {
+				RiotApi.log.log(Level.WARNING, "[MatchArchive] Truncating incomplete record in " + getSegmentFile(segmentIndex));
+				segment.truncate(offset);
+			}
+		}
+	}
+
+	private static boolean isArchived(GetMatch method) {
+		return (method.getForAccountId() == null || method.getForAccountId().isEmpty());
+	}
+
+	/**
+	 * Maps the index with the given capacity, replacing the current index. If {@code create} is {@code true}, a new empty index file is
+	 * created, which is not valid until {@link #commitIndex()} is called.
+	 */
+	private void mapIndex(int capacity, boolean create) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(getIndexFile(capacity), "rw");
+		long length = INDEX_HEADER_SIZE + (long) capacity * SLOT_SIZE;
+		if (create) {
+			file.setLength(0);
+			file.setLength(length);
+		}
+		MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+		if (create) {
+			buffer.putInt(4, capacity);
+		}
+		if (indexFile != null) {
+			indexFile.close();
+		}
+		indexFile = file;
+		index = buffer;
+		this.capacity = capacity;
+		size = buffer.getInt(8);
+	}
+
+	/**
+	 * Opens the largest existing index.
+	 *
+	 * @return {@code true} if a valid index was found
+	 */
+	private boolean openIndex() throws IOException {
+		for (int capacity = 1 << 30; capacity >= INDEX_INITIAL_CAPACITY; capacity >>= 1) {
+			File file = getIndexFile(capacity);
+			if (file.length() == INDEX_HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+				mapIndex(capacity, false);
+				if (index.getInt(0) == INDEX_MAGIC && index.getInt(4) == capacity) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the given dto to the archive, if the api method is archived.
+	 */
+	void put(ApiMethod method, Object dto) throws IOException {
+		if (method instanceof GetMatch && dto instanceof Match) {
+			if (isArchived((GetMatch) method)) {
+				putMatch(method.getPlatform(), (Match) dto);
+			}
+		} else if (method instanceof GetTimelineByMatchId && dto instanceof MatchTimeline) {
+			putTimeline(method.getPlatform(), ((GetTimelineByMatchId) method).getMatchId(), (MatchTimeline) dto);
+		}
+	}
+
+	/**
+	 * Adds the given match to the archive. If the match is already archived, nothing is written.
+	 *
+	 * @param platform
+	 *            Platform the match was played on
+	 * @param match
+	 *            Match to archive
+	 * @throws IOException
+	 *             If writing the match fails
+	 */
+	public void putMatch(Platform platform, Match match) throws IOException {
+		write(match.getGameId(), getMeta(platform, KIND_MATCH), match);
+	}
+
+	private void putSlot(int position, long gameId, int meta, int segment, long offset, int length) {
+		index.putLong(position, gameId);
+		index.putInt(position + 12, segment);
+		index.putLong(position + 16, offset);
+		index.putInt(position + 24, length);
+		// Written last, since it marks the slot as used
+		index.putInt(position + 8, meta);
+	}
+
+	/**
+	 * Adds the given timeline to the archive. If the timeline is already archived, nothing is written.
+	 *
+	 * @param platform
+	 *            Platform the match was played on
+	 * @param matchId
+	 *            The ID of the match
+	 * @param timeline
+	 *            Timeline to archive
+	 * @throws IOException
+	 *             If writing the timeline fails
+	 */
+	public void putTimeline(Platform platform, long matchId, MatchTimeline timeline) throws IOException {
+		write(matchId, getMeta(platform, KIND_TIMELINE), timeline);
+	}
+
+	private <T> T read(long gameId, int meta, Type type) throws IOException {
+		byte[] data;
+		lock.readLock().lock();
+		try {
+			requireOpen();
+			int position = findSlot(gameId, meta);
+			if (position < 0) {
+				return null;
+			}
+			FileChannel segment = segments.get(index.getInt(position + 12));
+			data = new byte[index.getInt(position + 24)];
+			readFully(segment, ByteBuffer.wrap(data), index.getLong(position + 16) + RECORD_HEADER_SIZE);
+		} finally {
+			lock.readLock().unlock();
+		}
+		Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(data)), StandardCharsets.UTF_8);
+		try {
+			return gson.fromJson(reader, type);
+		} catch (JsonParseException e) {
+			throw new IOException("Corrupt archive entry for game " + gameId, e);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new IOException("Unexpected end of archive segment");
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the index by scanning all segment files.
+	 */
+	private void rebuildIndex() throws IOException {
+		RiotApi.log.info("[MatchArchive] Rebuilding index of " + directory);
+		mapIndex(INDEX_INITIAL_CAPACITY, true);
+		indexSegments(0, 0);
+		commitIndex();
+	}
+
+	private void requireOpen() {
+		if (closed) {
+			throw new IllegalStateException("Archive is closed");
+		}
+	}
+
+	/**
+	 * Moves all entries to a new index with the given capacity. The old index file is deleted once the new index is valid.
+	 */
+	private void resizeIndex(int newCapacity) throws IOException {
+		MappedByteBuffer oldIndex = index;
+		int oldCapacity = capacity;
+		mapIndex(newCapacity, true);
+		index.putInt(12, oldIndex.getInt(12));
+		index.putLong(16, oldIndex.getLong(16));
+		for (int i = 0; i < oldCapacity; i++) {
+			int oldPosition = INDEX_HEADER_SIZE + i * SLOT_SIZE;
+			int meta = oldIndex.getInt(oldPosition + 8);
+			if (meta != 0) {
+				long gameId = oldIndex.getLong(oldPosition);
+				int position = -(findSlot(gameId, meta) + 1);
+				putSlot(position, gameId, meta, oldIndex.getInt(oldPosition + 12), oldIndex.getLong(oldPosition + 16),
+						oldIndex.getInt(oldPosition + 24));
+				size++;
+			}
+		}
+		index.putInt(8, size);
+		commitIndex();
+		if (!getIndexFile(oldCapacity).delete()) {
+			RiotApi.log.warning("[MatchArchive] Failed to delete old index " + getIndexFile(oldCapacity));
+		}
+	}
+
+	/**
+	 * Returns the number of archived matches and timelines.
+	 *
+	 * @return Number of archived dtos
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void write(long gameId, int meta, Object dto) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+		bytes.write(new byte[RECORD_HEADER_SIZE]);
+		Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8);
+		gson.toJson(dto, writer);
+		writer.close();
+		ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+		int length = record.remaining() - RECORD_HEADER_SIZE;
+		record.putLong(0, gameId);
+		record.putInt(8, meta);
+		record.putInt(12, length);
+
+		lock.writeLock().lock();
+		try {
+			requireOpen();
+			if (findSlot(gameId, meta) >= 0) {
+				return;
+			}
+			int segmentIndex = segments.size() - 1;
+			FileChannel segment = segments.get(segmentIndex);
+			if (segment.size() > 0 && segment.size() + record.remaining() > MAX_SEGMENT_SIZE) {
+				segmentIndex++;
+				segment = new RandomAccessFile(getSegmentFile(segmentIndex), "rw").getChannel();
+				segments.add(segment);
+			}
+			long offset = segment.size();
+			while (record.hasRemaining()) {
+				segment.write(record, offset + record.position());
+			}
+			insert(gameId, meta, segmentIndex, offset, length);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import net.rithms.riot.api.endpoints.match.dto.MatchList;
+import net.rithms.riot.api.endpoints.match.dto.MatchReference;
+import net.rithms.riot.api.request.AsyncRequest;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Iterates over the full match history of an account, most recent match first. The matchlist is requested page by page, and the next page
+ * is requested in the background as soon as the current one has arrived, so the caller rarely has to wait for a page while processing the
+ * previous one.
+ * 
+ * <pre>
+ * MatchHistoryIterator history = api.getMatchHistory(Platform.NA, accountId);
+ * try {
+ * 	while (history.hasNext()) {
+ * 		MatchReference match = history.next();
+ * 		// ...
+ * 	}
+ * } finally {
+ * 	history.close();
+ * }
+ * </pre>
+ * 
+ * <p>
+ * Since {@link Iterator} can not throw checked exceptions, a {@link RiotApiException} raised while requesting a page is thrown wrapped in an
+ * {@link UncheckedRiotApiException} by {@link #hasNext()} and {@link #next()}. A {@code 404} response ends the iteration, since the Riot
+ * Api answers with {@code 404} once the begin index passes the last match.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class is not thread-safe.</i>
+ * </p>
+ * 
+ * @see RiotApi#getMatchHistory(Platform, String)
+ */
+public class MatchHistoryIterator implements Iterator<MatchReference>, Closeable {
+
+	/**
+	 * The maximum number of matches the Riot Api returns per page
+	 */
+	public static final int PAGE_SIZE = 100;
+
+	private final String accountId;
+	private final RiotApiAsync api;
+	private final long beginTime;
+	private final Set<Integer> champion;
+	private final long endTime;
+	private Iterator<MatchReference> page = Collections.<MatchReference> emptyList().iterator();
+	private int pageIndex = 0;
+	private final Platform platform;
+	private AsyncRequest pendingPage = null;
+	private final Set<Integer> queue;
+	private final Set<Integer> season;
+
+	/**
+	 * Constructs a {@code MatchHistoryIterator} and requests the first page right away.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request pages with
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param accountId
+	 *            The account ID of the summoner.
+	 * @param champion
+	 *            Set of champion IDs for which to filtering matchlist.
+	 * @param queue
+	 *            Set of queue IDs for which to filtering matchlist.
+	 * @param season
+	 *            Set of season IDs for which to filtering matchlist.
+	 * @param beginTime
+	 *            The begin time to use for filtering matchlist specified as epoch milliseconds. Use {@code -1} to not use this parameter.
+	 * @param endTime
+	 *            The end time to use for filtering matchlist specified as epoch milliseconds. Use {@code -1} to not use this parameter.
+	 * @throws NullPointerException
+	 *             If {@code api} or {@code platform} is {@code null}
+	 */
+	public MatchHistoryIterator(RiotApi api, Platform platform, String accountId, Set<Integer> champion, Set<Integer> queue,
+			Set<Integer> season, long beginTime, long endTime) {
+		this.api = api.getAsyncApi();
+		this.platform = Objects.requireNonNull(platform);
+		this.accountId = accountId;
+		this.champion = champion;
+		this.queue = queue;
+		this.season = season;
+		this.beginTime = beginTime;
+		this.endTime = endTime;
+		requestPage();
+	}
+
+	/**
+	 * Cancels the request for the next page, if it is still pending. Matches of the current page can still be retrieved after closing.
+	 */
+	@Override
+	public void close() {
+		AsyncRequest request = pendingPage;
+		pendingPage = null;
+		if (request != null) {
+			request.cancel();
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the match history has more matches. This method blocks until the next page has arrived, if all matches of
+	 * the current page have been retrieved already.
+	 * 
+	 * @return {@code true} if the match history has more matches
+	 * @throws UncheckedRiotApiException
+	 *             If the API returns an error or unparsable result
+	 */
+	@Override
+	public boolean hasNext() {
+		while (!page.hasNext()) {
+			if (pendingPage == null) {
+				return false;
+			}
+			MatchList matchList = awaitPage();
+			List<MatchReference> matches = (matchList == null ? null : matchList.getMatches());
+			if (matches == null) {
+				matches = Collections.emptyList();
+			}
+			if (matches.size() >= PAGE_SIZE) {
+				// Prefetch the next page while the caller processes this one
+				pageIndex += matches.size();
+				requestPage();
+			}
+			page = matches.iterator();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the next match of the match history. This method blocks until the next page has arrived, if all matches of the current page
+	 * have been retrieved already.
+	 * 
+	 * @return The next match
+	 * @throws NoSuchElementException
+	 *             If the match history has no more matches
+	 * @throws UncheckedRiotApiException
+	 *             If the API returns an error or unparsable result
+	 */
+	@Override
+	public MatchReference next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return page.next();
+	}
+
+	/**
+	 * Not supported.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             Always
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+
+	private MatchList awaitPage() {
+		AsyncRequest request = pendingPage;
+		pendingPage = null;
+		try {
+			request.await();
+			if (!request.isSuccessful()) {
+				RiotApiException exception = request.getException();
+				throw (exception != null ? exception : new RiotApiException(RiotApiException.IOEXCEPTION, "Page request was cancelled"));
+			}
+			return request.getDtoAndThrowException();
+		} catch (InterruptedException e) {
+			request.cancel();
+			Thread.currentThread().interrupt();
+			throw new UncheckedRiotApiException(new RiotApiException(RiotApiException.IOEXCEPTION, "Interrupted while waiting for page"));
+		} catch (RiotApiException e) {
+			if (e.getErrorCode() == RiotApiException.DATA_NOT_FOUND) {
+				return null;
+			}
+			throw new UncheckedRiotApiException(e);
+		}
+	}
+
+	private void requestPage() {
+		pendingPage = api.getMatchListByAccountId(platform, accountId, champion, queue, season, beginTime, endTime, pageIndex, pageIndex + PAGE_SIZE);
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.rithms.riot.api.endpoints.match.dto.MatchReference;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Keeps the match histories of accounts up to date by requesting only matches that were played since the last sync. For every account, the
+ * timestamp and game ID of the most recent match seen so far are remembered as a watermark. Subsequent syncs pass that timestamp as
+ * {@code beginTime}, so an account with few new matches is synced with a single request.
+ * 
+ * <pre>
+ * MatchHistorySync sync = new MatchHistorySync(api);
+ * sync.load(new FileInputStream("watermarks.dat"));
+ * List&lt;MatchReference&gt; newMatches = sync.sync(Platform.NA, accountId);
+ * sync.store(new FileOutputStream("watermarks.dat"));
+ * </pre>
+ * 
+ * <p>
+ * The first sync of an account returns its full match history. This class is thread-safe, but concurrent syncs of the same account may
+ * return the same matches.
+ * </p>
+ */
+public class MatchHistorySync {
+
+	private static class AccountKey {
+
+		private final String accountId;
+		private final Platform platform;
+
+		public AccountKey(Platform platform, String accountId) {
+			this.platform = Objects.requireNonNull(platform);
+			this.accountId = Objects.requireNonNull(accountId);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof AccountKey)) {
+				return false;
+			}
+			AccountKey other = (AccountKey) obj;
+			return platform == other.platform && accountId.equals(other.accountId);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * platform.hashCode() + accountId.hashCode();
+		}
+	}
+
+	private static class Watermark {
+
+		private final long gameId;
+		private final long timestamp;
+
+		public Watermark(long timestamp, long gameId) {
+			this.timestamp = timestamp;
+			this.gameId = gameId;
+		}
+
+		public boolean isBefore(long timestamp, long gameId) {
+			return this.timestamp < timestamp || (this.timestamp == timestamp && this.gameId != gameId);
+		}
+	}
+
+	private static final int FORMAT_VERSION = 2;
+
+	private final RiotApi api;
+	private final ConcurrentMap<AccountKey, Watermark> watermarks = new ConcurrentHashMap<AccountKey, Watermark>();
+
+	/**
+	 * Constructs a {@code MatchHistorySync} without any watermarks.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request matchlists with
+	 * @throws NullPointerException
+	 *             If {@code api} is {@code null}
+	 */
+	public MatchHistorySync(RiotApi api) {
+		this.api = Objects.requireNonNull(api);
+	}
+
+	/**
+	 * Removes all watermarks.
+	 */
+	public void clear() {
+		watermarks.clear();
+	}
+
+	/**
+	 * Returns the game ID of the most recent match seen for the given account.
+	 * 
+	 * @param platform
+	 *            Platform of the account
+	 * @param accountId
+	 *            The account ID of the summoner
+	 * @return The game ID of the most recent match, or {@code -1} if the account has not been synced yet
+	 */
+	public long getLastGameId(Platform platform, String accountId) {
+		Watermark watermark = watermarks.get(new AccountKey(platform, accountId));
+		return (watermark == null ? -1 : watermark.gameId);
+	}
+
+	/**
+	 * Returns the timestamp of the most recent match seen for the given account.
+	 * 
+	 * @param platform
+	 *            Platform of the account
+	 * @param accountId
+	 *            The account ID of the summoner
+	 * @return The timestamp of the most recent match specified as epoch milliseconds, or {@code -1} if the account has not been synced yet
+	 */
+	public long getLastTimestamp(Platform platform, String accountId) {
+		Watermark watermark = watermarks.get(new AccountKey(platform, accountId));
+		return (watermark == null ? -1 : watermark.timestamp);
+	}
+
+	/**
+	 * Reads watermarks previously written by {@link #store(OutputStream)} and merges them into this {@code MatchHistorySync}. For accounts
+	 * that already have a watermark, the more recent one is kept. The stream is not closed.
+	 * 
+	 * @param is
+	 *            The stream to read from
+	 * @throws IOException
+	 *             If reading fails or the stream has an unknown format
+	 */
+	public void load(InputStream is) throws IOException {
+		DataInputStream in = new DataInputStream(is);
+		int version = in.readUnsignedByte();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unknown watermark format version " + version);
+		}
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String platformId = in.readUTF();
+			Platform platform;
+			try {
+				platform = Platform.getPlatformById(platformId);
+			} catch (NoSuchElementException e) {
+				throw new IOException("Unknown platform " + platformId, e);
+			}
+			String accountId = in.readUTF();
+			long timestamp = in.readLong();
+			long gameId = in.readLong();
+			updateWatermark(new AccountKey(platform, accountId), new Watermark(timestamp, gameId));
+		}
+	}
+
+	/**
+	 * Removes the watermark of the given account, so that its next sync returns its full match history.
+	 * 
+	 * @param platform
+	 *            Platform of the account
+	 * @param accountId
+	 *            The account ID of the summoner
+	 */
+	public void reset(Platform platform, String accountId) {
+		watermarks.remove(new AccountKey(platform, accountId));
+	}
+
+	/**
+	 * Returns the number of accounts that have a watermark.
+	 * 
+	 * @return The number of accounts
+	 */
+	public int size() {
+		return watermarks.size();
+	}
+
+	/**
+	 * Writes all watermarks to the given stream. Each watermark takes 20 bytes plus the lengths of the platform ID and the account ID. The
+	 * stream is flushed, but not closed.
+	 * 
+	 * @param os
+	 *            The stream to write to
+	 * @throws IOException
+	 *             If writing fails
+	 */
+	public void store(OutputStream os) throws IOException {
+		List<Map.Entry<AccountKey, Watermark>> entries = new ArrayList<Map.Entry<AccountKey, Watermark>>(watermarks.entrySet());
+		DataOutputStream out = new DataOutputStream(os);
+		out.writeByte(FORMAT_VERSION);
+		out.writeInt(entries.size());
+		for (Map.Entry<AccountKey, Watermark> entry : entries) {
+			out.writeUTF(entry.getKey().platform.getId());
+			out.writeUTF(entry.getKey().accountId);
+			out.writeLong(entry.getValue().timestamp);
+			out.writeLong(entry.getValue().gameId);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Requests the matches the given account played since its last sync and advances its watermark to the most recent of them.
+	 * 
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param accountId
+	 *            The account ID of the summoner.
+	 * @return The new matches, most recent match first, or an empty list if there are none
+	 * @throws NullPointerException
+	 *             If {@code platform} or {@code accountId} is {@code null}
+	 * @throws RiotApiException
+	 *             If the API returns an error or unparsable result
+	 */
+	public List<MatchReference> sync(Platform platform, String accountId) throws RiotApiException {
+		AccountKey key = new AccountKey(platform, accountId);
+		Watermark watermark = watermarks.get(key);
+		List<MatchReference> matches = new ArrayList<MatchReference>();
+		Watermark newest = watermark;
+		MatchHistoryIterator history = api.getMatchHistory(platform, accountId, null, null, null, (watermark == null ? -1 : watermark.timestamp), -1);
+		try {
+			while (history.hasNext()) {
+				MatchReference match = history.next();
+				// beginTime is inclusive, so the match the watermark was taken from is returned again
+				if (watermark != null && !watermark.isBefore(match.getTimestamp(), match.getGameId())) {
+					continue;
+				}
+				matches.add(match);
+				if (newest == null || newest.timestamp < match.getTimestamp()) {
+					newest = new Watermark(match.getTimestamp(), match.getGameId());
+				}
+			}
+		} catch (UncheckedRiotApiException e) {
+			throw e.getCause();
+		} finally {
+			history.close();
+		}
+		if (newest != watermark) {
+			updateWatermark(key, newest);
+		}
+		return matches;
+	}
+
+	private void updateWatermark(AccountKey key, Watermark watermark) {
+		while (true) {
+			Watermark current = watermarks.putIfAbsent(key, watermark);
+			if (current == null || current.timestamp >= watermark.timestamp || watermarks.replace(key, current, watermark)) {
+				return;
+			}
+		}
+	}
+}
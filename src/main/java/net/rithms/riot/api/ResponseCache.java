@@ -0,0 +1,307 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.rithms.riot.api.endpoints.league.methods.GetLeaguePositionsBySummonerId;
+import net.rithms.riot.api.endpoints.lol_status.methods.GetShardData;
+import net.rithms.riot.api.endpoints.match.methods.GetMatch;
+import net.rithms.riot.api.endpoints.match.methods.GetMatchByMatchIdAndTournamentCode;
+import net.rithms.riot.api.endpoints.match.methods.GetTimelineByMatchId;
+import net.rithms.riot.api.endpoints.summoner.methods.GetSummoner;
+import net.rithms.riot.api.endpoints.summoner.methods.GetSummonerByAccount;
+import net.rithms.riot.api.endpoints.summoner.methods.GetSummonerByName;
+import net.rithms.riot.api.endpoints.summoner.methods.GetSummonerByPuuid;
+
+/**
+ * A size-bounded in-memory cache for the dtos returned by the Riot Api. Cache hits are served without firing a request, so they consume
+ * neither rate limits nor bandwidth.
+ * 
+ * <p>
+ * How long a dto is cached depends on the {@link ApiMethod} that returned it. By default, finished matches and their timelines are cached
+ * until they are evicted, summoners for 5 minutes, league positions for 1 minute and shard data for 10 seconds. All other methods are not
+ * cached, unless a time to live is set for them using {@link #setTimeToLive(Class, long, TimeUnit)} or
+ * {@link #setDefaultTimeToLive(long, TimeUnit)}.
+ * </p>
+ * 
+ * <p>
+ * The size of the cache is bounded by the total weight of its dtos, where the weight of a dto is the length, in bytes, of the decompressed
+ * response body it was parsed from. This way, large dtos like match timelines take up a correspondingly larger share of the cache than small
+ * dtos like summoners.
+ * Once the maximum weight is exceeded, the least recently used dtos are evicted.
+ * </p>
+ * 
+ * <pre>
+ * // Caches up to 64 MB of response bodies
+ * ApiConfig config = new ApiConfig().setKey("YOUR-API-KEY-HERE").setResponseCache(new ResponseCache(64 * 1024 * 1024));
+ * </pre>
+ * 
+ * <p>
+ * <i>Please note that a cached dto is returned to every caller requesting it, so dtos must not be modified. Only {@code GET} requests made
+ * through {@link RiotApi} and {@link RiotApiFuture} are served from the cache.</i>
+ * </p>
+ */
+public class ResponseCache {
+
+	/**
+	 * Time to live for dtos that never change, like finished matches
+	 */
+	public static final long FOREVER = Long.MAX_VALUE;
+
+	private static class Entry {
+
+		private final Object dto;
+		private final long weight;
+		private final long expiryTime;
+
+		private Entry(Object dto, long weight, long expiryTime) {
+			this.dto = dto;
+			this.weight = weight;
+			this.expiryTime = expiryTime;
+		}
+
+		private boolean isExpired(long nanoTime) {
+			return (expiryTime != FOREVER && nanoTime - expiryTime >= 0);
+		}
+	}
+
+	private final long maximumWeight;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+	private long weight = 0;
+	private final ConcurrentMap<Class<?>, Long> timesToLive = new ConcurrentHashMap<Class<?>, Long>();
+	private volatile long defaultTimeToLive = 0;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Creates a new {@code ResponseCache} with the default time to live policies.
+	 * 
+	 * @param maximumWeight
+	 *            Maximum total weight of the dtos to keep in the cache, in bytes of response body
+	 * @throws IllegalArgumentException
+	 *             If {@code maximumWeight} is smaller than {@code 1}
+	 */
+	public ResponseCache(long maximumWeight) {
+		if (maximumWeight < 1) {
+			throw new IllegalArgumentException("maximum weight must be at least 1");
+		}
+		this.maximumWeight = maximumWeight;
+		setTimeToLive(GetMatch.class, FOREVER, TimeUnit.NANOSECONDS);
+		setTimeToLive(GetMatchByMatchIdAndTournamentCode.class, FOREVER, TimeUnit.NANOSECONDS);
+		setTimeToLive(GetTimelineByMatchId.class, FOREVER, TimeUnit.NANOSECONDS);
+		setTimeToLive(GetSummoner.class, 5, TimeUnit.MINUTES);
+		setTimeToLive(GetSummonerByAccount.class, 5, TimeUnit.MINUTES);
+		setTimeToLive(GetSummonerByName.class, 5, TimeUnit.MINUTES);
+		setTimeToLive(GetSummonerByPuuid.class, 5, TimeUnit.MINUTES);
+		setTimeToLive(GetLeaguePositionsBySummonerId.class, 1, TimeUnit.MINUTES);
+		setTimeToLive(GetShardData.class, 10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Removes all dtos from the cache.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			weight = 0;
+		}
+	}
+
+	/**
+	 * Returns the cached dto for the given api method, if there is any.
+	 * 
+	 * @param method
+	 *            Api method to be called
+	 * @return The cached dto, or {@code null} if there is no valid cached dto
+	 */
+	Object get(ApiMethod method) {
+		if (getTimeToLive(method.getClass()) == 0) {
+			return null;
+		}
+		String key = SharedRequest.getKey(method);
+		if (key == null) {
+			return null;
+		}
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry != null && entry.isExpired(System.nanoTime())) {
+				entries.remove(key);
+				weight -= entry.weight;
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return entry.dto;
+	}
+
+	/**
+	 * Returns the number of calls that were served from the cache.
+	 * 
+	 * @return Number of cache hits
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the maximum total weight of the dtos in the cache.
+	 * 
+	 * @return Maximum weight in bytes of response body
+	 */
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Returns the number of calls of cached api methods that had to fire a request, because their dto was not cached.
+	 * 
+	 * @return Number of cache misses
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Returns the time to live, in nanoseconds, of dtos returned by the given api method.
+	 * 
+	 * @param method
+	 *            Class of the api method
+	 * @return Time to live in nanoseconds, {@link #FOREVER}, or {@code 0} if the dtos are not cached
+	 */
+	public long getTimeToLive(Class<? extends ApiMethod> method) {
+		Long timeToLive = timesToLive.get(method);
+		return (timeToLive == null ? defaultTimeToLive : timeToLive);
+	}
+
+	/**
+	 * Returns the total weight of the dtos currently in the cache, including expired dtos that have not been evicted yet.
+	 * 
+	 * @return Weight in bytes of response body
+	 */
+	public long getWeight() {
+		synchronized (entries) {
+			return weight;
+		}
+	}
+
+	/**
+	 * Caches the dto returned by the given api method, if the api method is cached. Dtos that weigh more than the maximum weight are not
+	 * cached at all, since they would evict every other dto.
+	 * 
+	 * @param method
+	 *            Api method that was called
+	 * @param dto
+	 *            The dto returned by the Riot Api
+	 * @param bodyLength
+	 *            Length of the decompressed response body the dto was parsed from, or {@code -1} if it is unknown
+	 */
+	void put(ApiMethod method, Object dto, long bodyLength) {
+		long timeToLive = getTimeToLive(method.getClass());
+		if (dto == null || timeToLive == 0) {
+			return;
+		}
+		String key = SharedRequest.getKey(method);
+		if (key == null) {
+			return;
+		}
+		long expiryTime = (timeToLive == FOREVER ? FOREVER : System.nanoTime() + timeToLive);
+		Entry entry = new Entry(dto, Math.max(1, bodyLength), expiryTime);
+		synchronized (entries) {
+			Entry previous = (entry.weight > maximumWeight ? entries.remove(key) : entries.put(key, entry));
+			if (previous != null) {
+				weight -= previous.weight;
+			}
+			if (entry.weight > maximumWeight) {
+				return;
+			}
+			weight += entry.weight;
+			// Evict the least recently used dtos, which come first in access order
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (weight > maximumWeight) {
+				Entry eldest = iterator.next();
+				iterator.remove();
+				weight -= eldest.weight;
+			}
+		}
+	}
+
+	/**
+	 * Sets the time to live of dtos returned by api methods without a time to live of their own. By default, this is {@code 0}, so that
+	 * only the api methods with a specific time to live are cached.
+	 * 
+	 * @param timeToLive
+	 *            Time to live, {@link #FOREVER}, or {@code 0} to not cache these api methods
+	 * @param unit
+	 *            Unit of {@code timeToLive}
+	 * @return This ResponseCache object for chaining
+	 * @throws IllegalArgumentException
+	 *             If {@code timeToLive} is negative
+	 */
+	public ResponseCache setDefaultTimeToLive(long timeToLive, TimeUnit unit) {
+		defaultTimeToLive = toNanos(timeToLive, unit);
+		return this;
+	}
+
+	/**
+	 * Sets the time to live of dtos returned by the given api method.
+	 * 
+	 * @param method
+	 *            Class of the api method
+	 * @param timeToLive
+	 *            Time to live, {@link #FOREVER}, or {@code 0} to not cache this api method
+	 * @param unit
+	 *            Unit of {@code timeToLive}
+	 * @return This ResponseCache object for chaining
+	 * @throws IllegalArgumentException
+	 *             If {@code timeToLive} is negative
+	 */
+	public ResponseCache setTimeToLive(Class<? extends ApiMethod> method, long timeToLive, TimeUnit unit) {
+		timesToLive.put(method, toNanos(timeToLive, unit));
+		return this;
+	}
+
+	/**
+	 * Returns the number of dtos currently in the cache, including expired dtos that have not been evicted yet.
+	 * 
+	 * @return Number of cached dtos
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static long toNanos(long timeToLive, TimeUnit unit) {
+		if (timeToLive < 0) {
+			throw new IllegalArgumentException("time to live must not be negative");
+		}
+		long nanos = unit.toNanos(timeToLive);
+		// Times to live this long can not be compared to System.nanoTime() without overflowing
+		return (nanos >= Long.MAX_VALUE / 2 ? FOREVER : nanos);
+	}
+}
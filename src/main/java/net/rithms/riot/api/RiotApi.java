@@ -132,7 +132,8 @@ import net.rithms.util.RiotApiUtil;
  * </p>
  * 
  * <p>
- * To fire asynchronous api calls, you need an instance of {@link RiotApiAsync}, which you can get by calling {@link #getAsyncApi()}.
+ * To fire asynchronous api calls, you need an instance of {@link RiotApiAsync}, which you can get by calling {@link #getAsyncApi()}. To
+ * receive the results of asynchronous api calls as {@code CompletableFuture}, construct a {@link RiotApiFuture} with this object instead.
  * </p>
  *
  * @version 4.2.0
@@ -140,6 +141,7 @@ import net.rithms.util.RiotApiUtil;
  * @author Daniel 'Linnun' Figge
  * @see ApiConfig
  * @see RiotApiAsync
+ * @see RiotApiFuture
  */
 public class RiotApi implements Cloneable {
 
@@ -553,6 +555,10 @@ public class RiotApi implements Cloneable {
 		return config;
 	}
 
+	EndpointManager getEndpointManager() {
+		return endpointManager;
+	}
+
 	/**
 	 * Retrieves a champion by {@code id}.
 	 * <p>
@@ -1682,6 +1688,53 @@ public class RiotApi implements Cloneable {
 		return endpointManager.callMethodAndReturnDto(method);
 	}
 
+	/**
+	 * Get an iterator over the full match history of given account ID and platform ID, most recent match first. The matchlist is requested
+	 * page by page in the background, and the next page is prefetched while the current one is being processed.
+	 *
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param accountId
+	 *            The account ID of the summoner.
+	 * @param champion
+	 *            Set of champion IDs for which to filtering matchlist.
+	 * @param queue
+	 *            Set of queue IDs for which to filtering matchlist.
+	 * @param season
+	 *            Set of season IDs for which to filtering matchlist.
+	 * @param beginTime
+	 *            The begin time to use for filtering matchlist specified as epoch milliseconds. Use {@code -1} to not use this parameter.
+	 * @param endTime
+	 *            The end time to use for filtering matchlist specified as epoch milliseconds. Use {@code -1} to not use this parameter.
+	 * @return An iterator over the matches
+	 * @throws NullPointerException
+	 *             If {@code platform} is {@code null}
+	 * @version 4
+	 * @see MatchHistoryIterator
+	 */
+	public MatchHistoryIterator getMatchHistory(Platform platform, String accountId, Set<Integer> champion, Set<Integer> queue, Set<Integer> season,
+			long beginTime, long endTime) {
+		return new MatchHistoryIterator(this, platform, accountId, champion, queue, season, beginTime, endTime);
+	}
+
+	/**
+	 * Get an iterator over the full match history of given account ID and platform ID, most recent match first. The matchlist is requested
+	 * page by page in the background, and the next page is prefetched while the current one is being processed.
+	 *
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param accountId
+	 *            The account ID of the summoner.
+	 * @return An iterator over the matches
+	 * @throws NullPointerException
+	 *             If {@code platform} is {@code null}
+	 * @version 4
+	 * @see MatchHistoryIterator
+	 */
+	public MatchHistoryIterator getMatchHistory(Platform platform, String accountId) {
+		return getMatchHistory(platform, accountId, null, null, null, -1, -1);
+	}
+
 	/**
 	 * Retrieve match IDs by {@code tournamentCode}.
 	 *
@@ -18,6 +18,7 @@ package net.rithms.riot.api;
 
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import net.rithms.riot.api.endpoints.champion.dto.ChampionInfo;
 import net.rithms.riot.api.endpoints.champion.methods.GetChampionRotations;
@@ -381,7 +382,7 @@ public class RiotApiAsync {
 	 */
 	public AsyncRequest getAllLeaguePositions(Platform platform, LeagueQueue positionalQueue, String tier, String division, String position, int page) {
 		Objects.requireNonNull(positionalQueue);
-		return getAllLeaguePositions(platform, positionalQueue, tier, division, position, page);
+		return getAllLeaguePositions(platform, positionalQueue.toString(), tier, division, position, page);
 	}
 
 	/**
@@ -1331,6 +1332,34 @@ public class RiotApiAsync {
 		return endpointManager.callMethodAsynchronously(method);
 	}
 
+	/**
+	 * Returns the number of threads currently in the executor that runs asynchronous requests, or {@code -1} if the executor is not a
+	 * {@link ThreadPoolExecutor}.
+	 *
+	 * @return Number of threads in the executor
+	 * @see ApiConfig#setExecutor(java.util.concurrent.ExecutorService)
+	 */
+	public int getExecutorPoolSize() {
+		if (!(getConfig().getExecutor() instanceof ThreadPoolExecutor)) {
+			return -1;
+		}
+		return ((ThreadPoolExecutor) getConfig().getExecutor()).getPoolSize();
+	}
+
+	/**
+	 * Returns the number of requests waiting for a thread of the executor that runs asynchronous requests, or {@code -1} if the executor
+	 * is not a {@link ThreadPoolExecutor}.
+	 *
+	 * @return Number of requests waiting in the executor's queue
+	 * @see ApiConfig#setExecutor(java.util.concurrent.ExecutorService)
+	 */
+	public int getExecutorQueueSize() {
+		if (!(getConfig().getExecutor() instanceof ThreadPoolExecutor)) {
+			return -1;
+		}
+		return ((ThreadPoolExecutor) getConfig().getExecutor()).getQueue().size();
+	}
+
 	/**
 	 * Get list of featured games.
 	 * 
@@ -1627,6 +1656,16 @@ public class RiotApiAsync {
 		return getMatchListByAccountId(platform, accountId, null, null, null);
 	}
 
+	/**
+	 * Returns the number of asynchronous requests that are waiting for a rate limit to be lifted.
+	 *
+	 * @return Number of asynchronous requests waiting for a rate limit to be lifted
+	 * @see ApiConfig#setScheduleRateLimitedRequests(boolean)
+	 */
+	public int getParkedSize() {
+		return endpointManager.getParkedSize();
+	}
+
 	/**
 	 * Returns the number of elements in the asynchronous request pool.
 	 *
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import net.rithms.riot.api.request.RequestMethod;
+
+/**
+ * The result of a request, that is shared by all identical calls made while the request is in flight.
+ * 
+ * @see ApiConfig#setCoalesceRequests(boolean)
+ */
+class SharedRequest {
+
+	/**
+	 * Receives the result of a {@code SharedRequest}.
+	 */
+	interface Listener {
+
+		/**
+		 * Invoked when the shared request completes.
+		 * 
+		 * @param dto
+		 *            The dto returned by the request, or {@code null} if the request failed
+		 * @param failure
+		 *            The exception the request failed with, or {@code null} if the request succeeded
+		 */
+		void onComplete(Object dto, Throwable failure);
+	}
+
+	private final CountDownLatch done = new CountDownLatch(1);
+	private final List<Listener> listeners = new ArrayList<Listener>();
+	private boolean completed = false;
+	private Object dto = null;
+	private Throwable failure = null;
+
+	/**
+	 * Returns the key identifying calls of the given api method, that can share a single request. Only {@code GET} requests can be shared,
+	 * since they do not change any state.
+	 * 
+	 * @param method
+	 *            Api method to be called
+	 * @return The key identifying identical calls, or {@code null} if calls of this method must not be shared
+	 */
+	static String getKey(ApiMethod method) {
+		if (method.getHttpMethod() != RequestMethod.GET || method.getReturnType() == null) {
+			return null;
+		}
+		String key = method.getUrl() + ' ' + method.getHttpHeadParameters() + ' ' + method.getReturnType();
+		// Callers of the same url may expect a 404 response to fail or to yield null
+		return (method.doesReturnNullOnNotFound() ? key + " ?" : key);
+	}
+
+	/**
+	 * Adds a listener, that is invoked once this request completes. If this request has already completed, the listener is invoked right
+	 * away.
+	 * 
+	 * @param listener
+	 *            Listener to add
+	 */
+	void addListener(Listener listener) {
+		synchronized (listeners) {
+			if (!completed) {
+				listeners.add(listener);
+				return;
+			}
+		}
+		listener.onComplete(dto, failure);
+	}
+
+	/**
+	 * Waits for this request to complete and returns its dto.
+	 * 
+	 * @return The dto returned by the request
+	 * @throws RiotApiException
+	 *             If the request failed, or if the current thread is interrupted while waiting
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T await() throws RiotApiException {
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RiotApiException(RiotApiException.IOEXCEPTION);
+		}
+		if (failure instanceof RiotApiException) {
+			throw (RiotApiException) failure;
+		} else if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		return (T) dto;
+	}
+
+	/**
+	 * Completes this request and notifies all waiting callers.
+	 * 
+	 * @param dto
+	 *            The dto returned by the request, or {@code null} if the request failed
+	 * @param failure
+	 *            The exception the request failed with, or {@code null} if the request succeeded
+	 */
+	void complete(Object dto, Throwable failure) {
+		List<Listener> completedListeners;
+		synchronized (listeners) {
+			if (completed) {
+				return;
+			}
+			this.dto = dto;
+			this.failure = failure;
+			completed = true;
+			completedListeners = new ArrayList<Listener>(listeners);
+			listeners.clear();
+		}
+		done.countDown();
+		for (Listener listener : completedListeners) {
+			listener.onComplete(dto, failure);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+/**
+ * Wraps a {@link RiotApiException} with an unchecked exception. It is thrown by iterators over the Riot Api's results, since
+ * {@link java.util.Iterator} can not throw checked exceptions.
+ */
+public class UncheckedRiotApiException extends RuntimeException {
+
+	private static final long serialVersionUID = -3466208851412342580L;
+
+	/**
+	 * Constructs an {@code UncheckedRiotApiException} wrapping the given {@code RiotApiException}.
+	 * 
+	 * @param cause
+	 *            The {@code RiotApiException} to wrap
+	 * @throws NullPointerException
+	 *             If {@code cause} is {@code null}
+	 */
+	public UncheckedRiotApiException(RiotApiException cause) {
+		super(cause.getMessage(), cause);
+	}
+
+	/**
+	 * Returns the wrapped {@code RiotApiException}.
+	 * 
+	 * @return The wrapped {@code RiotApiException}
+	 */
+	@Override
+	public RiotApiException getCause() {
+		return (RiotApiException) super.getCause();
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Provides the executor that runs each task on a virtual thread.
+ * 
+ * <p>
+ * This is the implementation for builds without Java 21 support, which always fails. When the library is built as multi-release jar
+ * with {@code -Djdk21.home}, the implementation in {@code src/main/java21} is used on Java 21 or higher instead.
+ * </p>
+ */
+final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	static ExecutorService getExecutor() {
+		if (getFeatureVersion() >= 21) {
+			throw new UnsupportedOperationException("Virtual threads are not available, because this jar was built without Java 21 support. "
+					+ "Build it with -Djdk21.home to use them");
+		}
+		throw new UnsupportedOperationException("Virtual threads require Java 21 or higher");
+	}
+
+	/**
+	 * Returns the feature version of the runtime, e.g. {@code 8} for Java 1.8 and {@code 21} for Java 21.
+	 */
+	private static int getFeatureVersion() {
+		String version = System.getProperty("java.specification.version", "");
+		if (version.startsWith("1.")) {
+			version = version.substring(2);
+		}
+		try {
+			return Integer.parseInt(version);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+}
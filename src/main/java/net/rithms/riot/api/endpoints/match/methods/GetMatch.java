@@ -24,8 +24,13 @@ import net.rithms.riot.constant.Platform;
 
 public class GetMatch extends MatchApiMethod {
 
+	private final long matchId;
+	private final String forAccountId;
+
 	public GetMatch(ApiConfig config, Platform platform, long matchId, String forAccountId) {
 		super(config);
+		this.matchId = matchId;
+		this.forAccountId = forAccountId;
 		setPlatform(platform);
 		setReturnType(Match.class);
 		setUrlBase(platform.getHost() + "/lol/match/v4/matches/" + matchId);
@@ -34,4 +39,12 @@ public class GetMatch extends MatchApiMethod {
 		}
 		addApiKeyParameter();
 	}
+
+	public String getForAccountId() {
+		return forAccountId;
+	}
+
+	public long getMatchId() {
+		return matchId;
+	}
 }
\ No newline at end of file
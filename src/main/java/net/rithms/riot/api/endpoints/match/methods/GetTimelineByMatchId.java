@@ -23,11 +23,18 @@ import net.rithms.riot.constant.Platform;
 
 public class GetTimelineByMatchId extends MatchApiMethod {
 
+	private final long matchId;
+
 	public GetTimelineByMatchId(ApiConfig config, Platform platform, long matchId) {
 		super(config);
+		this.matchId = matchId;
 		setPlatform(platform);
 		setReturnType(MatchTimeline.class);
 		setUrlBase(platform.getHost() + "/lol/match/v4/timelines/by-match/" + matchId);
 		addApiKeyParameter();
 	}
+
+	public long getMatchId() {
+		return matchId;
+	}
 }
\ No newline at end of file
@@ -24,10 +24,17 @@ import net.rithms.riot.constant.Platform;
 public class GetActiveGameBySummoner extends SpectatorApiMethod {
 
 	public GetActiveGameBySummoner(ApiConfig config, Platform platform, String summonerId) {
+		this(config, platform, summonerId, false);
+	}
+
+	public GetActiveGameBySummoner(ApiConfig config, Platform platform, String summonerId, boolean notInGameAsNull) {
 		super(config);
 		setPlatform(platform);
 		setReturnType(CurrentGameInfo.class);
 		setUrlBase(platform.getHost() + "/lol/spectator/v4/active-games/by-summoner/" + summonerId);
 		addApiKeyParameter();
+		if (notInGameAsNull) {
+			returnNullOnNotFound();
+		}
 	}
 }
\ No newline at end of file
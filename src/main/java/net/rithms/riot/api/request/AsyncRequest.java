@@ -16,11 +16,14 @@
 
 package net.rithms.riot.api.request;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 import net.rithms.riot.api.ApiConfig;
@@ -28,6 +31,10 @@ import net.rithms.riot.api.ApiMethod;
 import net.rithms.riot.api.RiotApi;
 import net.rithms.riot.api.RiotApiAsync;
 import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.request.ratelimit.RespectedRateLimitException;
+import net.rithms.riot.api.request.transport.AsyncHttpTransport;
+import net.rithms.riot.api.request.transport.HttpTransportCallback;
+import net.rithms.riot.api.request.transport.HttpTransportResponse;
 
 /**
  * This class is used to fire asynchronous call at the Riot Api. You should not construct these requests manually. To fire asynchronous
@@ -38,11 +45,33 @@ import net.rithms.riot.api.RiotApiException;
  */
 public class AsyncRequest extends Request implements Runnable {
 
+	/**
+	 * The callback interface for asynchronous requests that the {@link net.rithms.riot.api.request.ratelimit.RateLimitHandler} decides not
+	 * to fire.
+	 * 
+	 * @see AsyncRequest#setRateLimitCallback(RateLimitCallback)
+	 */
+	public interface RateLimitCallback {
+
+		/**
+		 * Invoked when the {@code RateLimitHandler} decides not to fire a request. The request has been reset and can be executed again once
+		 * the rate limit is lifted.
+		 * 
+		 * @param request
+		 *            The request that has not been fired
+		 * @param retryAfterMillis
+		 *            The time in milliseconds until the rate limit is expected to be lifted
+		 */
+		public void onRateLimited(AsyncRequest request, long retryAfterMillis);
+	}
+
 	protected final Object signal = new Object();
 
 	private Collection<RequestListener> listeners = new CopyOnWriteArrayList<RequestListener>();
-	private Thread executionThread = null;
-	private boolean sent = false;
+	private volatile boolean sent = false;
+	private volatile Runnable doneCallback = null;
+	private volatile RateLimitCallback rateLimitCallback = null;
+	private final AtomicBoolean doneCallbackRun = new AtomicBoolean(false);
 
 	/**
 	 * Constructs an asynchronous request
@@ -85,8 +114,8 @@ public class AsyncRequest extends Request implements Runnable {
 	 *             If the method is interrupted by calling {@link Thread#interrupt()}. The interrupt flag will be cleared
 	 */
 	public void await() throws InterruptedException {
-		while (!isDone()) {
-			synchronized (signal) {
+		synchronized (signal) {
+			while (!isDone()) {
 				signal.wait();
 			}
 		}
@@ -140,9 +169,10 @@ public class AsyncRequest extends Request implements Runnable {
 	 */
 	public void await(long timeout, TimeUnit unit, boolean cancelOnTimeout) throws InterruptedException, TimeoutException {
 		final long end = System.currentTimeMillis() + unit.toMillis(timeout);
-		while (!isDone() && System.currentTimeMillis() < end) {
-			synchronized (signal) {
-				signal.wait(end - System.currentTimeMillis());
+		synchronized (signal) {
+			long remaining;
+			while (!isDone() && (remaining = end - System.currentTimeMillis()) > 0) {
+				signal.wait(remaining);
 			}
 		}
 		if (!isDone()) {
@@ -153,6 +183,12 @@ public class AsyncRequest extends Request implements Runnable {
 		}
 	}
 
+	@Override
+	protected boolean awaitRateLimit(RespectedRateLimitException e) {
+		// Asynchronous requests never block a thread to wait for rate limits, but are rescheduled via the rate limit callback instead
+		return false;
+	}
+
 	@Override
 	public boolean cancel() {
 		synchronized (signal) {
@@ -162,23 +198,63 @@ public class AsyncRequest extends Request implements Runnable {
 			}
 			signal.notifyAll();
 			// Try to force-quit the connection
-			if (connection != null) {
-				setTimeout(1);
-				connection.disconnect();
+			if (transportRequest != null) {
+				transportRequest.abort();
 			}
 		}
+		runDoneCallback();
 		return true;
 	}
 
 	@Override
 	public synchronized void execute() {
-		if (isSent()) {
+		if (isSent() || isDone()) {
 			return;
 		}
 		sent = true;
-		executionThread = new Thread(this);
-		executionThread.setName("AsyncRequest - " + object);
-		executionThread.start();
+		if (config.getHttpTransport() instanceof AsyncHttpTransport) {
+			executeAsynchronously((AsyncHttpTransport) config.getHttpTransport());
+			return;
+		}
+		try {
+			config.getExecutor().execute(this);
+		} catch (RejectedExecutionException e) {
+			handleException(new IOException("The executor rejected the request", e));
+		}
+	}
+
+	/**
+	 * Executes the request using the non-blocking api of the given transport, so that no thread is occupied while waiting for the response.
+	 * 
+	 * @param transport
+	 *            Transport to send the request with
+	 */
+	private void executeAsynchronously(AsyncHttpTransport transport) {
+		try {
+			prepareTransportRequest();
+		} catch (RiotApiException | NullPointerException e) {
+			handleException(e);
+			return;
+		}
+		if (isCancelled()) {
+			// The request has been cancelled before cancel() could see the transport request, so it must not be sent
+			return;
+		}
+		transport.executeAsync(transportRequest, new HttpTransportCallback() {
+			@Override
+			public void onFailure(IOException e) {
+				handleException(e);
+			}
+
+			@Override
+			public void onResponse(HttpTransportResponse response) {
+				try {
+					handleResponse(response);
+				} catch (RiotApiException | IOException | NullPointerException e) {
+					handleException(e);
+				}
+			}
+		});
 	}
 
 	/**
@@ -216,6 +292,19 @@ public class AsyncRequest extends Request implements Runnable {
 		return super.getDto(true);
 	}
 
+	@Override
+	protected RiotApiException handleException(Exception e) {
+		RateLimitCallback callback = rateLimitCallback;
+		if (e instanceof RespectedRateLimitException && callback != null && !isDone()) {
+			// The request has not been fired, so it is reset to be executed again once the rate limit is lifted
+			sent = false;
+			RiotApi.log.fine("[" + object + "] AsyncRequest > Rescheduled due to rate limit");
+			callback.onRateLimited(this, ((RespectedRateLimitException) e).getRetryAfterMillis());
+			return (RiotApiException) e;
+		}
+		return super.handleException(e);
+	}
+
 	/**
 	 * Returns {@code true} if this request has started execution
 	 * 
@@ -265,30 +354,77 @@ public class AsyncRequest extends Request implements Runnable {
 
 	@Override
 	public void run() {
+		if (isDone()) {
+			// The request has been cancelled while waiting for a thread of the executor
+			return;
+		}
 		try {
 			super.execute();
 		} catch (RiotApiException e) {
-			setException(e);
+			// The exception has already been handled by handleException
 		}
 	}
 
+	private void runDoneCallback() {
+		Runnable callback = doneCallback;
+		if (callback != null && doneCallbackRun.compareAndSet(false, true)) {
+			callback.run();
+		}
+	}
+
+	/**
+	 * Sets a callback that is run once this request is done, regardless of whether it succeeded, failed, timed out or has been cancelled.
+	 * The callback is run after all {@link RequestListener}s have been notified.
+	 * 
+	 * <p>
+	 * This is used internally to dispatch queued requests as soon as a running request finishes. To get informed about the result of a
+	 * request, use a {@link RequestListener} instead.
+	 * </p>
+	 * 
+	 * @param doneCallback
+	 *            Callback to run once this request is done
+	 */
+	public void setDoneCallback(Runnable doneCallback) {
+		this.doneCallback = doneCallback;
+		if (isDone()) {
+			runDoneCallback();
+		}
+	}
+
+	/**
+	 * Sets a callback that is run instead of failing this request, if the {@link net.rithms.riot.api.request.ratelimit.RateLimitHandler}
+	 * decides not to fire it. This is used internally to schedule rate limited requests.
+	 * 
+	 * @param rateLimitCallback
+	 *            Callback to run if this request is rate limited, or {@code null} to let rate limited requests fail
+	 * @see ApiConfig#setScheduleRateLimitedRequests(boolean)
+	 */
+	public void setRateLimitCallback(RateLimitCallback rateLimitCallback) {
+		this.rateLimitCallback = rateLimitCallback;
+	}
+
 	@Override
 	protected boolean setState(RequestState state) {
 		if (isDone()) {
 			return false;
 		}
-		notifyListeners(state);
-		super.setState(state);
-		if (isDone()) {
-			synchronized (signal) {
-				signal.notifyAll();
+		try {
+			notifyListeners(state);
+		} finally {
+			// A listener throwing must not keep the request from completing, or it would occupy its slot in the pool forever
+			super.setState(state);
+			if (isDone()) {
+				synchronized (signal) {
+					signal.notifyAll();
+				}
+				runDoneCallback();
 			}
 		}
 		return true;
 	}
 
 	@Override
-	protected void setTimeout() {
-		setTimeout(config.getAsyncRequestTimeout());
+	protected int getTimeout() {
+		return config.getAsyncRequestTimeout();
 	}
 }
\ No newline at end of file
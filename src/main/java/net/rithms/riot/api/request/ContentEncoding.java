@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiates and decodes compressed response bodies. Bodies are decompressed while they are read, so the decoded body is never held in
+ * memory as a whole.
+ */
+final class ContentEncoding {
+
+	/**
+	 * Value of the {@code Accept-Encoding} header sent when compression is enabled
+	 */
+	static final String ACCEPT_ENCODING = "gzip, deflate";
+
+	/**
+	 * Keeps the transport's stream open when the decoding stream is closed, so that the transport can still drain the stream and reuse the
+	 * connection.
+	 */
+	private static class UnclosableInputStream extends FilterInputStream {
+
+		private UnclosableInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	private ContentEncoding() {
+	}
+
+	/**
+	 * Returns a stream, that decodes the given body according to its {@code Content-Encoding}. The returned stream has to be closed to
+	 * release the native resources of the decompressor, which does not close the given stream.
+	 * 
+	 * @param is
+	 *            Body of the response
+	 * @param contentEncoding
+	 *            Value of the {@code Content-Encoding} header field, or {@code null} if the body is not encoded
+	 * @return A stream providing the decoded body
+	 * @throws IOException
+	 *             If the body is not encoded correctly, or if the encoding is not supported
+	 */
+	static InputStream decode(InputStream is, String contentEncoding) throws IOException {
+		if (is == null || contentEncoding == null) {
+			return is;
+		}
+		String encoding = contentEncoding.trim();
+		if (encoding.isEmpty() || encoding.equalsIgnoreCase("identity")) {
+			return is;
+		}
+		if (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip")) {
+			return new GZIPInputStream(new UnclosableInputStream(is), 8192);
+		}
+		if (encoding.equalsIgnoreCase("deflate")) {
+			// Deflate should be wrapped in zlib format, but some servers send raw deflate data, so the zlib header is checked first
+			BufferedInputStream buffered = new BufferedInputStream(new UnclosableInputStream(is), 8192);
+			buffered.mark(2);
+			int cmf = buffered.read();
+			int flg = buffered.read();
+			buffered.reset();
+			boolean zlib = (cmf != -1 && flg != -1 && (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0);
+			return new InflaterInputStream(buffered, new Inflater(!zlib), 8192) {
+				@Override
+				public void close() throws IOException {
+					super.close();
+					inf.end();
+				}
+			};
+		}
+		throw new IOException("Unsupported content encoding: " + contentEncoding);
+	}
+}
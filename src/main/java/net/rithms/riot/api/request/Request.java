@@ -16,21 +16,26 @@
 
 package net.rithms.riot.api.request;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Type;
-import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.MalformedJsonException;
 
 import net.rithms.riot.api.ApiConfig;
 import net.rithms.riot.api.ApiMethod;
@@ -38,7 +43,10 @@ import net.rithms.riot.api.HttpHeadParameter;
 import net.rithms.riot.api.RiotApi;
 import net.rithms.riot.api.RiotApiException;
 import net.rithms.riot.api.request.ratelimit.RateLimitException;
+import net.rithms.riot.api.request.ratelimit.RateLimitHandler;
 import net.rithms.riot.api.request.ratelimit.RespectedRateLimitException;
+import net.rithms.riot.api.request.transport.HttpTransportRequest;
+import net.rithms.riot.api.request.transport.HttpTransportResponse;
 
 /**
  * This class is used to fire synchronous call at the Riot Api. You should not construct these requests manually. To fire synchronous
@@ -63,6 +71,8 @@ public class Request {
 	public static final int CODE_ERROR_SERVICE_UNAVAILABLE = 503;
 	public static final int CODE_ERROR_GATEWAY_TIMEOUT = 504;
 
+	private static final int READ_BUFFER_SIZE = 8192;
+
 	protected enum RequestState {
 		Waiting,
 		Cancelled,
@@ -71,13 +81,52 @@ public class Request {
 		Timeout
 	}
 
+	/**
+	 * Counts the bytes read from the decoded body, so that the size of the body is known even if it is not kept.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+
+		private long count = 0;
+
+		private CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+
 	private volatile RequestState state = RequestState.Waiting;
 	private RequestResponse response = null;
+	private Object dto = null;
 
 	protected ApiConfig config;
 	protected ApiMethod object;
-	protected HttpURLConnection connection = null;
+	protected volatile HttpTransportRequest transportRequest = null;
 	private volatile RiotApiException exception = null;
+	private final Lock executeLock = new ReentrantLock();
 
 	/**
 	 * Constructs a synchronous request
@@ -100,6 +149,29 @@ public class Request {
 	protected Request() {
 	}
 
+	/**
+	 * Waits until the rate limit that prevented this request from being fired is expected to be lifted, if synchronous requests are
+	 * configured to wait for rate limits.
+	 * 
+	 * @param e
+	 *            The exception thrown by the {@link RateLimitHandler}
+	 * @return {@code true} if the request should be retried, {@code false} if it should fail
+	 * @see ApiConfig#setWaitForRateLimits(boolean)
+	 */
+	protected boolean awaitRateLimit(RespectedRateLimitException e) {
+		if (!config.getWaitForRateLimits()) {
+			return false;
+		}
+		RiotApi.log.fine("[" + object + "] Request > Waiting " + e.getRetryAfterMillis() + "ms for the rate limit to be lifted");
+		try {
+			Thread.sleep(Math.max(1, e.getRetryAfterMillis()));
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Attempts to cancel the request. This attempt will fail if the request has already been completed, or could not be cancelled for some
 	 * other reason. If successful, and this request has not started when {@code cancel} is called, this request should never run.
@@ -123,120 +195,21 @@ public class Request {
 	 * @throws RateLimitException
 	 *             If a rate limit is exceeded
 	 */
-	protected synchronized void execute() throws RiotApiException, RateLimitException {
-		setState(RequestState.Waiting);
+	protected void execute() throws RiotApiException, RateLimitException {
+		// Use a lock instead of synchronized, so that virtual threads waiting for the response do not pin their carrier thread
+		executeLock.lock();
 		try {
-			object.checkRequirements();
-
-			// Notify RateLimitHandler
-			if (config.getRateLimitHandler() != null) {
-				config.getRateLimitHandler().onRequestAboutToFire(this);
-			}
-
-			URL url = new URL(object.getUrl());
-			connection = (HttpURLConnection) url.openConnection();
-			setTimeout();
-			connection.setDoInput(true);
-			connection.setInstanceFollowRedirects(false);
-			connection.setRequestMethod(getHttpMethod().name());
-			for (HttpHeadParameter p : object.getHttpHeadParameters()) {
-				connection.setRequestProperty(p.getKey(), p.getValue());
-			}
-			String body = object.getBody();
-			if (body != null) {
-				connection.setRequestProperty("Content-Type", "application/json");
-				connection.setDoOutput(true);
-				DataOutputStream dos = new DataOutputStream(connection.getOutputStream());
-				dos.writeBytes(body);
-				dos.flush();
-				dos.close();
-			}
-			int responseCode = connection.getResponseCode();
-
-			// Get body
-			InputStream is = null;
-			if (responseCode < 400) {
-				is = connection.getInputStream();
-			} else {
-				is = connection.getErrorStream();
-			}
-			StringBuilder responseBodyBuilder = new StringBuilder();
-			if (responseCode != CODE_SUCCESS_NO_CONTENT && is != null) {
-				BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
-				String line;
-				while ((line = br.readLine()) != null) {
-					responseBodyBuilder.append(line).append(System.lineSeparator());
-				}
-				br.close();
-			}
-
-			// Handle error (except rate limit)
-			if (responseCode >= 300 && responseCode != CODE_ERROR_RATE_LIMITED) {
-				RiotApiError errorDto = null;
-				try {
-					errorDto = new Gson().fromJson(responseBodyBuilder.toString(), RiotApiError.class);
-				} catch (JsonSyntaxException e) {
-					RiotApi.log.warning("[" + object + "] Request > JsonSyntaxException: " + e.getMessage());
-				}
-				throw new RiotApiException(responseCode, errorDto);
-			}
-			setResponse(new RequestResponse(connection.getResponseCode(), responseBodyBuilder.toString(), connection.getHeaderFields()));
-
-			// Notify RateLimitHandler
-			if (config.getRateLimitHandler() != null) {
-				config.getRateLimitHandler().onRequestDone(this);
-			}
-
-			// Handle rate limit error
-			if (responseCode == CODE_ERROR_RATE_LIMITED) {
-				String retryAfterString = connection.getHeaderField("Retry-After");
-				String rateLimitType = connection.getHeaderField("X-Rate-Limit-Type");
-				if (retryAfterString != null) {
-					int retryAfter = Integer.parseInt(retryAfterString);
-					throw new RateLimitException(retryAfter, rateLimitType);
-				} else {
-					throw new RateLimitException(0, rateLimitType);
-				}
+			setState(RequestState.Waiting);
+			prepareTransportRequest();
+			if (isCancelled()) {
+				// The request has been cancelled before cancel() could see the transport request, so it must not be sent
+				return;
 			}
-
-			setState(RequestState.Succeeded);
-		} catch (RespectedRateLimitException e) {
-			setException(e);
-			setState(RequestState.Failed);
-			RiotApi.log.fine("[" + object + "] Request > RespectedRateLimitException: " + e.getMessage());
-			throw e;
-		} catch (RateLimitException e) {
-			setException(e);
-			setState(RequestState.Failed);
-			RiotApi.log.fine("[" + object + "] Request > RateLimitException: " + e.getMessage());
-			throw e;
-		} catch (RiotApiException e) {
-			setException(e);
-			setState(RequestState.Failed);
-			RiotApi.log.fine("[" + object + "] Request > RiotApiException: " + e.getMessage());
-			throw e;
-		} catch (SocketTimeoutException e) {
-			RiotApiException exception = new RiotApiException(RiotApiException.TIMEOUT_EXCEPTION);
-			setException(exception);
-			setState(RequestState.Timeout);
-			RiotApi.log.fine("[" + object + "] Request > Timeout");
-			throw exception;
-		} catch (IOException e) {
-			RiotApiException exception = new RiotApiException(RiotApiException.IOEXCEPTION);
-			setException(exception);
-			setState(RequestState.Failed);
-			RiotApi.log.log(Level.SEVERE, "[" + object + "] Request > IOException", e);
-			throw exception;
-		} catch (NullPointerException e) {
-			RiotApiException exception = new RiotApiException(RiotApiException.NULLPOINTEREXCEPTION);
-			setException(exception);
-			setState(RequestState.Failed);
-			RiotApi.log.log(Level.SEVERE, "[" + object + "] Request > NullPointerException", e);
-			throw exception;
+			handleResponse(config.getHttpTransport().execute(transportRequest));
+		} catch (RiotApiException | IOException | NullPointerException e) {
+			throw handleException(e);
 		} finally {
-			if (connection != null) {
-				connection.disconnect();
-			}
+			executeLock.unlock();
 		}
 	}
 
@@ -273,6 +246,10 @@ public class Request {
 			// The Riot Api is fine with the request, and explicitly sends no content
 			return null;
 		}
+		if (response.getCode() == CODE_ERROR_NOT_FOUND) {
+			// Only reached if the method treats a missing resource as a regular result
+			return null;
+		}
 		Type type = object.getReturnType();
 		if (type == Void.class) {
 			// The method explicitly does not want to return a result
@@ -285,12 +262,8 @@ public class Request {
 					exception);
 			return null;
 		}
-		T dto = null;
-		try {
-			dto = new Gson().fromJson(response.getBody(), type);
-		} catch (JsonSyntaxException e) {
-			// Parse failures are detected and thrown below
-		}
+		@SuppressWarnings("unchecked")
+		T dto = (T) this.dto;
 		if (dto == null) {
 			RiotApiException exception = new RiotApiException(RiotApiException.PARSE_FAILURE);
 			setException(exception);
@@ -335,6 +308,133 @@ public class Request {
 		return response;
 	}
 
+	/**
+	 * Returns the timeout value, in milliseconds, until connecting to or reading from the Riot Api times out, according to the
+	 * {@link ApiConfig} object associated with this request.
+	 * 
+	 * @return Timeout value in milliseconds, or {@code 0} if the request should not time out
+	 */
+	protected int getTimeout() {
+		return config.getRequestTimeout();
+	}
+
+	/**
+	 * Sets the exception and state of this request according to an exception that occurred while executing it.
+	 * 
+	 * @param e
+	 *            The exception that occurred while executing this request
+	 * @return The exception to be thrown by this request
+	 */
+	protected RiotApiException handleException(Exception e) {
+		RiotApiException exception;
+		if (e instanceof RespectedRateLimitException) {
+			exception = (RiotApiException) e;
+			setException(exception);
+			setState(RequestState.Failed);
+			RiotApi.log.fine("[" + object + "] Request > RespectedRateLimitException: " + e.getMessage());
+		} else if (e instanceof RateLimitException) {
+			exception = (RiotApiException) e;
+			setException(exception);
+			setState(RequestState.Failed);
+			RiotApi.log.fine("[" + object + "] Request > RateLimitException: " + e.getMessage());
+		} else if (e instanceof RiotApiException) {
+			exception = (RiotApiException) e;
+			setException(exception);
+			setState(RequestState.Failed);
+			RiotApi.log.fine("[" + object + "] Request > RiotApiException: " + e.getMessage());
+		} else if (e instanceof SocketTimeoutException) {
+			exception = new RiotApiException(RiotApiException.TIMEOUT_EXCEPTION);
+			setException(exception);
+			setState(RequestState.Timeout);
+			RiotApi.log.fine("[" + object + "] Request > Timeout");
+		} else if (e instanceof IOException) {
+			exception = new RiotApiException(RiotApiException.IOEXCEPTION);
+			setException(exception);
+			setState(RequestState.Failed);
+			RiotApi.log.log(Level.SEVERE, "[" + object + "] Request > IOException", e);
+		} else {
+			exception = new RiotApiException(RiotApiException.NULLPOINTEREXCEPTION);
+			setException(exception);
+			setState(RequestState.Failed);
+			RiotApi.log.log(Level.SEVERE, "[" + object + "] Request > NullPointerException", e);
+		}
+		return exception;
+	}
+
+	/**
+	 * Reads the response received from the Riot Api, notifies the {@link RateLimitHandler} and sets the state of this request to
+	 * succeeded, if the Riot Api did not respond with an error code. The response is closed afterwards.
+	 * 
+	 * @param transportResponse
+	 *            The response received from the Riot Api
+	 * @throws RiotApiException
+	 *             If the Riot Api responds with an error code
+	 * @throws RateLimitException
+	 *             If a rate limit is exceeded
+	 * @throws IOException
+	 *             If reading the response fails
+	 */
+	protected void handleResponse(HttpTransportResponse transportResponse) throws RiotApiException, IOException {
+		InputStream rawBody = null;
+		InputStream is = null;
+		try {
+			int responseCode = transportResponse.getCode();
+			boolean nullResult = (responseCode == CODE_ERROR_NOT_FOUND && object.doesReturnNullOnNotFound());
+			if (responseCode != CODE_SUCCESS_NO_CONTENT && responseCode != CODE_ERROR_RATE_LIMITED && !nullResult) {
+				rawBody = transportResponse.getBody();
+				is = ContentEncoding.decode(rawBody, transportResponse.getHeaderField("Content-Encoding"));
+			}
+
+			// Handle error (except rate limit)
+			if (responseCode >= 300 && responseCode != CODE_ERROR_RATE_LIMITED && !nullResult) {
+				RiotApiError errorDto = null;
+				try {
+					errorDto = config.getGson().fromJson(readBody(is), RiotApiError.class);
+				} catch (JsonSyntaxException e) {
+					RiotApi.log.warning("[" + object + "] Request > JsonSyntaxException: " + e.getMessage());
+				}
+				throw new RiotApiException(responseCode, errorDto);
+			}
+
+			// Get body
+			String body = null;
+			long bodyLength = -1;
+			if (is != null) {
+				Type type = object.getReturnType();
+				CountingInputStream counted = new CountingInputStream(is);
+				if (config.getKeepResponseBody()) {
+					body = readBody(counted);
+					dto = parseDto(new StringReader(body), type);
+				} else {
+					dto = parseDto(new InputStreamReader(counted, StandardCharsets.UTF_8), type);
+				}
+				bodyLength = counted.count;
+			}
+			setResponse(new RequestResponse(responseCode, body, bodyLength, transportResponse.getHeaderFields()));
+
+			// Notify RateLimitHandler
+			if (config.getRateLimitHandler() != null) {
+				config.getRateLimitHandler().onRequestDone(this);
+			}
+
+			// Handle rate limit error
+			if (responseCode == CODE_ERROR_RATE_LIMITED) {
+				throw new RateLimitException(Math.max(0, response.getRetryAfter()), response.getRateLimitType());
+			}
+		} finally {
+			try {
+				if (is != null && is != rawBody) {
+					// Releases the decompressor, but leaves the transport's stream open
+					is.close();
+				}
+			} finally {
+				transportResponse.close();
+			}
+		}
+
+		setState(RequestState.Succeeded);
+	}
+
 	/**
 	 * Initializes the request object. Child classes should call this method instead of the super constructor, if they don't want the
 	 * request to execute automatically.
@@ -406,6 +506,87 @@ public class Request {
 		return state == RequestState.Timeout;
 	}
 
+	/**
+	 * Decodes the body of a successful response into the return type of the api method. Parse failures are not thrown here, but by
+	 * {@link #getDto()}, just like for responses that were decoded from a string.
+	 * 
+	 * @param reader
+	 *            Reader providing the response body
+	 * @param type
+	 *            Return type of the api method
+	 * @return The decoded dto, or {@code null} if nothing could be decoded
+	 * @throws IOException
+	 *             If reading the response body fails
+	 */
+	private Object parseDto(Reader reader, Type type) throws IOException {
+		if (type == null || type == Void.class) {
+			return null;
+		}
+		try {
+			return config.getGson().fromJson(reader, type);
+		} catch (JsonSyntaxException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException && !(cause instanceof EOFException) && !(cause instanceof MalformedJsonException)) {
+				// Gson wraps failures of the underlying stream, which are no parse failures
+				throw (IOException) cause;
+			}
+			return null;
+		} catch (JsonIOException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Checks the requirements of the api method, notifies the {@link RateLimitHandler} and creates the {@link HttpTransportRequest} to
+	 * send.
+	 * 
+	 * @throws RiotApiException
+	 *             If the api method's requirements are not met
+	 * @throws RateLimitException
+	 *             If the {@code RateLimitHandler} decides that the request should not be fired
+	 */
+	protected void prepareTransportRequest() throws RiotApiException {
+		object.checkRequirements();
+
+		// Notify RateLimitHandler
+		if (config.getRateLimitHandler() != null) {
+			while (true) {
+				try {
+					config.getRateLimitHandler().onRequestAboutToFire(this);
+					break;
+				} catch (RespectedRateLimitException e) {
+					if (!awaitRateLimit(e)) {
+						throw e;
+					}
+				}
+			}
+		}
+
+		List<HttpHeadParameter> headers = object.getHttpHeadParameters();
+		if (config.getCompressResponses()) {
+			headers = new ArrayList<HttpHeadParameter>(headers);
+			headers.add(new HttpHeadParameter("Accept-Encoding", ContentEncoding.ACCEPT_ENCODING));
+		}
+		transportRequest = new HttpTransportRequest(object.getUrl(), getHttpMethod(), headers, object.getBody(), getTimeout());
+	}
+
+	private static String readBody(InputStream is) throws IOException {
+		if (is == null) {
+			return "";
+		}
+		StringBuilder body = new StringBuilder();
+		Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+		char[] buffer = new char[READ_BUFFER_SIZE];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			body.append(buffer, 0, read);
+		}
+		return body.toString();
+	}
+
 	/**
 	 * Checks that the current state of this request is succeeded.
 	 * 
@@ -452,24 +633,4 @@ public class Request {
 		this.state = state;
 		return true;
 	}
-
-	/**
-	 * Sets the timeout according to the {@link ApiConfig} object, associated with this request.
-	 */
-	protected void setTimeout() {
-		setTimeout(config.getRequestTimeout());
-	}
-
-	/**
-	 * Sets a specified timeout value, in milliseconds, until connecting to or reading from the Riot Api times out.
-	 * 
-	 * @param timeout
-	 *            Timeout value in milliseconds
-	 */
-	protected void setTimeout(int timeout) {
-		if (connection != null && timeout > 0) {
-			connection.setConnectTimeout(timeout);
-			connection.setReadTimeout(timeout);
-		}
-	}
 }
\ No newline at end of file
@@ -28,22 +28,85 @@ public class RequestResponse {
 
 	private final int code;
 	private final String body;
+	private final long bodyLength;
 	private final Map<String, List<String>> headerFields;
+	private int retryAfter = -1;
+	private String rateLimitType = null;
+	private String appRateLimit = null;
+	private String appRateLimitCount = null;
+	private String methodRateLimit = null;
+	private String methodRateLimitCount = null;
 
 	/**
-	 * Constructs a RequestResponse
+	 * Constructs a RequestResponse. The rate limit header fields are extracted right away, while all other header fields are only looked up
+	 * on demand.
 	 * 
 	 * @param code
 	 *            HTTP response code
 	 * @param body
 	 *            Raw body of the HTTP response
+	 * @param bodyLength
+	 *            Number of bytes read from the decoded body, or {@code -1} if the body was not read
 	 * @param headerFields
 	 *            HTTP header fields
 	 */
-	RequestResponse(int code, String body, Map<String, List<String>> headerFields) {
+	RequestResponse(int code, String body, long bodyLength, Map<String, List<String>> headerFields) {
 		this.code = code;
 		this.body = body;
+		this.bodyLength = bodyLength;
 		this.headerFields = headerFields;
+		if (headerFields != null) {
+			extractRateLimitHeaderFields();
+		}
+	}
+
+	/**
+	 * Extracts the header fields needed by rate limit handlers in a single pass over all header fields. Header field names are compared
+	 * case-insensitively, since transports differ in how they normalize them.
+	 */
+	private void extractRateLimitHeaderFields() {
+		for (Map.Entry<String, List<String>> entry : headerFields.entrySet()) {
+			String name = entry.getKey();
+			if (name == null || entry.getValue() == null || entry.getValue().isEmpty()) {
+				continue;
+			}
+			String value = entry.getValue().get(entry.getValue().size() - 1);
+			if (name.equalsIgnoreCase("Retry-After")) {
+				try {
+					retryAfter = Integer.parseInt(value.trim());
+				} catch (NumberFormatException e) {
+					// Leave retryAfter unset
+				}
+			} else if (name.equalsIgnoreCase("X-Rate-Limit-Type")) {
+				rateLimitType = value;
+			} else if (name.equalsIgnoreCase("X-App-Rate-Limit")) {
+				appRateLimit = value;
+			} else if (name.equalsIgnoreCase("X-App-Rate-Limit-Count")) {
+				appRateLimitCount = value;
+			} else if (name.equalsIgnoreCase("X-Method-Rate-Limit")) {
+				methodRateLimit = value;
+			} else if (name.equalsIgnoreCase("X-Method-Rate-Limit-Count")) {
+				methodRateLimitCount = value;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of the {@code X-App-Rate-Limit} header field, e.g. {@code 20:1,100:120}.
+	 * 
+	 * @return The application rate limits, or {@code null} if the header field is missing
+	 */
+	public String getAppRateLimit() {
+		return appRateLimit;
+	}
+
+	/**
+	 * Returns the value of the {@code X-App-Rate-Limit-Count} header field, e.g. {@code 1:1,1:120}.
+	 * 
+	 * @return The application rate limit counts, or {@code null} if the header field is missing
+	 */
+	public String getAppRateLimitCount() {
+		return appRateLimitCount;
 	}
 
 	/**
@@ -57,13 +120,28 @@ public class RequestResponse {
 
 	/**
 	 * Returns the raw HTTP body from the Riot Api.
+	 * 
+	 * <p>
+	 * Successful responses are decoded directly from the connection's stream, so their body is only available if
+	 * {@link net.rithms.riot.api.ApiConfig#setKeepResponseBody(boolean)} is enabled.
+	 * </p>
 	 *
-	 * @return HTTP body
+	 * @return HTTP body, or {@code null} if the body was not kept
 	 */
 	public String getBody() {
 		return body;
 	}
 
+	/**
+	 * Returns the length of the HTTP body from the Riot Api, after it has been decompressed. Unlike {@link #getBody()}, the length is also
+	 * known if the body was not kept.
+	 * 
+	 * @return Number of bytes read from the body, or {@code -1} if the body was not read
+	 */
+	public long getBodyLength() {
+		return bodyLength;
+	}
+
 	/**
 	 * Returns the HTTP header fields from the Riot Api.
 	 * 
@@ -85,9 +163,46 @@ public class RequestResponse {
 	 * @return the value of the named header field, or {@code null} if there is no such field in the header.
 	 */
 	public String getHeaderField(String name) {
-		if (!headerFields.containsKey(name) || headerFields.get(name).isEmpty()) {
+		List<String> values = headerFields.get(name);
+		if (values == null || values.isEmpty()) {
 			return null;
 		}
-		return headerFields.get(name).get(headerFields.get(name).size() - 1);
+		return values.get(values.size() - 1);
+	}
+
+	/**
+	 * Returns the value of the {@code X-Method-Rate-Limit} header field, e.g. {@code 500:10}.
+	 * 
+	 * @return The method rate limits, or {@code null} if the header field is missing
+	 */
+	public String getMethodRateLimit() {
+		return methodRateLimit;
+	}
+
+	/**
+	 * Returns the value of the {@code X-Method-Rate-Limit-Count} header field, e.g. {@code 1:10}.
+	 * 
+	 * @return The method rate limit counts, or {@code null} if the header field is missing
+	 */
+	public String getMethodRateLimitCount() {
+		return methodRateLimitCount;
+	}
+
+	/**
+	 * Returns the value of the {@code X-Rate-Limit-Type} header field, which is sent along with {@code 429} responses.
+	 * 
+	 * @return The type of the exceeded rate limit, or {@code null} if the header field is missing
+	 */
+	public String getRateLimitType() {
+		return rateLimitType;
+	}
+
+	/**
+	 * Returns the value of the {@code Retry-After} header field, which is sent along with {@code 429} responses.
+	 * 
+	 * @return Time in seconds until the exceeded rate limit is lifted, or {@code -1} if the header field is missing
+	 */
+	public int getRetryAfter() {
+		return retryAfter;
 	}
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 
 package net.rithms.riot.api.request.ratelimit;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +79,20 @@ public class BufferedRateLimitHandler extends DefaultRateLimitHandler {
 		return map;
 	}
 
+	/**
+	 * Parses the value of a header field of rate limits or rate limit counts, e.g. {@code 20:1,100:120}.
+	 * 
+	 * @param headerField
+	 *            value of the header field to parse, or {@code null} if it is missing
+	 * @return A map, mapping interval to rate limit / rate limit count
+	 */
+	protected Map<Integer, Integer> getIntervalCountMapFromHeaderField(String headerField) {
+		if (headerField == null) {
+			return getIntervalCountMapFromHeaderField((List<String>) null);
+		}
+		return getIntervalCountMapFromHeaderField(Arrays.asList(headerField.replace(" ", "").split(",")));
+	}
+
 	@Override
 	public void onRequestDone(Request request) {
 		super.onRequestDone(request);
@@ -85,10 +100,10 @@ public class BufferedRateLimitHandler extends DefaultRateLimitHandler {
 		ApiMethod object = request.getObject();
 
 		// interval -> count
-		Map<Integer, Integer> appCounts = getIntervalCountMapFromHeaderField(response.getHeaderFields().get("X-App-Rate-Limit-Count"));
-		Map<Integer, Integer> appLimits = getIntervalCountMapFromHeaderField(response.getHeaderFields().get("X-App-Rate-Limit"));
-		Map<Integer, Integer> methodCounts = getIntervalCountMapFromHeaderField(response.getHeaderFields().get("X-Method-Rate-Limit-Count"));
-		Map<Integer, Integer> methodLimits = getIntervalCountMapFromHeaderField(response.getHeaderFields().get("X-Method-Rate-Limit"));
+		Map<Integer, Integer> appCounts = getIntervalCountMapFromHeaderField(response.getAppRateLimitCount());
+		Map<Integer, Integer> appLimits = getIntervalCountMapFromHeaderField(response.getAppRateLimit());
+		Map<Integer, Integer> methodCounts = getIntervalCountMapFromHeaderField(response.getMethodRateLimitCount());
+		Map<Integer, Integer> methodLimits = getIntervalCountMapFromHeaderField(response.getMethodRateLimit());
 
 		// Check app limits
 		for (Map.Entry<Integer, Integer> entry : appCounts.entrySet()) {
@@ -16,8 +16,12 @@
 
 package net.rithms.riot.api.request.ratelimit;
 
-import java.util.Map;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.rithms.riot.api.ApiMethod;
 import net.rithms.riot.api.request.Request;
@@ -57,17 +61,30 @@ public class DefaultRateLimitHandler implements RateLimitHandler {
 		private final String rateLimitType;
 		private final int retryAfter;
 		private final long retryTime;
+		private final long retryNanoTime;
 
 		public RateLimit(String rateLimitType, int retryAfter) {
 			this.rateLimitType = rateLimitType;
 			this.retryAfter = retryAfter;
 			this.retryTime = System.currentTimeMillis() + (retryAfter * 1000);
+			this.retryNanoTime = System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfter);
 		}
 
 		public int getRetryAfter() {
 			return retryAfter;
 		}
 
+		/**
+		 * Returns the time in milliseconds until this rate limit is lifted.
+		 * 
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 * @return Time in milliseconds until this rate limit is lifted
+		 */
+		public long getRetryAfterMillis(long nanoTime) {
+			return TimeUnit.NANOSECONDS.toMillis(retryNanoTime - nanoTime);
+		}
+
 		public long getRetryTime() {
 			return retryTime;
 		}
@@ -77,40 +94,72 @@ public class DefaultRateLimitHandler implements RateLimitHandler {
 		}
 
 		public boolean isLimitExceeded() {
-			return (retryTime > System.currentTimeMillis());
+			return isLimitExceeded(System.nanoTime());
+		}
+
+		/**
+		 * Returns {@code true} if this rate limit is exceeded at the given time.
+		 * 
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 * @return {@code true} if this rate limit is exceeded
+		 */
+		public boolean isLimitExceeded(long nanoTime) {
+			return (retryNanoTime - nanoTime > 0);
 		}
 	}
 
 	public class RateLimitList {
 
-		private final Map<Platform, RateLimit> applicationLimits = new ConcurrentHashMap<Platform, RateLimit>();
-		private final Map<Platform, Map<String, RateLimit>> serviceLimits = new ConcurrentHashMap<Platform, Map<String, RateLimit>>();
-		private final Map<Platform, Map<String, RateLimit>> methodLimits = new ConcurrentHashMap<Platform, Map<String, RateLimit>>();
+		private final EnumMap<Platform, PlatformRateLimits> platformLimits = new EnumMap<Platform, PlatformRateLimits>(Platform.class);
+
+		public RateLimitList() {
+			// All platforms are added up front, so that the map is never modified afterwards and can be read without synchronization
+			for (Platform platform : Platform.values()) {
+				platformLimits.put(platform, new PlatformRateLimits());
+			}
+		}
 
 		public RateLimit getRateLimit(Platform platform, String service, String method) {
+			return getRateLimit(platform, getServiceIndex(service), getMethodIndex(method), System.nanoTime());
+		}
+
+		/**
+		 * Returns the rate limit that prevents the given api method from being called, if any.
+		 * 
+		 * @param object
+		 *            Api method to check
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 * @return The exceeded rate limit, or {@code null} if no rate limit is exceeded
+		 */
+		public RateLimit getRateLimit(ApiMethod object, long nanoTime) {
+			ClassIndices indices = CLASS_INDICES.get(object.getClass());
+			return getRateLimit(object.getPlatform(), indices.getServiceIndex(object.getService()), indices.methodIndex, nanoTime);
+		}
+
+		private RateLimit getRateLimit(Platform platform, int serviceIndex, int methodIndex, long nanoTime) {
+			PlatformRateLimits limits = (platform == null ? null : platformLimits.get(platform));
+			if (limits == null) {
+				return null;
+			}
+
 			// Check application limits
-			if (applicationLimits.containsKey(platform)) {
-				if (applicationLimits.get(platform).isLimitExceeded()) {
-					return applicationLimits.get(platform);
-				}
+			RateLimit rateLimit = limits.application;
+			if (rateLimit != null && rateLimit.isLimitExceeded(nanoTime)) {
+				return rateLimit;
 			}
 
 			// Check service limits
-			if (serviceLimits.containsKey(platform)) {
-				if (serviceLimits.get(platform).containsKey(service)) {
-					if (serviceLimits.get(platform).get(service).isLimitExceeded()) {
-						return serviceLimits.get(platform).get(service);
-					}
-				}
+			rateLimit = get(limits.services, serviceIndex);
+			if (rateLimit != null && rateLimit.isLimitExceeded(nanoTime)) {
+				return rateLimit;
 			}
 
 			// Check method limits
-			if (methodLimits.containsKey(platform)) {
-				if (methodLimits.get(platform).containsKey(method)) {
-					if (methodLimits.get(platform).get(method).isLimitExceeded()) {
-						return methodLimits.get(platform).get(method);
-					}
-				}
+			rateLimit = get(limits.methods, methodIndex);
+			if (rateLimit != null && rateLimit.isLimitExceeded(nanoTime)) {
+				return rateLimit;
 			}
 			return null;
 		}
@@ -120,38 +169,125 @@ public class DefaultRateLimitHandler implements RateLimitHandler {
 		}
 
 		public void setRateLimit(Platform platform, String service, String method, String type, int retryAfter) {
-			if (type.equals("application")) {
-				applicationLimits.put(platform, new RateLimit(type, retryAfter));
-			} else if (type.equals("service")) {
-				if (!serviceLimits.containsKey(platform)) {
-					serviceLimits.put(platform, new ConcurrentHashMap<String, RateLimit>());
-				}
-				serviceLimits.get(platform).put(service, new RateLimit(type, retryAfter));
-			} else if (type.equals("method")) {
-				if (!methodLimits.containsKey(platform)) {
-					methodLimits.put(platform, new ConcurrentHashMap<String, RateLimit>());
+			PlatformRateLimits limits = (platform == null ? null : platformLimits.get(platform));
+			if (limits == null) {
+				return;
+			}
+			synchronized (limits) {
+				if ("application".equals(type)) {
+					limits.application = new RateLimit(type, retryAfter);
+				} else if ("service".equals(type)) {
+					limits.services = set(limits.services, getServiceIndex(service), new RateLimit(type, retryAfter));
+				} else if ("method".equals(type)) {
+					limits.methods = set(limits.methods, getMethodIndex(method), new RateLimit(type, retryAfter));
 				}
-				methodLimits.get(platform).put(method, new RateLimit(type, retryAfter));
 			}
 		}
 	}
 
+	/**
+	 * The indices of an api method class. Api method classes usually call a single service, so the index of the last service called is
+	 * kept together with the service, and only looked up again if the service differs.
+	 */
+	private static class ClassIndices {
+
+		private final int methodIndex;
+		private volatile ServiceIndex lastService = null;
+
+		private ClassIndices(int methodIndex) {
+			this.methodIndex = methodIndex;
+		}
+
+		private int getServiceIndex(String service) {
+			ServiceIndex last = lastService;
+			if (last != null && last.service.equals(service)) {
+				return last.index;
+			}
+			int index = DefaultRateLimitHandler.getServiceIndex(service);
+			if (service != null) {
+				lastService = new ServiceIndex(service, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * The rate limits of a single platform. The arrays are indexed by service and method indices. They are replaced instead of modified,
+	 * so that they can be read without synchronization.
+	 */
+	private class PlatformRateLimits {
+		private volatile RateLimit application = null;
+		private volatile RateLimit[] services = new RateLimit[0];
+		private volatile RateLimit[] methods = new RateLimit[0];
+	}
+
+	private static class ServiceIndex {
+
+		private final String service;
+		private final int index;
+
+		private ServiceIndex(String service, int index) {
+			this.service = service;
+			this.index = index;
+		}
+	}
+
+	private static final AtomicInteger methodCount = new AtomicInteger();
+	private static final ConcurrentMap<String, Integer> methodIndices = new ConcurrentHashMap<String, Integer>();
+	private static final AtomicInteger serviceCount = new AtomicInteger();
+	private static final ConcurrentMap<String, Integer> serviceIndices = new ConcurrentHashMap<String, Integer>();
+
+	// Caches the indices of each api method class, so that its name and service do not have to be looked up for every request
+	private static final ClassValue<ClassIndices> CLASS_INDICES = new ClassValue<ClassIndices>() {
+		@Override
+		protected ClassIndices computeValue(Class<?> type) {
+			return new ClassIndices(getMethodIndex(type.getName()));
+		}
+	};
+
 	protected final RateLimitList rateLimitList = new RateLimitList();
 
+	private static RateLimit get(RateLimit[] rateLimits, int index) {
+		return (index < rateLimits.length ? rateLimits[index] : null);
+	}
+
+	private static int getIndex(ConcurrentMap<String, Integer> indices, AtomicInteger count, String key) {
+		if (key == null) {
+			key = "";
+		}
+		Integer index = indices.get(key);
+		if (index == null) {
+			Integer newIndex = count.getAndIncrement();
+			index = indices.putIfAbsent(key, newIndex);
+			if (index == null) {
+				index = newIndex;
+			}
+		}
+		return index;
+	}
+
+	static int getMethodIndex(ApiMethod object) {
+		return CLASS_INDICES.get(object.getClass()).methodIndex;
+	}
+
+	static int getMethodIndex(String method) {
+		return getIndex(methodIndices, methodCount, method);
+	}
+
+	private static int getServiceIndex(String service) {
+		return getIndex(serviceIndices, serviceCount, service);
+	}
+
 	protected boolean isRateLimitExceeded(Request request) {
-		ApiMethod object = request.getObject();
-		return rateLimitList.isLimitExceeded(object.getPlatform(), object.getService(), object.getClass().getName());
+		return (rateLimitList.getRateLimit(request.getObject(), System.nanoTime()) != null);
 	}
 
 	@Override
 	public void onRequestAboutToFire(Request request) throws RespectedRateLimitException {
-		if (isRateLimitExceeded(request)) {
-			ApiMethod object = request.getObject();
-			RateLimit rateLimit = rateLimitList.getRateLimit(object.getPlatform(), object.getService(), object.getClass().getName());
-			if (rateLimit == null) {
-				return;
-			}
-			throw new RespectedRateLimitException(rateLimit.getRetryAfter(), rateLimit.getRateLimitType());
+		long nanoTime = System.nanoTime();
+		RateLimit rateLimit = rateLimitList.getRateLimit(request.getObject(), nanoTime);
+		if (rateLimit != null) {
+			throw new RespectedRateLimitException(rateLimit.getRateLimitType(), Math.max(1, rateLimit.getRetryAfterMillis(nanoTime)));
 		}
 	}
 
@@ -159,13 +295,18 @@ public class DefaultRateLimitHandler implements RateLimitHandler {
 	public void onRequestDone(Request request) {
 		RequestResponse response = request.getResponse();
 		if (response.getCode() == Request.CODE_ERROR_RATE_LIMITED) {
-			String retryAfterString = response.getHeaderField("Retry-After");
-			String rateLimitType = response.getHeaderField("X-Rate-Limit-Type");
-			if (retryAfterString != null) {
-				int retryAfter = Integer.parseInt(retryAfterString);
+			int retryAfter = response.getRetryAfter();
+			if (retryAfter >= 0) {
 				ApiMethod object = request.getObject();
-				rateLimitList.setRateLimit(object.getPlatform(), object.getService(), object.getClass().getName(), rateLimitType, retryAfter);
+				rateLimitList.setRateLimit(object.getPlatform(), object.getService(), object.getClass().getName(), response.getRateLimitType(),
+						retryAfter);
 			}
 		}
 	}
+
+	private static RateLimit[] set(RateLimit[] rateLimits, int index, RateLimit rateLimit) {
+		RateLimit[] copy = Arrays.copyOf(rateLimits, Math.max(rateLimits.length, index + 1));
+		copy[index] = rateLimit;
+		return copy;
+	}
 }
\ No newline at end of file
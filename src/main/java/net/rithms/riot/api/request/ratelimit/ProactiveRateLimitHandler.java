@@ -0,0 +1,458 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.ratelimit;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import net.rithms.riot.api.ApiMethod;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.request.Request;
+import net.rithms.riot.api.request.RequestResponse;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * The {@code ProactiveRateLimitHandler} extends the {@link DefaultRateLimitHandler}. Instead of waiting for the Riot Api to respond with
+ * {@code 429}, it learns the application and method rate limits from the {@code X-App-Rate-Limit} and {@code X-Method-Rate-Limit} headers
+ * of every response, and only fires a request if every known rate limit window has capacity left. Otherwise, a
+ * {@link RespectedRateLimitException} is thrown, whose retry after value tells when the next request can be fired.
+ *
+ * <p>
+ * Each rate limit window, e.g. {@code 100:120} for 100 requests every 120 seconds, is tracked as a sliding window of the times requests
+ * have been fired. A sliding window never admits more requests in any interval than Riot's fixed windows do, so requests are paced right
+ * at the limit without triggering {@code 429} responses. If the {@code X-App-Rate-Limit-Count} or {@code X-Method-Rate-Limit-Count}
+ * headers report more requests than have been fired by this handler, e.g. because the api key is shared with another application, the
+ * windows are filled up accordingly.
+ * </p>
+ *
+ * <p>
+ * Until the first response for a platform or method has been received, its rate limits are unknown and requests are not limited.
+ * </p>
+ */
+public class ProactiveRateLimitHandler extends DefaultRateLimitHandler {
+
+	/**
+	 * A sliding window of a single rate limit, e.g. 100 requests every 120 seconds. Times are taken from {@link System#nanoTime()}, so that
+	 * changes of the system clock neither stall requests nor let a burst of requests through.
+	 */
+	public static class RateLimitWindow {
+
+		private final long interval;
+		private final long intervalNanos;
+		private long[] timestamps;
+		private int head = 0;
+		private int size = 0;
+		// State of the response currently being applied by RateLimitWindowList.update
+		private boolean reported = false;
+		private int reportedCount = -1;
+
+		/**
+		 * Constructs a {@code RateLimitWindow}.
+		 *
+		 * @param limit
+		 *            Maximum amount of requests per interval
+		 * @param interval
+		 *            Length of the interval in milliseconds
+		 */
+		public RateLimitWindow(int limit, long interval) {
+			this.interval = interval;
+			this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+			timestamps = new long[Math.max(1, limit)];
+		}
+
+		private void evict(long nanoTime) {
+			while (size > 0 && timestamps[head] + intervalNanos - nanoTime <= 0) {
+				head = (head + 1) % timestamps.length;
+				size--;
+			}
+		}
+
+		/**
+		 * Returns the amount of requests fired within the last interval.
+		 *
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 * @return Amount of requests fired within the last interval
+		 */
+		public int getCount(long nanoTime) {
+			evict(nanoTime);
+			return size;
+		}
+
+		/**
+		 * Returns the length of the interval.
+		 *
+		 * @return Length of the interval in milliseconds
+		 */
+		public long getInterval() {
+			return interval;
+		}
+
+		public int getLimit() {
+			return timestamps.length;
+		}
+
+		/**
+		 * Returns the time until this window has capacity for another request.
+		 *
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 * @return Time in milliseconds until another request can be fired, or {@code 0} if a request can be fired right away
+		 */
+		public long getWaitTime(long nanoTime) {
+			evict(nanoTime);
+			if (size < timestamps.length) {
+				return 0;
+			}
+			// Rounded up, so that a full window never reports a wait time of 0
+			return (timestamps[head] + intervalNanos - nanoTime + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+		}
+
+		/**
+		 * Records a request fired at the given time. If the window is full, the oldest request is dropped.
+		 *
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 */
+		public void record(long nanoTime) {
+			if (size == timestamps.length) {
+				head = (head + 1) % timestamps.length;
+				size--;
+			}
+			timestamps[(head + size) % timestamps.length] = nanoTime;
+			size++;
+		}
+
+		/**
+		 * Changes the maximum amount of requests per interval, keeping the most recent requests.
+		 *
+		 * @param limit
+		 *            Maximum amount of requests per interval
+		 */
+		public void setLimit(int limit) {
+			limit = Math.max(1, limit);
+			if (limit == timestamps.length) {
+				return;
+			}
+			long[] resized = new long[limit];
+			int kept = Math.min(size, limit);
+			for (int i = 0; i < kept; i++) {
+				resized[i] = timestamps[(head + size - kept + i) % timestamps.length];
+			}
+			timestamps = resized;
+			head = 0;
+			size = kept;
+		}
+	}
+
+	/**
+	 * All rate limit windows of either an application or a method on a single platform.
+	 */
+	public static class RateLimitWindowList {
+
+		private final String rateLimitType;
+		// interval in seconds -> window
+		private final Map<Integer, RateLimitWindow> windows = new HashMap<Integer, RateLimitWindow>();
+		// Reused to parse header fields without allocating
+		private final int[] pair = new int[2];
+
+		public RateLimitWindowList(String rateLimitType) {
+			this.rateLimitType = rateLimitType;
+		}
+
+		public String getRateLimitType() {
+			return rateLimitType;
+		}
+
+		/**
+		 * Returns the time until every window has capacity for another request.
+		 *
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 * @return Time in milliseconds until another request can be fired, or {@code 0} if a request can be fired right away
+		 */
+		public long getWaitTime(long nanoTime) {
+			long waitTime = 0;
+			for (RateLimitWindow window : windows.values()) {
+				waitTime = Math.max(waitTime, window.getWaitTime(nanoTime));
+			}
+			return waitTime;
+		}
+
+		public Map<Integer, RateLimitWindow> getWindows() {
+			return windows;
+		}
+
+		/**
+		 * Records a request fired at the given time in every window.
+		 *
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 */
+		public void record(long nanoTime) {
+			for (RateLimitWindow window : windows.values()) {
+				window.record(nanoTime);
+			}
+		}
+
+		/**
+		 * Updates the windows according to the rate limits and rate limit counts reported by the Riot Api.
+		 *
+		 * @param limits
+		 *            Value of the rate limit header field, e.g. {@code 20:1,100:120}, or {@code null} if it is missing
+		 * @param counts
+		 *            Value of the rate limit count header field, e.g. {@code 1:1,1:120}, or {@code null} if it is missing
+		 * @param nanoTime
+		 *            Current value of {@link System#nanoTime()}
+		 */
+		public void update(String limits, String counts, long nanoTime) {
+			if (limits == null) {
+				return;
+			}
+			boolean reported = false;
+			for (int i = parseRateLimit(limits, 0, pair); i != -1; i = parseRateLimit(limits, i, pair)) {
+				if (pair[1] < 0) {
+					continue;
+				}
+				RateLimitWindow window = windows.get(pair[1]);
+				if (window == null) {
+					window = new RateLimitWindow(pair[0], pair[1] * 1000L);
+					windows.put(pair[1], window);
+					// At least the request of this response has been fired, but was not recorded, since the window was unknown
+					window.reportedCount = 1;
+				} else {
+					window.setLimit(pair[0]);
+					window.reportedCount = -1;
+				}
+				window.reported = true;
+				reported = true;
+			}
+			if (!reported) {
+				return;
+			}
+			if (counts != null) {
+				for (int i = parseRateLimit(counts, 0, pair); i != -1; i = parseRateLimit(counts, i, pair)) {
+					RateLimitWindow window = (pair[1] < 0 ? null : windows.get(pair[1]));
+					if (window != null) {
+						window.reportedCount = pair[0];
+					}
+				}
+			}
+			Iterator<RateLimitWindow> iterator = windows.values().iterator();
+			while (iterator.hasNext()) {
+				RateLimitWindow window = iterator.next();
+				if (!window.reported) {
+					iterator.remove();
+					continue;
+				}
+				for (int i = window.getCount(nanoTime); i < Math.min(window.reportedCount, window.getLimit()); i++) {
+					window.record(nanoTime);
+				}
+				window.reported = false;
+				window.reportedCount = -1;
+			}
+		}
+	}
+
+	/**
+	 * The method windows of a single platform, indexed by the method indices of the {@link DefaultRateLimitHandler}. The array is replaced
+	 * instead of modified, so that it can be read without synchronization.
+	 */
+	private static class MethodWindows {
+
+		private volatile RateLimitWindowList[] windows = new RateLimitWindowList[0];
+
+		private RateLimitWindowList get(int methodIndex) {
+			RateLimitWindowList[] current = windows;
+			if (methodIndex < current.length && current[methodIndex] != null) {
+				return current[methodIndex];
+			}
+			synchronized (this) {
+				current = windows;
+				if (methodIndex < current.length && current[methodIndex] != null) {
+					return current[methodIndex];
+				}
+				RateLimitWindowList[] copy = Arrays.copyOf(current, Math.max(current.length, methodIndex + 1));
+				copy[methodIndex] = new RateLimitWindowList("method");
+				windows = copy;
+				return copy[methodIndex];
+			}
+		}
+	}
+
+	private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	protected final ConcurrentMap<Platform, RateLimitWindowList> applicationWindows = new ConcurrentHashMap<Platform, RateLimitWindowList>();
+	private final EnumMap<Platform, MethodWindows> methodWindows = new EnumMap<Platform, MethodWindows>(Platform.class);
+	/**
+	 * Windows of methods without platform, i.e. the tournament methods, which are limited per tournament api key
+	 */
+	protected final RateLimitWindowList tournamentApplicationWindows = new RateLimitWindowList("application");
+	private final MethodWindows tournamentMethodWindows = new MethodWindows();
+
+	public ProactiveRateLimitHandler() {
+		// All platforms are added up front, so that the map is never modified afterwards and can be read without synchronization
+		for (Platform platform : Platform.values()) {
+			methodWindows.put(platform, new MethodWindows());
+		}
+	}
+
+	/**
+	 * Parses the next {@code count:interval} pair of a header field value of rate limits or rate limit counts, e.g. {@code 20:1,100:120},
+	 * without allocating.
+	 *
+	 * @param value
+	 *            header field value to parse
+	 * @param start
+	 *            index to start parsing at
+	 * @param pair
+	 *            receives the rate limit or rate limit count at index {@code 0} and the interval in seconds at index {@code 1}. If the pair
+	 *            is invalid, the interval is {@code -1}.
+	 * @return The index to parse the next pair at, or {@code -1} if there are no more pairs
+	 */
+	private static int parseRateLimit(String value, int start, int[] pair) {
+		int length = value.length();
+		if (start >= length) {
+			return -1;
+		}
+		int end = value.indexOf(',', start);
+		if (end == -1) {
+			end = length;
+		}
+		int separator = value.indexOf(':', start);
+		if (separator == -1 || separator > end) {
+			separator = end;
+		}
+		pair[0] = parseNumber(value, start, separator);
+		pair[1] = (separator < end && pair[0] >= 0 ? parseNumber(value, separator + 1, end) : -1);
+		if (pair[1] < 0) {
+			RiotApi.log.warning("[ProactiveRateLimitHandler] Invalid rate limit: " + value.substring(start, end));
+		}
+		return end + 1;
+	}
+
+	/**
+	 * Parses a non-negative decimal number, ignoring surrounding whitespace.
+	 *
+	 * @return The number, or {@code -1} if the text is not a number
+	 */
+	private static int parseNumber(String value, int start, int end) {
+		while (start < end && Character.isWhitespace(value.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+			end--;
+		}
+		if (start == end) {
+			return -1;
+		}
+		long number = 0;
+		for (int i = start; i < end; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			number = number * 10 + (c - '0');
+			if (number > Integer.MAX_VALUE) {
+				return -1;
+			}
+		}
+		return (int) number;
+	}
+
+	protected RateLimitWindowList getApplicationWindows(Platform platform) {
+		if (platform == null) {
+			return tournamentApplicationWindows;
+		}
+		RateLimitWindowList windows = applicationWindows.get(platform);
+		if (windows == null) {
+			RateLimitWindowList newWindows = new RateLimitWindowList("application");
+			windows = applicationWindows.putIfAbsent(platform, newWindows);
+			if (windows == null) {
+				windows = newWindows;
+			}
+		}
+		return windows;
+	}
+
+	protected RateLimitWindowList getMethodWindows(Platform platform, String method) {
+		return getMethodWindows(platform, getMethodIndex(method));
+	}
+
+	/**
+	 * Returns the method windows of the given api method. The method is looked up by the cached index of its class, so that no strings
+	 * have to be hashed on every request.
+	 * 
+	 * @param object
+	 *            Api method to get the windows of
+	 * @return The method windows of the api method
+	 */
+	protected RateLimitWindowList getMethodWindows(ApiMethod object) {
+		return getMethodWindows(object.getPlatform(), getMethodIndex(object));
+	}
+
+	private RateLimitWindowList getMethodWindows(Platform platform, int methodIndex) {
+		return (platform == null ? tournamentMethodWindows : methodWindows.get(platform)).get(methodIndex);
+	}
+
+	@Override
+	public void onRequestAboutToFire(Request request) throws RespectedRateLimitException {
+		super.onRequestAboutToFire(request);
+		ApiMethod object = request.getObject();
+		RateLimitWindowList appWindows = getApplicationWindows(object.getPlatform());
+		RateLimitWindowList methodWindows = getMethodWindows(object);
+		// The application windows of a platform guard all of its method windows, so that both are checked and updated atomically
+		synchronized (appWindows) {
+			long now = System.nanoTime();
+			long appWaitTime = appWindows.getWaitTime(now);
+			long methodWaitTime = methodWindows.getWaitTime(now);
+			if (appWaitTime > 0 || methodWaitTime > 0) {
+				RateLimitWindowList exceeded = (appWaitTime >= methodWaitTime ? appWindows : methodWindows);
+				long retryAfter = Math.max(appWaitTime, methodWaitTime);
+				RiotApi.log.fine("[ProactiveRateLimitHandler] " + exceeded.getRateLimitType() + " rate limit reached for " + object
+						+ ". Retry after " + retryAfter + "ms");
+				throw new RespectedRateLimitException(exceeded.getRateLimitType(), retryAfter);
+			}
+			appWindows.record(now);
+			methodWindows.record(now);
+		}
+	}
+
+	@Override
+	public void onRequestDone(Request request) {
+		super.onRequestDone(request);
+		RequestResponse response = request.getResponse();
+		ApiMethod object = request.getObject();
+		if (response == null) {
+			return;
+		}
+
+		RateLimitWindowList appWindows = getApplicationWindows(object.getPlatform());
+		RateLimitWindowList methodWindows = getMethodWindows(object);
+		synchronized (appWindows) {
+			long now = System.nanoTime();
+			appWindows.update(response.getAppRateLimit(), response.getAppRateLimitCount(), now);
+			methodWindows.update(response.getMethodRateLimit(), response.getMethodRateLimitCount(), now);
+		}
+	}
+}
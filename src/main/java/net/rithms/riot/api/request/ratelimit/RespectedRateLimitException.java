@@ -24,6 +24,8 @@ public class RespectedRateLimitException extends RateLimitException {
 
 	private static final long serialVersionUID = 8877368984231613516L;
 
+	private final long retryAfterMillis;
+
 	/**
 	 * Constructs a {@code RespectedRateLimitException} with the specified attributes.
 	 * 
@@ -34,5 +36,29 @@ public class RespectedRateLimitException extends RateLimitException {
 	 */
 	public RespectedRateLimitException(final int retryAfter, final String rateLimitType) {
 		super(getMessage(RATE_LIMITED) + " (Respected; Type: " + rateLimitType + "; Retry After: " + retryAfter + ")", retryAfter, rateLimitType);
+		retryAfterMillis = retryAfter * 1000L;
+	}
+
+	/**
+	 * Constructs a {@code RespectedRateLimitException} with the specified attributes.
+	 * 
+	 * @param rateLimitType
+	 *            The type of rate limit that has been exceeded
+	 * @param retryAfterMillis
+	 *            The time in milliseconds to wait before the api key limits get refreshed
+	 */
+	public RespectedRateLimitException(final String rateLimitType, final long retryAfterMillis) {
+		super(getMessage(RATE_LIMITED) + " (Respected; Type: " + rateLimitType + "; Retry After: " + retryAfterMillis + "ms)",
+				(int) ((retryAfterMillis + 999) / 1000), rateLimitType);
+		this.retryAfterMillis = retryAfterMillis;
+	}
+
+	/**
+	 * Returns the time in milliseconds to wait before the api key limits get refreshed.
+	 * 
+	 * @return The time in milliseconds to wait before the api key limits get refreshed
+	 */
+	public long getRetryAfterMillis() {
+		return retryAfterMillis;
 	}
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+/**
+ * The interface for {@link HttpTransport}s that can send requests without blocking the calling thread. Asynchronous requests made with a
+ * {@link net.rithms.riot.api.RiotApiAsync} use this interface, if the configured transport implements it, instead of occupying a thread
+ * for the whole duration of a request.
+ *
+ * @see Http2Transport
+ */
+public interface AsyncHttpTransport extends HttpTransport {
+
+	/**
+	 * Sends the given request without blocking and notifies the given callback once the response has been received or the request failed.
+	 * The callback is responsible for closing the response it receives.
+	 *
+	 * @param request
+	 *            The request to send
+	 * @param callback
+	 *            The callback to notify
+	 */
+	public void executeAsync(HttpTransportRequest request, HttpTransportCallback callback);
+}
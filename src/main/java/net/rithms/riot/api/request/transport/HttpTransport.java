@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+import java.io.IOException;
+
+/**
+ * The interface for sending HTTP requests to the Riot Api. The transport to use can be set via
+ * {@link net.rithms.riot.api.ApiConfig#setHttpTransport(HttpTransport)}.
+ *
+ * <p>
+ * Implementations must be thread-safe, since a single transport is shared by all requests made with the same {@code ApiConfig}.
+ * </p>
+ *
+ * @see PooledHttpTransport
+ */
+public interface HttpTransport {
+
+	/**
+	 * Sends the given request and returns the response. The caller is responsible for closing the returned response, so that the
+	 * underlying connection can be released.
+	 *
+	 * @param request
+	 *            The request to send
+	 * @return The response
+	 * @throws IOException
+	 *             If sending the request or receiving the response fails
+	 * @throws java.net.SocketTimeoutException
+	 *             If the request's timeout elapses before a response is received
+	 */
+	public HttpTransportResponse execute(HttpTransportRequest request) throws IOException;
+}
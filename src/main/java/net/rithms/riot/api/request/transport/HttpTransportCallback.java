@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+import java.io.IOException;
+
+/**
+ * The callback interface for requests sent via {@link AsyncHttpTransport#executeAsync(HttpTransportRequest, HttpTransportCallback)}.
+ */
+public interface HttpTransportCallback {
+
+	/**
+	 * This method is called if sending the request or receiving the response failed.
+	 *
+	 * @param e
+	 *            The exception that caused the failure. A {@link java.net.SocketTimeoutException} indicates that the request timed out.
+	 */
+	public void onFailure(IOException e);
+
+	/**
+	 * This method is called once the response has been received.
+	 *
+	 * @param response
+	 *            The response. It must be closed after use.
+	 */
+	public void onResponse(HttpTransportResponse response);
+}
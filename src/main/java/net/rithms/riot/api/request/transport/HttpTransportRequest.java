@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import net.rithms.riot.api.HttpHeadParameter;
+import net.rithms.riot.api.request.RequestMethod;
+
+/**
+ * Represents an HTTP request to be sent by a {@link HttpTransport}.
+ */
+public class HttpTransportRequest {
+
+	private final String url;
+	private final RequestMethod method;
+	private final List<HttpHeadParameter> headers;
+	private final String body;
+	private final int timeout;
+
+	private volatile boolean aborted = false;
+	private volatile Closeable abortHandler = null;
+
+	/**
+	 * Constructs a HttpTransportRequest
+	 *
+	 * @param url
+	 *            URL to send the request to
+	 * @param method
+	 *            HTTP method
+	 * @param headers
+	 *            HTTP header fields
+	 * @param body
+	 *            JSON body to send, or {@code null} if the request has no body
+	 * @param timeout
+	 *            Timeout value in milliseconds for connecting and reading, or {@code 0} if the request should not time out
+	 * @throws NullPointerException
+	 *             If {@code url} or {@code method} is {@code null}
+	 */
+	public HttpTransportRequest(String url, RequestMethod method, List<HttpHeadParameter> headers, String body, int timeout) {
+		this.url = Objects.requireNonNull(url);
+		this.method = Objects.requireNonNull(method);
+		this.headers = (headers == null ? Collections.<HttpHeadParameter> emptyList() : headers);
+		this.body = body;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Aborts this request. If the transport has already opened a connection for this request, the connection is closed, causing any
+	 * pending read or write to fail.
+	 */
+	public void abort() {
+		aborted = true;
+		closeAbortHandler();
+	}
+
+	private void closeAbortHandler() {
+		Closeable handler = abortHandler;
+		if (handler != null) {
+			try {
+				handler.close();
+			} catch (IOException e) {
+				// The request is being aborted anyway
+			}
+		}
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public List<HttpHeadParameter> getHeaders() {
+		return headers;
+	}
+
+	public RequestMethod getMethod() {
+		return method;
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Returns {@code true} if {@link #abort()} has been called on this request.
+	 *
+	 * @return {@code true} if this request has been aborted
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * Sets the handler that is closed when this request gets aborted. Transports should set this as soon as they hold a resource that
+	 * needs to be released to abort the request. If the request has already been aborted, the handler is closed immediately.
+	 *
+	 * @param abortHandler
+	 *            Handler to close when this request gets aborted
+	 */
+	public void setAbortHandler(Closeable abortHandler) {
+		this.abortHandler = abortHandler;
+		if (aborted) {
+			closeAbortHandler();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return method + " " + url;
+	}
+}
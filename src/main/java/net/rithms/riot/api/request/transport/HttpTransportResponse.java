@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an HTTP response received by a {@link HttpTransport}. Closing the response releases the underlying connection, which
+ * allows the transport to reuse it for further requests.
+ */
+public interface HttpTransportResponse extends Closeable {
+
+	/**
+	 * Returns the HTTP body of the response. The stream is closed when the response is closed.
+	 *
+	 * @return HTTP body, or {@code null} if the response has no body
+	 * @throws IOException
+	 *             If reading the body fails
+	 */
+	public InputStream getBody() throws IOException;
+
+	/**
+	 * Returns the HTTP response code.
+	 *
+	 * @return HTTP response code
+	 */
+	public int getCode();
+
+	/**
+	 * Returns the value for a given HTTP header field name.
+	 *
+	 * @param name
+	 *            the name of the header field
+	 * @return the value of the named header field, or {@code null} if there is no such field in the header
+	 */
+	public String getHeaderField(String name);
+
+	/**
+	 * Returns the HTTP header fields.
+	 *
+	 * @return HTTP header fields
+	 */
+	public Map<String, List<String>> getHeaderFields();
+}
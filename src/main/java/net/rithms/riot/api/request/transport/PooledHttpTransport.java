@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.rithms.riot.api.HttpHeadParameter;
+
+/**
+ * This is the default {@link HttpTransport}. It keeps persistent connections per host, i.e. per platform, so that subsequent requests to
+ * the same platform can reuse an already established (TLS) connection instead of performing a new handshake.
+ *
+ * <p>
+ * Idle connections are kept alive by the JDK's keep-alive cache, which holds at most {@code http.maxConnections} (default {@code 5})
+ * idle connections per host, and closes connections released while it is full. This transport therefore only keeps as many connections
+ * per host alive as the keep-alive cache can hold. Requests beyond that open an additional connection, which is closed after the
+ * response has been read. Raise the {@code http.maxConnections} system property to keep more connections alive; it must be set before
+ * the first HTTP connection is opened.
+ * </p>
+ *
+ * <p>
+ * By default, the amount of concurrent connections per host is not limited. If a limit is given, further requests wait until a
+ * connection is released, but at most for their timeout, after which they fail with a {@link SocketTimeoutException}. Aborting a
+ * waiting request ends its wait immediately.
+ * </p>
+ */
+public class PooledHttpTransport implements HttpTransport {
+
+	private static class HostConnections {
+
+		private final Lock lock = new ReentrantLock();
+		private final Condition released = lock.newCondition();
+		private int active = 0;
+		private int keptAlive = 0;
+	}
+
+	private class PooledResponse implements HttpTransportResponse {
+
+		private final HttpURLConnection connection;
+		private final HostConnections host;
+		private final boolean keepAlive;
+		private final int code;
+		private InputStream body = null;
+		private boolean bodyOpened = false;
+		private boolean closed = false;
+		// Draining the body blocks, so a lock is used instead of synchronized to not pin the carrier of virtual threads
+		private final Lock lock = new ReentrantLock();
+
+		private PooledResponse(HttpURLConnection connection, HostConnections host, boolean keepAlive, int code) {
+			this.connection = connection;
+			this.host = host;
+			this.keepAlive = keepAlive;
+			this.code = code;
+		}
+
+		@Override
+		public void close() {
+			lock.lock();
+			try {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				try {
+					// Read the remaining body, so that the connection can be handed back to the keep-alive cache
+					InputStream is = getBody();
+					if (is != null) {
+						drain(is);
+						is.close();
+					}
+				} catch (IOException e) {
+					// The connection is broken and must not be reused
+					connection.disconnect();
+				} finally {
+					release(host, keepAlive);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			lock.lock();
+			try {
+				if (!bodyOpened) {
+					bodyOpened = true;
+					body = (code < 400 ? connection.getInputStream() : connection.getErrorStream());
+				}
+				return body;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public int getCode() {
+			return code;
+		}
+
+		@Override
+		public String getHeaderField(String name) {
+			return connection.getHeaderField(name);
+		}
+
+		@Override
+		public Map<String, List<String>> getHeaderFields() {
+			return connection.getHeaderFields();
+		}
+	}
+
+	private static final int DEFAULT_HTTP_MAX_CONNECTIONS = 5;
+	private static final int DRAIN_BUFFER_SIZE = 4096;
+
+	private final int maxConnectionsPerHost;
+	private final int keepAliveConnectionsPerHost = getKeepAliveCacheSize();
+	private final ConcurrentMap<String, HostConnections> hosts = new ConcurrentHashMap<String, HostConnections>();
+
+	/**
+	 * Creates a new {@code PooledHttpTransport} that does not limit the amount of concurrent connections per host.
+	 */
+	public PooledHttpTransport() {
+		this.maxConnectionsPerHost = 0;
+	}
+
+	/**
+	 * Creates a new {@code PooledHttpTransport} that allows at most {@code maxConnectionsPerHost} concurrent connections to a single host.
+	 *
+	 * @param maxConnectionsPerHost
+	 *            Maximum amount of connections to a single host at once
+	 * @throws IllegalArgumentException
+	 *             If {@code maxConnectionsPerHost} is smaller than {@code 1}
+	 */
+	public PooledHttpTransport(int maxConnectionsPerHost) {
+		if (maxConnectionsPerHost < 1) {
+			throw new IllegalArgumentException("The max amount of connections per host must be greater than 0");
+		}
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+	}
+
+	/**
+	 * Reserves a connection to the given host, waiting for one to be released if the maximum amount of connections per host is reached.
+	 *
+	 * @param host
+	 *            Host to connect to
+	 * @param request
+	 *            Request to send over the connection
+	 * @return {@code true} if the connection should be kept alive
+	 * @throws IOException
+	 *             If the request is aborted, or no connection is released within the request's timeout
+	 */
+	private boolean acquire(final HostConnections host, HttpTransportRequest request) throws IOException {
+		request.setAbortHandler(new Closeable() {
+			@Override
+			public void close() {
+				host.lock.lock();
+				try {
+					host.released.signalAll();
+				} finally {
+					host.lock.unlock();
+				}
+			}
+		});
+		host.lock.lock();
+		try {
+			if (maxConnectionsPerHost > 0) {
+				long remaining = (request.getTimeout() > 0 ? TimeUnit.MILLISECONDS.toNanos(request.getTimeout()) : Long.MAX_VALUE);
+				while (host.active >= maxConnectionsPerHost) {
+					if (request.isAborted()) {
+						throw new IOException("Request aborted");
+					}
+					if (remaining <= 0) {
+						throw new SocketTimeoutException("Timed out waiting for a pooled connection");
+					}
+					try {
+						remaining = host.released.awaitNanos(remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted while waiting for a pooled connection");
+					}
+				}
+			}
+			host.active++;
+			if (host.keptAlive < keepAliveConnectionsPerHost) {
+				host.keptAlive++;
+				return true;
+			}
+			return false;
+		} finally {
+			host.lock.unlock();
+		}
+	}
+
+	private static void drain(InputStream is) throws IOException {
+		byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+		while (is.read(buffer) != -1) {
+			// Discard
+		}
+	}
+
+	@Override
+	public HttpTransportResponse execute(final HttpTransportRequest request) throws IOException {
+		URL url = new URL(request.getUrl());
+		HostConnections host = getHostConnections(url);
+		boolean keepAlive = acquire(host, request);
+		final HttpURLConnection connection;
+		try {
+			connection = (HttpURLConnection) url.openConnection();
+		} catch (IOException e) {
+			release(host, keepAlive);
+			throw e;
+		}
+		boolean handedOver = false;
+		try {
+			request.setAbortHandler(new Closeable() {
+				@Override
+				public void close() {
+					connection.disconnect();
+				}
+			});
+			if (request.isAborted()) {
+				// Disconnecting a connection that has not been connected yet does not prevent connecting it later
+				throw new IOException("Request aborted");
+			}
+			if (request.getTimeout() > 0) {
+				connection.setConnectTimeout(request.getTimeout());
+				connection.setReadTimeout(request.getTimeout());
+			}
+			connection.setDoInput(true);
+			connection.setInstanceFollowRedirects(false);
+			connection.setRequestMethod(request.getMethod().name());
+			for (HttpHeadParameter p : request.getHeaders()) {
+				connection.setRequestProperty(p.getKey(), p.getValue());
+			}
+			if (!keepAlive) {
+				// The keep-alive cache is full, so this connection would be closed on release anyway
+				connection.setRequestProperty("Connection", "close");
+			}
+			String body = request.getBody();
+			if (body != null) {
+				byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+				connection.setRequestProperty("Content-Type", "application/json");
+				connection.setDoOutput(true);
+				connection.setFixedLengthStreamingMode(bytes.length);
+				OutputStream os = connection.getOutputStream();
+				os.write(bytes);
+				os.close();
+			}
+			PooledResponse response = new PooledResponse(connection, host, keepAlive, connection.getResponseCode());
+			handedOver = true;
+			return response;
+		} finally {
+			if (!handedOver) {
+				connection.disconnect();
+				release(host, keepAlive);
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum amount of connections to a single host at once.
+	 *
+	 * @return Maximum amount of connections per host, or {@code 0} if it is not limited
+	 */
+	public int getMaxConnectionsPerHost() {
+		return maxConnectionsPerHost;
+	}
+
+	private static int getKeepAliveCacheSize() {
+		// Mirrors the JDK's keep-alive cache, which ignores values less than 1
+		int size = Integer.getInteger("http.maxConnections", DEFAULT_HTTP_MAX_CONNECTIONS);
+		return (size > 0 ? size : DEFAULT_HTTP_MAX_CONNECTIONS);
+	}
+
+	private HostConnections getHostConnections(URL url) {
+		String key = url.getProtocol() + "://" + url.getAuthority();
+		HostConnections host = hosts.get(key);
+		if (host == null) {
+			HostConnections newHost = new HostConnections();
+			host = hosts.putIfAbsent(key, newHost);
+			if (host == null) {
+				host = newHost;
+			}
+		}
+		return host;
+	}
+
+	private static void release(HostConnections host, boolean keepAlive) {
+		host.lock.lock();
+		try {
+			host.active--;
+			if (keepAlive) {
+				host.keptAlive--;
+			}
+			host.released.signalAll();
+		} finally {
+			host.lock.unlock();
+		}
+	}
+}
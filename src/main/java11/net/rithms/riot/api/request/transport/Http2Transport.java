@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api.request.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import net.rithms.riot.api.HttpHeadParameter;
+
+/**
+ * An {@link AsyncHttpTransport} based on the JDK's {@code java.net.http.HttpClient}. Requests to the same platform are multiplexed over a
+ * single HTTP/2 connection, and asynchronous requests complete without occupying a thread while waiting for the response. This allows to
+ * keep thousands of requests in flight with only a handful of threads.
+ *
+ * <p>
+ * <i>Please note that this transport requires Java 11 or higher at runtime.</i>
+ * </p>
+ *
+ * <pre>
+ * ApiConfig config = new ApiConfig().setKey("YOUR-API-KEY-HERE").setHttpTransport(new Http2Transport());
+ * </pre>
+ */
+public class Http2Transport implements AsyncHttpTransport {
+
+	private static class Http2Response implements HttpTransportResponse {
+
+		private final int code;
+		private final Map<String, List<String>> headerFields;
+		private final InputStream body;
+
+		private Http2Response(HttpResponse<byte[]> response) {
+			code = response.statusCode();
+			// HTTP/2 header names are lower case, so header fields must be looked up case-insensitively
+			headerFields = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+			headerFields.putAll(response.headers().map());
+			body = (response.body() == null ? null : new ByteArrayInputStream(response.body()));
+		}
+
+		@Override
+		public void close() {
+			// The body has been received completely, so there is nothing to release
+		}
+
+		@Override
+		public InputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public int getCode() {
+			return code;
+		}
+
+		@Override
+		public String getHeaderField(String name) {
+			List<String> values = headerFields.get(name);
+			if (values == null || values.isEmpty()) {
+				return null;
+			}
+			return values.get(values.size() - 1);
+		}
+
+		@Override
+		public Map<String, List<String>> getHeaderFields() {
+			return headerFields;
+		}
+	}
+
+	private final HttpClient client;
+
+	/**
+	 * Creates a new {@code Http2Transport}, that completes requests on a small pool of daemon threads, sized by the number of available
+	 * processors.
+	 */
+	public Http2Transport() {
+		this(newDefaultExecutor());
+	}
+
+	/**
+	 * Creates a new {@code Http2Transport}, that completes requests on the given executor.
+	 *
+	 * @param executor
+	 *            Executor to handle responses on
+	 */
+	public Http2Transport(Executor executor) {
+		this(HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).followRedirects(HttpClient.Redirect.NEVER).executor(executor).build());
+	}
+
+	/**
+	 * Creates a new {@code Http2Transport}, that sends requests with the given client.
+	 *
+	 * @param client
+	 *            {@code HttpClient} to send requests with
+	 */
+	public Http2Transport(HttpClient client) {
+		this.client = client;
+	}
+
+	private static ExecutorService newDefaultExecutor() {
+		return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Riot Api - HTTP/2 Transport " + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private HttpRequest buildRequest(HttpTransportRequest request) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()));
+		if (request.getTimeout() > 0) {
+			builder.timeout(Duration.ofMillis(request.getTimeout()));
+		}
+		for (HttpHeadParameter p : request.getHeaders()) {
+			builder.header(p.getKey(), p.getValue());
+		}
+		String body = request.getBody();
+		if (body != null) {
+			builder.header("Content-Type", "application/json");
+			builder.method(request.getMethod().name(), HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+		} else {
+			builder.method(request.getMethod().name(), HttpRequest.BodyPublishers.noBody());
+		}
+		return builder.build();
+	}
+
+	@Override
+	public HttpTransportResponse execute(HttpTransportRequest request) throws IOException {
+		try {
+			return new Http2Response(send(request).get());
+		} catch (ExecutionException e) {
+			throw toIOException(e.getCause());
+		} catch (CancellationException e) {
+			throw toIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the response");
+		}
+	}
+
+	@Override
+	public void executeAsync(HttpTransportRequest request, final HttpTransportCallback callback) {
+		CompletableFuture<HttpResponse<byte[]>> future;
+		try {
+			future = send(request);
+		} catch (IOException | IllegalArgumentException e) {
+			callback.onFailure(toIOException(e));
+			return;
+		}
+		future.whenComplete(new BiConsumer<HttpResponse<byte[]>, Throwable>() {
+			@Override
+			public void accept(HttpResponse<byte[]> response, Throwable t) {
+				if (t != null) {
+					callback.onFailure(toIOException(t));
+				} else {
+					callback.onResponse(new Http2Response(response));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the {@code HttpClient} used by this transport.
+	 *
+	 * @return The {@code HttpClient} used by this transport
+	 */
+	public HttpClient getClient() {
+		return client;
+	}
+
+	private CompletableFuture<HttpResponse<byte[]>> send(HttpTransportRequest request) throws IOException {
+		if (request.isAborted()) {
+			throw new IOException("Request aborted");
+		}
+		final CompletableFuture<HttpResponse<byte[]>> future = client.sendAsync(buildRequest(request), HttpResponse.BodyHandlers.ofByteArray());
+		request.setAbortHandler(new Closeable() {
+			@Override
+			public void close() {
+				future.cancel(true);
+			}
+		});
+		return future;
+	}
+
+	private static IOException toIOException(Throwable t) {
+		if (t instanceof CompletionException && t.getCause() != null) {
+			t = t.getCause();
+		}
+		if (t instanceof HttpTimeoutException) {
+			SocketTimeoutException timeout = new SocketTimeoutException(t.getMessage());
+			timeout.initCause(t);
+			return timeout;
+		}
+		if (t instanceof IOException) {
+			return (IOException) t;
+		}
+		if (t instanceof CancellationException) {
+			return new IOException("Request aborted", t);
+		}
+		return new IOException(t);
+	}
+}
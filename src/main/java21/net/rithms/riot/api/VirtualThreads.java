@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executor that runs each task on a virtual thread.
+ * 
+ * <p>
+ * This is the Java 21 implementation, packaged in {@code META-INF/versions/21} of the multi-release jar.
+ * </p>
+ */
+final class VirtualThreads {
+
+	/**
+	 * Holds the executor, which is shared by all {@code ApiConfig}s and only created once it is used
+	 */
+	private static class ExecutorHolder {
+
+		private static final ExecutorService INSTANCE = Executors
+				.newThreadPerTaskExecutor(Thread.ofVirtual().name("Riot Api - Virtual Async Request ", 1).factory());
+	}
+
+	private VirtualThreads() {
+	}
+
+	static ExecutorService getExecutor() {
+		return ExecutorHolder.INSTANCE;
+	}
+}
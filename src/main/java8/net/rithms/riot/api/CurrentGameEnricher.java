@@ -0,0 +1,375 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import net.rithms.riot.api.endpoints.champion_mastery.dto.ChampionMastery;
+import net.rithms.riot.api.endpoints.league.dto.LeaguePosition;
+import net.rithms.riot.api.endpoints.spectator.dto.CurrentGameInfo;
+import net.rithms.riot.api.endpoints.spectator.dto.CurrentGameParticipant;
+import net.rithms.riot.api.endpoints.spectator.methods.GetActiveGameBySummoner;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Enriches a {@link CurrentGameInfo} with the league positions of all participants and their champion mastery of the champion they play.
+ * All of these calls are fired at once, and the result is delivered once they have completed or the deadline has passed, whichever comes
+ * first. Calls that miss the deadline are cancelled, and their results are missing from the {@link EnrichedGame}.
+ * 
+ * <pre>
+ * CurrentGameEnricher enricher = new CurrentGameEnricher(api);
+ * EnrichedGame game = enricher.enrichActiveGame(Platform.NA, summonerId, 2, TimeUnit.SECONDS).get();
+ * </pre>
+ * 
+ * <p>
+ * <i>Please note that this class requires Java 8 or higher at runtime.</i>
+ * </p>
+ */
+public class CurrentGameEnricher {
+
+	/**
+	 * A {@link CurrentGameInfo} together with the league positions and champion masteries of its participants
+	 */
+	public static class EnrichedGame {
+
+		private final CurrentGameInfo game;
+		private final List<EnrichedParticipant> participants;
+
+		private EnrichedGame(CurrentGameInfo game, List<EnrichedParticipant> participants) {
+			this.game = game;
+			this.participants = Collections.unmodifiableList(participants);
+		}
+
+		public CurrentGameInfo getGame() {
+			return game;
+		}
+
+		/**
+		 * Returns the participant with the given summoner ID.
+		 * 
+		 * @param summonerId
+		 *            Summoner ID
+		 * @return The participant, or {@code null} if there is no such participant
+		 */
+		public EnrichedParticipant getParticipant(String summonerId) {
+			for (EnrichedParticipant participant : participants) {
+				if (Objects.equals(participant.getParticipant().getSummonerId(), summonerId)) {
+					return participant;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the participants in the order of {@link CurrentGameInfo#getParticipants()}.
+		 * 
+		 * @return An unmodifiable list of participants
+		 */
+		public List<EnrichedParticipant> getParticipants() {
+			return participants;
+		}
+
+		/**
+		 * Returns {@code true} if the league positions and champion masteries of all participants have been retrieved.
+		 * 
+		 * @return {@code true} if no result is missing
+		 */
+		public boolean isComplete() {
+			for (EnrichedParticipant participant : participants) {
+				if (!participant.isComplete()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * A {@link CurrentGameParticipant} together with its league positions and champion mastery
+	 */
+	public static class EnrichedParticipant {
+
+		private final ChampionMastery championMastery;
+		private final boolean championMasteryRetrieved;
+		private final Set<LeaguePosition> leaguePositions;
+		private final CurrentGameParticipant participant;
+
+		private EnrichedParticipant(CurrentGameParticipant participant, Set<LeaguePosition> leaguePositions, ChampionMastery championMastery,
+				boolean championMasteryRetrieved) {
+			this.participant = participant;
+			this.leaguePositions = leaguePositions;
+			this.championMastery = championMastery;
+			this.championMasteryRetrieved = championMasteryRetrieved;
+		}
+
+		/**
+		 * Returns the participant's mastery of the champion they play.
+		 * 
+		 * @return The champion mastery, or {@code null} if it has not been retrieved or the summoner has never played the champion
+		 */
+		public ChampionMastery getChampionMastery() {
+			return championMastery;
+		}
+
+		/**
+		 * Returns the participant's league positions.
+		 * 
+		 * @return The league positions, or {@code null} if they have not been retrieved
+		 */
+		public Set<LeaguePosition> getLeaguePositions() {
+			return leaguePositions;
+		}
+
+		public CurrentGameParticipant getParticipant() {
+			return participant;
+		}
+
+		/**
+		 * Returns {@code true} if the league positions and the champion mastery have been retrieved. Bots are always complete.
+		 * 
+		 * @return {@code true} if no result is missing
+		 */
+		public boolean isComplete() {
+			return (leaguePositions != null && championMasteryRetrieved) || !isEnrichable(participant);
+		}
+	}
+
+	/**
+	 * The results of a single enrichment, collected until all calls have completed or the deadline has passed
+	 */
+	private static class Enrichment {
+
+		private final ChampionMastery[] championMasteries;
+		private final boolean[] championMasteriesRetrieved;
+		private boolean done = false;
+		private volatile ScheduledFuture<?> deadline = null;
+		private final CurrentGameInfo game;
+		private final List<Set<LeaguePosition>> leaguePositions;
+		private final List<CompletableFuture<?>> pendingCalls = new ArrayList<CompletableFuture<?>>();
+		private int remaining;
+		private final CompletableFuture<EnrichedGame> result = new CompletableFuture<EnrichedGame>();
+
+		public Enrichment(CurrentGameInfo game, int participantCount) {
+			this.game = game;
+			championMasteries = new ChampionMastery[participantCount];
+			championMasteriesRetrieved = new boolean[participantCount];
+			leaguePositions = new ArrayList<Set<LeaguePosition>>(Collections.<Set<LeaguePosition>> nCopies(participantCount, null));
+		}
+
+		public void finish() {
+			List<CompletableFuture<?>> calls;
+			List<EnrichedParticipant> participants = new ArrayList<EnrichedParticipant>(leaguePositions.size());
+			synchronized (this) {
+				if (done) {
+					return;
+				}
+				done = true;
+				calls = new ArrayList<CompletableFuture<?>>(pendingCalls);
+				for (int i = 0; i < leaguePositions.size(); i++) {
+					participants.add(new EnrichedParticipant(game.getParticipants().get(i), leaguePositions.get(i), championMasteries[i],
+							championMasteriesRetrieved[i]));
+				}
+			}
+			if (deadline != null) {
+				deadline.cancel(false);
+			}
+			for (CompletableFuture<?> call : calls) {
+				call.cancel(false);
+			}
+			result.complete(new EnrichedGame(game, participants));
+		}
+
+		public void onCallDone(CompletableFuture<?> call) {
+			boolean finished;
+			synchronized (this) {
+				pendingCalls.remove(call);
+				finished = (--remaining == 0);
+			}
+			if (finished) {
+				finish();
+			}
+		}
+	}
+
+	private final RiotApiFuture api;
+
+	/**
+	 * Constructs a {@code CurrentGameEnricher}.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request league positions and champion masteries with
+	 * @throws NullPointerException
+	 *             If {@code api} is {@code null}
+	 */
+	public CurrentGameEnricher(RiotApi api) {
+		this.api = new RiotApiFuture(api);
+	}
+
+	private static boolean isEnrichable(CurrentGameParticipant participant) {
+		return participant.getSummonerId() != null && !participant.isBot();
+	}
+
+	private static boolean isNotFound(Throwable failure) {
+		if (failure instanceof CompletionException && failure.getCause() != null) {
+			failure = failure.getCause();
+		}
+		return failure instanceof RiotApiException && ((RiotApiException) failure).getErrorCode() == RiotApiException.DATA_NOT_FOUND;
+	}
+
+	/**
+	 * Enriches the given game with the league positions and champion masteries of its participants.
+	 * 
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param game
+	 *            The game to enrich
+	 * @param timeout
+	 *            The maximum time to wait for the results
+	 * @param unit
+	 *            The time unit of the {@code timeout} argument
+	 * @return A future that completes with the enriched game once all results have been retrieved or the deadline has passed. It never
+	 *         completes exceptionally; failed calls are missing from the enriched game instead.
+	 * @throws NullPointerException
+	 *             If {@code platform}, {@code game} or {@code unit} is {@code null}
+	 */
+	public CompletableFuture<EnrichedGame> enrich(Platform platform, CurrentGameInfo game, long timeout, TimeUnit unit) {
+		return enrich(platform, game, System.nanoTime() + unit.toNanos(timeout));
+	}
+
+	private CompletableFuture<EnrichedGame> enrich(Platform platform, CurrentGameInfo game, long deadlineNanos) {
+		Objects.requireNonNull(platform);
+		List<CurrentGameParticipant> participants = game.getParticipants();
+		if (participants == null) {
+			participants = Collections.emptyList();
+		}
+		final Enrichment enrichment = new Enrichment(game, participants.size());
+		List<Runnable> calls = new ArrayList<Runnable>();
+		for (int i = 0; i < participants.size(); i++) {
+			CurrentGameParticipant participant = participants.get(i);
+			if (!isEnrichable(participant)) {
+				continue;
+			}
+			final int index = i;
+			final CompletableFuture<Set<LeaguePosition>> leaguePositions = api.getLeaguePositionsBySummonerId(platform,
+					participant.getSummonerId());
+			final CompletableFuture<ChampionMastery> championMastery = api.getChampionMasteriesBySummonerByChampion(platform,
+					participant.getSummonerId(), participant.getChampionId());
+			enrichment.pendingCalls.add(leaguePositions);
+			enrichment.pendingCalls.add(championMastery);
+			enrichment.remaining += 2;
+			calls.add(new Runnable() {
+				@Override
+				public void run() {
+					leaguePositions.whenComplete(new BiConsumer<Set<LeaguePosition>, Throwable>() {
+						@Override
+						public void accept(Set<LeaguePosition> dto, Throwable failure) {
+							synchronized (enrichment) {
+								if (!enrichment.done && failure == null) {
+									enrichment.leaguePositions.set(index, dto);
+								}
+							}
+							enrichment.onCallDone(leaguePositions);
+						}
+					});
+					championMastery.whenComplete(new BiConsumer<ChampionMastery, Throwable>() {
+						@Override
+						public void accept(ChampionMastery dto, Throwable failure) {
+							synchronized (enrichment) {
+								// A summoner who has never played the champion has no mastery
+								if (!enrichment.done && (failure == null || isNotFound(failure))) {
+									enrichment.championMasteries[index] = dto;
+									enrichment.championMasteriesRetrieved[index] = true;
+								}
+							}
+							enrichment.onCallDone(championMastery);
+						}
+					});
+				}
+			});
+		}
+		if (calls.isEmpty()) {
+			enrichment.finish();
+			return enrichment.result;
+		}
+		long delay = Math.max(0, deadlineNanos - System.nanoTime());
+		enrichment.deadline = SharedScheduler.get().schedule(new Runnable() {
+			@Override
+			public void run() {
+				enrichment.finish();
+			}
+		}, delay, TimeUnit.NANOSECONDS);
+		for (Runnable call : calls) {
+			call.run();
+		}
+		return enrichment.result;
+	}
+
+	/**
+	 * Requests the active game of the given summoner and enriches it with the league positions and champion masteries of its participants.
+	 * The deadline covers requesting the active game as well.
+	 * 
+	 * @param platform
+	 *            Platform to execute the method calls against.
+	 * @param summonerId
+	 *            The ID of the summoner.
+	 * @param timeout
+	 *            The maximum time to wait for the results
+	 * @param unit
+	 *            The time unit of the {@code timeout} argument
+	 * @return A future that completes with the enriched game, or with {@code null} if the summoner is not in a game. If requesting the active
+	 *         game fails otherwise, the future completes exceptionally with the {@link RiotApiException}.
+	 * @throws NullPointerException
+	 *             If {@code platform}, {@code summonerId} or {@code unit} is {@code null}
+	 */
+	public CompletableFuture<EnrichedGame> enrichActiveGame(final Platform platform, String summonerId, long timeout, TimeUnit unit) {
+		Objects.requireNonNull(platform);
+		final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+		final CompletableFuture<EnrichedGame> result = new CompletableFuture<EnrichedGame>();
+		// Summoners that are not in a game are answered with null instead of a DATA_NOT_FOUND exception
+		ApiMethod method = new GetActiveGameBySummoner(api.getConfig(), platform, summonerId, true);
+		api.<CurrentGameInfo> callCustomApiMethod(method).whenComplete(new BiConsumer<CurrentGameInfo, Throwable>() {
+			@Override
+			public void accept(CurrentGameInfo game, Throwable failure) {
+				if (failure != null) {
+					result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+					return;
+				}
+				if (game == null) {
+					result.complete(null);
+					return;
+				}
+				enrich(platform, game, deadlineNanos).whenComplete(new BiConsumer<EnrichedGame, Throwable>() {
+					@Override
+					public void accept(EnrichedGame enrichedGame, Throwable failure) {
+						result.complete(enrichedGame);
+					}
+				});
+			}
+		});
+		return result;
+	}
+}
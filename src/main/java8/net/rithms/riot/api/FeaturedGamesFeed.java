@@ -0,0 +1,387 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+
+import net.rithms.riot.api.endpoints.spectator.dto.FeaturedGameInfo;
+import net.rithms.riot.api.endpoints.spectator.dto.FeaturedGames;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Keeps the featured games of several platforms up to date and notifies {@link Listener}s about games that were added to or removed from
+ * the featured games. Each platform is refreshed after the interval the Riot Api suggests with {@link FeaturedGames#getClientRefreshInterval()}
+ * on the scheduler shared by all {@code RiotApi} instances. Games are identified by their game ID, so games that are featured across several
+ * refreshes are reported only once.
+ * 
+ * <pre>
+ * FeaturedGamesFeed feed = new FeaturedGamesFeed(api);
+ * feed.addListener(listener);
+ * feed.start();
+ * </pre>
+ * 
+ * <p>
+ * The first refresh of a platform reports all of its featured games as added. Listeners are notified on the threads that complete the
+ * requests. This class is thread-safe.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class requires Java 8 or higher at runtime.</i>
+ * </p>
+ */
+public class FeaturedGamesFeed {
+
+	/**
+	 * The listener interface for receiving changes of the featured games
+	 */
+	public interface Listener {
+
+		/**
+		 * Invoked when a game is featured for the first time.
+		 * 
+		 * @param platform
+		 *            Platform of the game
+		 * @param game
+		 *            The game
+		 */
+		public void onGameAdded(Platform platform, FeaturedGameInfo game);
+
+		/**
+		 * Invoked when a game is no longer featured, usually because it ended.
+		 * 
+		 * @param platform
+		 *            Platform of the game
+		 * @param game
+		 *            The last info received about the game
+		 */
+		public void onGameRemoved(Platform platform, FeaturedGameInfo game);
+	}
+
+	private static class PlatformFeed {
+
+		private final Map<Long, FeaturedGameInfo> games = new LinkedHashMap<Long, FeaturedGameInfo>();
+		// Identifies the current chain of scheduled refreshes, guarded by the FeaturedGamesFeed
+		private long generation = 0;
+		private ScheduledFuture<?> nextRefresh = null;
+		private long refreshCount = 0;
+		// Orders the responses of refreshes running at once, guarded by the PlatformFeed
+		private long lastSequence = 0;
+		private long appliedSequence = 0;
+	}
+
+	public static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 300;
+
+	private final RiotApiFuture api;
+	private long defaultRefreshIntervalSeconds = DEFAULT_REFRESH_INTERVAL_SECONDS;
+	private final Map<Platform, PlatformFeed> feeds = new EnumMap<Platform, PlatformFeed>(Platform.class);
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+	private Set<Platform> platforms = EnumSet.allOf(Platform.class);
+	private boolean running = false;
+
+	/**
+	 * Constructs a {@code FeaturedGamesFeed} for all platforms. Call {@link #start()} to start refreshing.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request the featured games with
+	 * @throws NullPointerException
+	 *             If {@code api} is {@code null}
+	 */
+	public FeaturedGamesFeed(RiotApi api) {
+		this.api = new RiotApiFuture(api);
+		for (Platform platform : Platform.values()) {
+			feeds.put(platform, new PlatformFeed());
+		}
+	}
+
+	/**
+	 * Adds a listener, that is notified about changes of the featured games of all platforms.
+	 * 
+	 * @param listener
+	 *            The listener to add
+	 */
+	public void addListener(Listener listener) {
+		listeners.add(Objects.requireNonNull(listener));
+	}
+
+	/**
+	 * Applies the featured games received by the refresh with the given sequence number, unless a later refresh has been applied already.
+	 */
+	private void apply(Platform platform, long sequence, FeaturedGames featuredGames) {
+		List<FeaturedGameInfo> added = new ArrayList<FeaturedGameInfo>();
+		List<FeaturedGameInfo> removed = new ArrayList<FeaturedGameInfo>();
+		Map<Long, FeaturedGameInfo> current = new LinkedHashMap<Long, FeaturedGameInfo>();
+		if (featuredGames.getGameList() != null) {
+			for (FeaturedGameInfo game : featuredGames.getGameList()) {
+				current.put(game.getGameId(), game);
+			}
+		}
+		PlatformFeed feed = feeds.get(platform);
+		synchronized (feed) {
+			if (sequence < feed.appliedSequence) {
+				// A refresh that was started later completed first, so these games are outdated
+				return;
+			}
+			feed.appliedSequence = sequence;
+			for (Iterator<FeaturedGameInfo> it = feed.games.values().iterator(); it.hasNext();) {
+				FeaturedGameInfo game = it.next();
+				if (!current.containsKey(game.getGameId())) {
+					removed.add(game);
+					it.remove();
+				}
+			}
+			for (FeaturedGameInfo game : current.values()) {
+				if (feed.games.put(game.getGameId(), game) == null) {
+					added.add(game);
+				}
+			}
+			feed.refreshCount++;
+		}
+		for (Listener listener : listeners) {
+			for (FeaturedGameInfo game : removed) {
+				listener.onGameRemoved(platform, game);
+			}
+			for (FeaturedGameInfo game : added) {
+				listener.onGameAdded(platform, game);
+			}
+		}
+	}
+
+	public synchronized long getDefaultRefreshInterval(TimeUnit unit) {
+		return unit.convert(defaultRefreshIntervalSeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Returns the games that were featured on the given platform at the last refresh.
+	 * 
+	 * @param platform
+	 *            Platform of the games
+	 * @return The featured games, or an empty list if the platform has not been refreshed yet
+	 */
+	public List<FeaturedGameInfo> getGames(Platform platform) {
+		PlatformFeed feed = feeds.get(Objects.requireNonNull(platform));
+		synchronized (feed) {
+			return new ArrayList<FeaturedGameInfo>(feed.games.values());
+		}
+	}
+
+	public synchronized Set<Platform> getPlatforms() {
+		return Collections.unmodifiableSet(platforms);
+	}
+
+	/**
+	 * Returns the number of completed refreshes of the given platform, not counting refreshes whose response was outdated.
+	 * 
+	 * @param platform
+	 *            Platform
+	 * @return The number of completed refreshes
+	 */
+	public long getRefreshCount(Platform platform) {
+		PlatformFeed feed = feeds.get(Objects.requireNonNull(platform));
+		synchronized (feed) {
+			return feed.refreshCount;
+		}
+	}
+
+	public synchronized boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Requests the featured games of the given platform right away and notifies the listeners about the changes. This does not affect the
+	 * scheduled refreshes. If a refresh of the same platform that was started later completes first, the response of this refresh is
+	 * outdated and ignored.
+	 * 
+	 * @param platform
+	 *            Platform to refresh
+	 * @return A future that completes with the featured games once the listeners have been notified, or completes exceptionally if the
+	 *         request failed
+	 * @throws NullPointerException
+	 *             If {@code platform} is {@code null}
+	 */
+	public CompletableFuture<FeaturedGames> refresh(final Platform platform) {
+		Objects.requireNonNull(platform);
+		final CompletableFuture<FeaturedGames> result = new CompletableFuture<FeaturedGames>();
+		PlatformFeed feed = feeds.get(platform);
+		final long sequence;
+		synchronized (feed) {
+			sequence = ++feed.lastSequence;
+		}
+		api.getFeaturedGames(platform).whenComplete(new BiConsumer<FeaturedGames, Throwable>() {
+			@Override
+			public void accept(FeaturedGames featuredGames, Throwable failure) {
+				if (failure == null && featuredGames == null) {
+					failure = new RiotApiException(RiotApiException.PARSE_FAILURE);
+				}
+				if (failure != null) {
+					result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+					return;
+				}
+				try {
+					apply(platform, sequence, featuredGames);
+				} finally {
+					result.complete(featuredGames);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener
+	 *            The listener to remove
+	 */
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Ends the current chain of scheduled refreshes of the given platform. A refresh that is in flight does not schedule another one.
+	 * 
+	 * @return The generation of the next chain
+	 */
+	private synchronized long restartRefreshes(Platform platform) {
+		PlatformFeed feed = feeds.get(platform);
+		if (feed.nextRefresh != null) {
+			feed.nextRefresh.cancel(false);
+			feed.nextRefresh = null;
+		}
+		return ++feed.generation;
+	}
+
+	private synchronized void scheduleRefresh(final Platform platform, final long generation, long delaySeconds) {
+		final PlatformFeed feed = feeds.get(platform);
+		if (feed.generation != generation) {
+			return;
+		}
+		feed.nextRefresh = SharedScheduler.get().schedule(new Runnable() {
+			@Override
+			public void run() {
+				synchronized (FeaturedGamesFeed.this) {
+					if (feed.generation != generation) {
+						return;
+					}
+				}
+				refresh(platform).whenComplete(new BiConsumer<FeaturedGames, Throwable>() {
+					@Override
+					public void accept(FeaturedGames featuredGames, Throwable failure) {
+						long interval = getDefaultRefreshInterval(TimeUnit.SECONDS);
+						if (failure != null) {
+							RiotApi.log.log(Level.FINE, "[" + platform + "] FeaturedGamesFeed > Refresh failed", failure);
+						} else if (featuredGames.getClientRefreshInterval() > 0) {
+							interval = featuredGames.getClientRefreshInterval();
+						}
+						scheduleRefresh(platform, generation, interval);
+					}
+				});
+			}
+		}, delaySeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Sets the interval to refresh a platform after, if the Riot Api does not suggest one or the last refresh failed.
+	 * 
+	 * Default: {@value #DEFAULT_REFRESH_INTERVAL_SECONDS} seconds
+	 * 
+	 * @param interval
+	 *            The interval
+	 * @param unit
+	 *            The time unit of the {@code interval} argument
+	 * @return This {@code FeaturedGamesFeed}
+	 * @throws IllegalArgumentException
+	 *             If {@code interval} is shorter than one second
+	 */
+	public synchronized FeaturedGamesFeed setDefaultRefreshInterval(long interval, TimeUnit unit) {
+		if (unit.toSeconds(interval) < 1) {
+			throw new IllegalArgumentException("interval must be at least one second");
+		}
+		defaultRefreshIntervalSeconds = unit.toSeconds(interval);
+		return this;
+	}
+
+	/**
+	 * Sets the platforms to refresh. Platforms that are removed while the feed is running stop being refreshed right away, and added
+	 * platforms are refreshed right away.
+	 * 
+	 * Default: All platforms
+	 * 
+	 * @param platforms
+	 *            The platforms
+	 * @return This {@code FeaturedGamesFeed}
+	 */
+	public synchronized FeaturedGamesFeed setPlatforms(Platform... platforms) {
+		Set<Platform> set = EnumSet.noneOf(Platform.class);
+		set.addAll(Arrays.asList(platforms));
+		for (Platform platform : this.platforms) {
+			if (!set.contains(platform)) {
+				restartRefreshes(platform);
+			}
+		}
+		if (running) {
+			for (Platform platform : set) {
+				if (!this.platforms.contains(platform)) {
+					scheduleRefresh(platform, restartRefreshes(platform), 0);
+				}
+			}
+		}
+		this.platforms = set;
+		return this;
+	}
+
+	/**
+	 * Starts refreshing the featured games of all configured platforms, beginning with an immediate refresh of each.
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		for (Platform platform : platforms) {
+			scheduleRefresh(platform, restartRefreshes(platform), 0);
+		}
+	}
+
+	/**
+	 * Stops refreshing. Refreshes that are in flight still complete and notify the listeners, but do not schedule further refreshes.
+	 * Refreshing can be resumed with {@link #start()}.
+	 */
+	public synchronized void stop() {
+		running = false;
+		for (Platform platform : feeds.keySet()) {
+			restartRefreshes(platform);
+		}
+	}
+}
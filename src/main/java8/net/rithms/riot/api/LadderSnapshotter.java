@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import net.rithms.riot.api.LadderSnapshot.Failure;
+import net.rithms.riot.api.LadderSnapshot.Ladder;
+import net.rithms.riot.api.LadderSnapshot.Tier;
+import net.rithms.riot.api.endpoints.league.constant.LeagueQueue;
+import net.rithms.riot.api.endpoints.league.dto.LeagueList;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Takes {@link LadderSnapshot}s of the challenger, grandmaster and master ladders of all configured platforms and queues. The ladders are
+ * requested concurrently, while the number of concurrent requests per platform is bounded, so that a single snapshot does not exhaust the
+ * rate limits of one platform in a burst.
+ * 
+ * <pre>
+ * LadderSnapshotter snapshotter = new LadderSnapshotter(api).setQueues(LeagueQueue.RANKED_SOLO_5x5);
+ * LadderSnapshot snapshot = snapshotter.takeSnapshot();
+ * </pre>
+ * 
+ * <p>
+ * A ladder that can not be retrieved does not fail the whole snapshot, but is reported by {@link LadderSnapshot#getFailures()}.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class requires Java 8 or higher at runtime.</i>
+ * </p>
+ */
+public class LadderSnapshotter {
+
+	/**
+	 * Requests of a single platform, which are started one after another as earlier ones complete
+	 */
+	private class PlatformRequests {
+
+		private int inFlight = 0;
+		private final Queue<Runnable> pending = new ArrayDeque<Runnable>();
+
+		public synchronized void add(Runnable request) {
+			pending.add(request);
+		}
+
+		public void onRequestDone() {
+			synchronized (this) {
+				inFlight--;
+			}
+			startRequests();
+		}
+
+		public void startRequests() {
+			while (true) {
+				Runnable request;
+				synchronized (this) {
+					if (inFlight >= maxConcurrentRequestsPerPlatform || pending.isEmpty()) {
+						return;
+					}
+					inFlight++;
+					request = pending.poll();
+				}
+				request.run();
+			}
+		}
+	}
+
+	public static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_PLATFORM = 3;
+
+	private static final Comparator<Failure> FAILURE_ORDER = new Comparator<Failure>() {
+		@Override
+		public int compare(Failure o1, Failure o2) {
+			return compareKeys(o1.getPlatform(), o1.getQueue(), o1.getTier(), o2.getPlatform(), o2.getQueue(), o2.getTier());
+		}
+	};
+	private static final Comparator<Ladder> LADDER_ORDER = new Comparator<Ladder>() {
+		@Override
+		public int compare(Ladder o1, Ladder o2) {
+			return compareKeys(o1.getPlatform(), o1.getQueue(), o1.getTier(), o2.getPlatform(), o2.getQueue(), o2.getTier());
+		}
+	};
+
+	private final RiotApiFuture api;
+	private volatile LadderSnapshot lastSnapshot = null;
+	private volatile int maxConcurrentRequestsPerPlatform = DEFAULT_MAX_CONCURRENT_REQUESTS_PER_PLATFORM;
+	private volatile Set<Platform> platforms = EnumSet.allOf(Platform.class);
+	private volatile Set<LeagueQueue> queues = EnumSet.of(LeagueQueue.RANKED_SOLO_5x5, LeagueQueue.RANKED_FLEX_SR);
+	private volatile Set<Tier> tiers = EnumSet.allOf(Tier.class);
+
+	/**
+	 * Constructs a {@code LadderSnapshotter} for all platforms and tiers of the solo and flex queues on Summoner's Rift.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to request the ladders with
+	 * @throws NullPointerException
+	 *             If {@code api} is {@code null}
+	 */
+	public LadderSnapshotter(RiotApi api) {
+		this.api = new RiotApiFuture(api);
+	}
+
+	private static int compareKeys(Platform platform1, LeagueQueue queue1, Tier tier1, Platform platform2, LeagueQueue queue2, Tier tier2) {
+		int result = platform1.compareTo(platform2);
+		if (result == 0) {
+			result = queue1.compareTo(queue2);
+		}
+		if (result == 0) {
+			result = tier1.compareTo(tier2);
+		}
+		return result;
+	}
+
+	private static RiotApiException toRiotApiException(Throwable failure) {
+		if (failure instanceof CompletionException && failure.getCause() != null) {
+			failure = failure.getCause();
+		}
+		if (failure instanceof RiotApiException) {
+			return (RiotApiException) failure;
+		}
+		return new RiotApiException(RiotApiException.IOEXCEPTION, String.valueOf(failure));
+	}
+
+	/**
+	 * Returns the most recent snapshot taken by this {@code LadderSnapshotter}.
+	 * 
+	 * @return The most recent snapshot, or {@code null} if no snapshot has been completed yet
+	 */
+	public LadderSnapshot getLastSnapshot() {
+		return lastSnapshot;
+	}
+
+	public int getMaxConcurrentRequestsPerPlatform() {
+		return maxConcurrentRequestsPerPlatform;
+	}
+
+	public Set<Platform> getPlatforms() {
+		return Collections.unmodifiableSet(platforms);
+	}
+
+	public Set<LeagueQueue> getQueues() {
+		return Collections.unmodifiableSet(queues);
+	}
+
+	public Set<Tier> getTiers() {
+		return Collections.unmodifiableSet(tiers);
+	}
+
+	private CompletableFuture<LeagueList> requestLadder(Platform platform, LeagueQueue queue, Tier tier) {
+		switch (tier) {
+		case CHALLENGER:
+			return api.getChallengerLeagueByQueue(platform, queue);
+		case GRANDMASTER:
+			return api.getGrandmasterLeagueByQueue(platform, queue);
+		default:
+			return api.getMasterLeagueByQueue(platform, queue);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of ladders that are requested concurrently from a single platform.
+	 * 
+	 * Default: {@value #DEFAULT_MAX_CONCURRENT_REQUESTS_PER_PLATFORM}
+	 * 
+	 * @param maxConcurrentRequestsPerPlatform
+	 *            Maximum number of concurrent requests per platform
+	 * @return This {@code LadderSnapshotter}
+	 * @throws IllegalArgumentException
+	 *             If {@code maxConcurrentRequestsPerPlatform} is less than {@code 1}
+	 */
+	public LadderSnapshotter setMaxConcurrentRequestsPerPlatform(int maxConcurrentRequestsPerPlatform) {
+		if (maxConcurrentRequestsPerPlatform < 1) {
+			throw new IllegalArgumentException("maxConcurrentRequestsPerPlatform must be at least 1");
+		}
+		this.maxConcurrentRequestsPerPlatform = maxConcurrentRequestsPerPlatform;
+		return this;
+	}
+
+	/**
+	 * Sets the platforms to take the ladders of.
+	 * 
+	 * Default: All platforms
+	 * 
+	 * @param platforms
+	 *            The platforms
+	 * @return This {@code LadderSnapshotter}
+	 */
+	public LadderSnapshotter setPlatforms(Platform... platforms) {
+		Set<Platform> set = EnumSet.noneOf(Platform.class);
+		set.addAll(Arrays.asList(platforms));
+		this.platforms = set;
+		return this;
+	}
+
+	/**
+	 * Sets the queues to take the ladders of.
+	 * 
+	 * Default: {@link LeagueQueue#RANKED_SOLO_5x5} and {@link LeagueQueue#RANKED_FLEX_SR}, since the Twisted Treeline queue is retired
+	 * 
+	 * @param queues
+	 *            The queues
+	 * @return This {@code LadderSnapshotter}
+	 */
+	public LadderSnapshotter setQueues(LeagueQueue... queues) {
+		Set<LeagueQueue> set = EnumSet.noneOf(LeagueQueue.class);
+		set.addAll(Arrays.asList(queues));
+		this.queues = set;
+		return this;
+	}
+
+	/**
+	 * Sets the tiers to take the ladders of.
+	 * 
+	 * Default: All tiers
+	 * 
+	 * @param tiers
+	 *            The tiers
+	 * @return This {@code LadderSnapshotter}
+	 */
+	public LadderSnapshotter setTiers(Tier... tiers) {
+		Set<Tier> set = EnumSet.noneOf(Tier.class);
+		set.addAll(Arrays.asList(tiers));
+		this.tiers = set;
+		return this;
+	}
+
+	/**
+	 * Takes a snapshot of all configured ladders and waits until all of them have been retrieved or failed.
+	 * 
+	 * @return The snapshot
+	 * @throws InterruptedException
+	 *             If the calling thread is interrupted while waiting for the snapshot
+	 */
+	public LadderSnapshot takeSnapshot() throws InterruptedException {
+		try {
+			return takeSnapshotAsync().get();
+		} catch (ExecutionException e) {
+			// Failures of single ladders are part of the snapshot
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Takes a snapshot of all configured ladders without blocking the calling thread. Summoner IDs and names are shared with the previous
+	 * snapshot, see {@link Ladder#Ladder(Platform, LeagueQueue, Tier, LeagueList, LadderSnapshot)}.
+	 * 
+	 * @return A future that completes with the snapshot once all ladders have been retrieved or failed
+	 */
+	public CompletableFuture<LadderSnapshot> takeSnapshotAsync() {
+		final long timestamp = System.currentTimeMillis();
+		final LadderSnapshot previous = lastSnapshot;
+		final CompletableFuture<LadderSnapshot> result = new CompletableFuture<LadderSnapshot>();
+		final List<Ladder> ladders = Collections.synchronizedList(new ArrayList<Ladder>());
+		final List<Failure> failures = Collections.synchronizedList(new ArrayList<Failure>());
+		Set<Platform> platforms = this.platforms;
+		Set<LeagueQueue> queues = this.queues;
+		Set<Tier> tiers = this.tiers;
+		final AtomicInteger remaining = new AtomicInteger(platforms.size() * queues.size() * tiers.size());
+		if (remaining.get() == 0) {
+			result.complete(new LadderSnapshot(timestamp, ladders, failures));
+			return result;
+		}
+		List<PlatformRequests> requestsByPlatform = new ArrayList<PlatformRequests>();
+		for (final Platform platform : platforms) {
+			final PlatformRequests platformRequests = new PlatformRequests();
+			for (final LeagueQueue queue : queues) {
+				for (final Tier tier : tiers) {
+					platformRequests.add(new Runnable() {
+						@Override
+						public void run() {
+							requestLadder(platform, queue, tier).whenComplete(new BiConsumer<LeagueList, Throwable>() {
+								@Override
+								public void accept(LeagueList leagueList, Throwable failure) {
+									try {
+										if (failure != null) {
+											failures.add(new Failure(platform, queue, tier, toRiotApiException(failure)));
+										} else if (leagueList == null) {
+											failures.add(new Failure(platform, queue, tier, new RiotApiException(RiotApiException.PARSE_FAILURE)));
+										} else {
+											ladders.add(new Ladder(platform, queue, tier, leagueList, previous));
+										}
+									} catch (RuntimeException e) {
+										// The league list is malformed, e.g. contains null entries
+										failures.add(new Failure(platform, queue, tier, new RiotApiException(RiotApiException.PARSE_FAILURE,
+												String.valueOf(e))));
+									} finally {
+										platformRequests.onRequestDone();
+										if (remaining.decrementAndGet() == 0) {
+											List<Ladder> sortedLadders = new ArrayList<Ladder>(ladders);
+											Collections.sort(sortedLadders, LADDER_ORDER);
+											List<Failure> sortedFailures = new ArrayList<Failure>(failures);
+											Collections.sort(sortedFailures, FAILURE_ORDER);
+											LadderSnapshot snapshot = new LadderSnapshot(timestamp, sortedLadders, sortedFailures);
+											lastSnapshot = snapshot;
+											result.complete(snapshot);
+										}
+									}
+								}
+							});
+						}
+					});
+				}
+			}
+			requestsByPlatform.add(platformRequests);
+		}
+		for (PlatformRequests platformRequests : requestsByPlatform) {
+			platformRequests.startRequests();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+
+import net.rithms.riot.api.endpoints.tournament.dto.LobbyEvent;
+import net.rithms.riot.api.endpoints.tournament.dto.LobbyEventWrapper;
+
+/**
+ * Polls the lobby events of a large number of tournament codes and notifies {@link Listener}s only about events that were not delivered
+ * before.
+ * 
+ * <p>
+ * The Riot Api always returns all lobby events of a tournament code. For every code, this class keeps the timestamp of the latest event
+ * seen, together with the events at exactly that timestamp, and skips all events up to it. Since the Riot Api does not guarantee that
+ * events are listed chronologically, the events of every response are sorted by their timestamp first. Events are expected to carry their
+ * timestamp as epoch milliseconds; events with a malformed timestamp are skipped.
+ * </p>
+ * 
+ * <pre>
+ * LobbyEventPoller poller = new LobbyEventPoller(api);
+ * poller.addListener(listener);
+ * poller.track(tournamentCode);
+ * poller.start();
+ * </pre>
+ * 
+ * <p>
+ * Each code is polled once per poll interval. To stay within the limits of the tournament api key, polls are dispatched by a shared
+ * scheduler thread no faster than {@link #getMaxPollsPerSecond()} across all codes, with at most {@link #getMaxConcurrentPolls()} polls in
+ * flight at once. If more codes are tracked than the poll rate allows within one poll interval, codes are polled round-robin, so the
+ * effective interval grows with the number of codes. Listeners are notified on the threads that complete the requests, and events of one
+ * code are always delivered in order. This class is thread-safe.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class requires Java 8 or higher at runtime.</i>
+ * </p>
+ */
+public class LobbyEventPoller {
+
+	/**
+	 * The listener interface for receiving new lobby events of tracked tournament codes
+	 */
+	public interface Listener {
+
+		/**
+		 * Invoked when new lobby events of a tracked tournament code have been received.
+		 * 
+		 * @param tournamentCode
+		 *            Tournament code
+		 * @param events
+		 *            The new events, sorted by their timestamp. Events with the same timestamp are in the order returned by the Riot Api
+		 */
+		public void onLobbyEvents(String tournamentCode, List<LobbyEvent> events);
+	}
+
+	private static class TimedEvent implements Comparable<TimedEvent> {
+
+		private final LobbyEvent event;
+		private final long timestamp;
+
+		public TimedEvent(LobbyEvent event, long timestamp) {
+			this.event = event;
+			this.timestamp = timestamp;
+		}
+
+		@Override
+		public int compareTo(TimedEvent other) {
+			return Long.compare(timestamp, other.timestamp);
+		}
+	}
+
+	private static class Tracked {
+
+		private boolean boundaryComplete = false;
+		private final Set<String> boundaryEvents = new HashSet<String>();
+		private long lastTimestamp;
+		private long nextPollNanos;
+		private boolean removed = false;
+		private final String tournamentCode;
+
+		public Tracked(String tournamentCode, long lastTimestamp) {
+			this.tournamentCode = tournamentCode;
+			this.lastTimestamp = lastTimestamp;
+		}
+	}
+
+	public static final int DEFAULT_MAX_CONCURRENT_POLLS = 5;
+	public static final double DEFAULT_MAX_POLLS_PER_SECOND = 10;
+	public static final long DEFAULT_POLL_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private final RiotApiFuture api;
+	private int inFlight = 0;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+	private int maxConcurrentPolls = DEFAULT_MAX_CONCURRENT_POLLS;
+	private double maxPollsPerSecond = DEFAULT_MAX_POLLS_PER_SECOND;
+	private long nextSlotNanos = System.nanoTime();
+	private long pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_POLL_INTERVAL_MILLIS);
+	private final Queue<Tracked> queue = new PriorityQueue<Tracked>(16, new Comparator<Tracked>() {
+		@Override
+		public int compare(Tracked t1, Tracked t2) {
+			return Long.compare(t1.nextPollNanos - t2.nextPollNanos, 0);
+		}
+	});
+	private boolean running = false;
+	private final Map<String, Tracked> tracked = new HashMap<String, Tracked>();
+	private ScheduledFuture<?> wakeUp = null;
+	private long wakeUpNanos = 0;
+
+	/**
+	 * Constructs a {@code LobbyEventPoller} without any tracked tournament codes. Call {@link #start()} to start polling.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to poll with
+	 * @throws NullPointerException
+	 *             If {@code api} is {@code null}
+	 */
+	public LobbyEventPoller(RiotApi api) {
+		this.api = new RiotApiFuture(api);
+	}
+
+	/**
+	 * Adds a listener, that is notified about new lobby events of all tracked tournament codes.
+	 * 
+	 * @param listener
+	 *            The listener to add
+	 */
+	public void addListener(Listener listener) {
+		listeners.add(Objects.requireNonNull(listener));
+	}
+
+	/**
+	 * Polls the tournament codes that are due, as long as the poll rate and the maximum number of polls in flight allow it, and schedules the
+	 * next dispatch.
+	 */
+	private void dispatch() {
+		List<Tracked> due = new ArrayList<Tracked>();
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			long now = System.nanoTime();
+			long spacingNanos = (long) (TimeUnit.SECONDS.toNanos(1) / maxPollsPerSecond);
+			long nextDispatchNanos = 0;
+			boolean wait = false;
+			while (inFlight < maxConcurrentPolls && !queue.isEmpty()) {
+				Tracked code = queue.peek();
+				if (code.removed) {
+					queue.poll();
+					continue;
+				}
+				nextDispatchNanos = (code.nextPollNanos - nextSlotNanos > 0 ? code.nextPollNanos : nextSlotNanos);
+				if (nextDispatchNanos - now > 0) {
+					wait = true;
+					break;
+				}
+				queue.poll();
+				inFlight++;
+				// Slots that were not used in the past are not saved up, to avoid bursts
+				nextSlotNanos = (now - nextSlotNanos > 0 ? now : nextSlotNanos) + spacingNanos;
+				due.add(code);
+			}
+			// Once the maximum number of polls is in flight, the next dispatch is triggered by a completing poll
+			if (wait && (wakeUp == null || wakeUp.isDone() || nextDispatchNanos - wakeUpNanos < 0)) {
+				if (wakeUp != null) {
+					wakeUp.cancel(false);
+				}
+				final long scheduledNanos = nextDispatchNanos;
+				wakeUpNanos = scheduledNanos;
+				wakeUp = SharedScheduler.get().schedule(new Runnable() {
+					@Override
+					public void run() {
+						synchronized (LobbyEventPoller.this) {
+							// This wake-up is not done while it runs, so it must be cleared for dispatch() to schedule the next one
+							if (wakeUp != null && wakeUpNanos == scheduledNanos) {
+								wakeUp = null;
+							}
+						}
+						dispatch();
+					}
+				}, nextDispatchNanos - now, TimeUnit.NANOSECONDS);
+			}
+		}
+		for (Tracked code : due) {
+			poll(code);
+		}
+	}
+
+	/**
+	 * Returns the timestamp of the latest lobby event seen for the given tournament code.
+	 * 
+	 * @param tournamentCode
+	 *            Tournament code
+	 * @return The timestamp specified as epoch milliseconds, or {@code -1} if the code is not tracked or no event has been seen yet
+	 */
+	public synchronized long getLastTimestamp(String tournamentCode) {
+		Tracked code = tracked.get(tournamentCode);
+		return (code == null ? -1 : code.lastTimestamp);
+	}
+
+	public synchronized int getMaxConcurrentPolls() {
+		return maxConcurrentPolls;
+	}
+
+	public synchronized double getMaxPollsPerSecond() {
+		return maxPollsPerSecond;
+	}
+
+	public synchronized long getPollInterval(TimeUnit unit) {
+		return unit.convert(pollIntervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized boolean isRunning() {
+		return running;
+	}
+
+	private void onPolled(Tracked code, LobbyEventWrapper wrapper, Throwable failure) {
+		List<LobbyEvent> newEvents = Collections.emptyList();
+		boolean notify;
+		synchronized (this) {
+			inFlight--;
+			if (failure != null) {
+				// Retry with the regular interval
+				RiotApi.log.log(Level.FINE, "[" + code.tournamentCode + "] LobbyEventPoller > Poll failed", failure);
+			} else if (wrapper != null && wrapper.getEventList() != null) {
+				newEvents = selectNewEvents(code, wrapper.getEventList());
+			}
+			notify = !code.removed && !newEvents.isEmpty();
+			if (!code.removed) {
+				code.nextPollNanos = System.nanoTime() + pollIntervalNanos;
+				queue.add(code);
+			}
+		}
+		if (notify) {
+			List<LobbyEvent> events = Collections.unmodifiableList(newEvents);
+			for (Listener listener : listeners) {
+				listener.onLobbyEvents(code.tournamentCode, events);
+			}
+		}
+		dispatch();
+	}
+
+	private void poll(final Tracked code) {
+		CompletableFuture<LobbyEventWrapper> future = api.getLobbyEventsByTournament(code.tournamentCode);
+		future.whenComplete(new BiConsumer<LobbyEventWrapper, Throwable>() {
+			@Override
+			public void accept(LobbyEventWrapper wrapper, Throwable failure) {
+				onPolled(code, wrapper, failure);
+			}
+		});
+	}
+
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener
+	 *            The listener to remove
+	 */
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the events that are newer than the latest event seen for the given code and advances its timestamp.
+	 */
+	private static List<LobbyEvent> selectNewEvents(Tracked code, List<LobbyEvent> events) {
+		List<TimedEvent> timedEvents = new ArrayList<TimedEvent>(events.size());
+		for (LobbyEvent event : events) {
+			try {
+				timedEvents.add(new TimedEvent(event, Long.parseLong(event.getTimestamp())));
+			} catch (NumberFormatException e) {
+				RiotApi.log.fine("[" + code.tournamentCode + "] LobbyEventPoller > Skipping event with malformed timestamp: " + event.getTimestamp());
+			}
+		}
+		// An event listed after a newer one would otherwise be skipped for good. The sort is stable, so events with the same timestamp keep
+		// their order
+		Collections.sort(timedEvents);
+		List<LobbyEvent> newEvents = new ArrayList<LobbyEvent>();
+		for (TimedEvent timedEvent : timedEvents) {
+			LobbyEvent event = timedEvent.event;
+			long timestamp = timedEvent.timestamp;
+			String key = event.getEventType() + '\u0000' + event.getSummonerId();
+			if (timestamp > code.lastTimestamp) {
+				code.lastTimestamp = timestamp;
+				code.boundaryComplete = false;
+				code.boundaryEvents.clear();
+			} else if (timestamp < code.lastTimestamp || code.boundaryComplete || code.boundaryEvents.contains(key)) {
+				continue;
+			}
+			code.boundaryEvents.add(key);
+			newEvents.add(event);
+		}
+		return newEvents;
+	}
+
+	/**
+	 * Sets the maximum number of polls that are in flight at once.
+	 * 
+	 * Default: {@value #DEFAULT_MAX_CONCURRENT_POLLS}
+	 * 
+	 * @param maxConcurrentPolls
+	 *            Maximum number of concurrent polls
+	 * @return This {@code LobbyEventPoller}
+	 * @throws IllegalArgumentException
+	 *             If {@code maxConcurrentPolls} is less than {@code 1}
+	 */
+	public LobbyEventPoller setMaxConcurrentPolls(int maxConcurrentPolls) {
+		if (maxConcurrentPolls < 1) {
+			throw new IllegalArgumentException("maxConcurrentPolls must be at least 1");
+		}
+		synchronized (this) {
+			this.maxConcurrentPolls = maxConcurrentPolls;
+		}
+		dispatch();
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of polls that are started per second across all tracked tournament codes. This should leave room below the
+	 * rate limit of the tournament api key for other calls made with it.
+	 * 
+	 * Default: {@value #DEFAULT_MAX_POLLS_PER_SECOND}
+	 * 
+	 * @param maxPollsPerSecond
+	 *            Maximum number of polls per second
+	 * @return This {@code LobbyEventPoller}
+	 * @throws IllegalArgumentException
+	 *             If {@code maxPollsPerSecond} is not positive
+	 */
+	public synchronized LobbyEventPoller setMaxPollsPerSecond(double maxPollsPerSecond) {
+		if (!(maxPollsPerSecond > 0)) {
+			throw new IllegalArgumentException("maxPollsPerSecond must be positive");
+		}
+		this.maxPollsPerSecond = maxPollsPerSecond;
+		return this;
+	}
+
+	/**
+	 * Sets the interval each tournament code is polled with, as long as the poll rate allows it.
+	 * 
+	 * Default: 30 seconds
+	 * 
+	 * @param interval
+	 *            The interval
+	 * @param unit
+	 *            The time unit of the {@code interval} argument
+	 * @return This {@code LobbyEventPoller}
+	 * @throws IllegalArgumentException
+	 *             If {@code interval} is not positive
+	 */
+	public synchronized LobbyEventPoller setPollInterval(long interval, TimeUnit unit) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("interval must be positive");
+		}
+		pollIntervalNanos = unit.toNanos(interval);
+		return this;
+	}
+
+	/**
+	 * Returns the number of tracked tournament codes.
+	 * 
+	 * @return The number of tracked tournament codes
+	 */
+	public synchronized int size() {
+		return tracked.size();
+	}
+
+	/**
+	 * Starts polling the tracked tournament codes.
+	 */
+	public void start() {
+		synchronized (this) {
+			running = true;
+		}
+		dispatch();
+	}
+
+	/**
+	 * Stops polling. Polls that are in flight still complete and notify the listeners. Polling can be resumed with {@link #start()}.
+	 */
+	public synchronized void stop() {
+		running = false;
+		if (wakeUp != null) {
+			wakeUp.cancel(false);
+			wakeUp = null;
+		}
+	}
+
+	/**
+	 * Starts tracking the given tournament code. All of its lobby events are delivered with the first poll.
+	 * 
+	 * @param tournamentCode
+	 *            Tournament code
+	 * @return {@code true} if the code was not tracked already
+	 * @throws NullPointerException
+	 *             If {@code tournamentCode} is {@code null}
+	 */
+	public boolean track(String tournamentCode) {
+		return track(tournamentCode, -1);
+	}
+
+	/**
+	 * Starts tracking the given tournament code, skipping all lobby events up to and including the given timestamp. This allows resuming with
+	 * the value of {@link #getLastTimestamp(String)} without delivering events twice.
+	 * 
+	 * @param tournamentCode
+	 *            Tournament code
+	 * @param lastTimestamp
+	 *            Timestamp of the latest event that was already delivered, specified as epoch milliseconds
+	 * @return {@code true} if the code was not tracked already
+	 * @throws NullPointerException
+	 *             If {@code tournamentCode} is {@code null}
+	 */
+	public boolean track(String tournamentCode, long lastTimestamp) {
+		Objects.requireNonNull(tournamentCode);
+		synchronized (this) {
+			if (tracked.containsKey(tournamentCode)) {
+				return false;
+			}
+			Tracked code = new Tracked(tournamentCode, lastTimestamp);
+			// Events at the given timestamp have been delivered already
+			code.boundaryComplete = (lastTimestamp >= 0);
+			code.nextPollNanos = System.nanoTime();
+			tracked.put(tournamentCode, code);
+			queue.add(code);
+		}
+		dispatch();
+		return true;
+	}
+
+	/**
+	 * Stops tracking the given tournament code.
+	 * 
+	 * @param tournamentCode
+	 *            Tournament code
+	 * @return {@code true} if the code was tracked
+	 */
+	public synchronized boolean untrack(String tournamentCode) {
+		Tracked code = tracked.remove(tournamentCode);
+		if (code == null) {
+			return false;
+		}
+		// The code is skipped once it is taken from the queue
+		code.removed = true;
+		return true;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.riot.api;
+
+import java.util.concurrent.CompletableFuture;
+
+import net.rithms.riot.api.request.AsyncRequest;
+
+/**
+ * A {@link CompletableFuture} that is completed with the result of an api call. Cancelling the future cancels the request, if it has been
+ * fired for this call alone.
+ */
+class RequestFuture<T> extends CompletableFuture<T> implements SharedRequest.Listener {
+
+	private volatile AsyncRequest request = null;
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		AsyncRequest request = this.request;
+		if (request != null) {
+			request.cancel();
+		}
+		return super.cancel(mayInterruptIfRunning);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onComplete(Object dto, Throwable failure) {
+		if (failure != null) {
+			completeExceptionally(failure);
+		} else {
+			complete((T) dto);
+		}
+	}
+
+	/**
+	 * Sets the request that is cancelled together with this future.
+	 * 
+	 * @param request
+	 *            The request fired for this call alone, or {@code null} if there is none
+	 */
+	void setRequest(AsyncRequest request) {
+		this.request = request;
+	}
+}
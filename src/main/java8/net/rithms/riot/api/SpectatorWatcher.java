@@ -0,0 +1,512 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.riot.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+
+import net.rithms.riot.api.endpoints.spectator.dto.CurrentGameInfo;
+import net.rithms.riot.api.endpoints.spectator.methods.GetActiveGameBySummoner;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Watches a large number of summoners and notifies {@link Listener}s when one of them starts or ends a game.
+ * 
+ * <p>
+ * Each summoner is polled with its own interval. While a summoner is not in a game, the interval grows with every poll, from the minimum
+ * interval up to the maximum interval, so that summoners who rarely play cost few calls. Once a game ends, the interval drops back to the
+ * minimum interval, since players often queue up again right away. While a summoner is in a game, the in-game interval is used. A summoner
+ * that is not in a game is reported by the Riot Api with {@code 404}, which this class handles as a regular result instead of an exception.
+ * </p>
+ * 
+ * <pre>
+ * SpectatorWatcher watcher = new SpectatorWatcher(api);
+ * watcher.addListener(listener);
+ * watcher.watch(Platform.NA, summonerId);
+ * watcher.start();
+ * </pre>
+ * 
+ * <p>
+ * Polls are dispatched by a shared scheduler thread, and at most {@link #getMaxConcurrentPolls()} polls are in flight at once. Listeners
+ * are notified on the threads that complete the requests. This class is thread-safe.
+ * </p>
+ * 
+ * <p>
+ * <i>Please note that this class requires Java 8 or higher at runtime.</i>
+ * </p>
+ */
+public class SpectatorWatcher {
+
+	/**
+	 * The listener interface for receiving game events of watched summoners
+	 */
+	public interface Listener {
+
+		/**
+		 * Invoked when a watched summoner is no longer in the game they were seen in before.
+		 * 
+		 * @param platform
+		 *            Platform of the summoner
+		 * @param summonerId
+		 *            Summoner ID
+		 * @param game
+		 *            The last info received about the game that ended
+		 */
+		public void onGameEnded(Platform platform, String summonerId, CurrentGameInfo game);
+
+		/**
+		 * Invoked when a watched summoner is seen in a game for the first time. This includes games that were already running when the
+		 * summoner was polled for the first time.
+		 * 
+		 * @param platform
+		 *            Platform of the summoner
+		 * @param summonerId
+		 *            Summoner ID
+		 * @param game
+		 *            The game the summoner is in
+		 */
+		public void onGameStarted(Platform platform, String summonerId, CurrentGameInfo game);
+	}
+
+	private static class Watch {
+
+		private CurrentGameInfo game = null;
+		private long intervalNanos;
+		private long nextPollNanos;
+		private final Platform platform;
+		private boolean removed = false;
+		private final String summonerId;
+
+		public Watch(Platform platform, String summonerId) {
+			this.platform = platform;
+			this.summonerId = summonerId;
+		}
+	}
+
+	private static class WatchKey {
+
+		private final Platform platform;
+		private final String summonerId;
+
+		public WatchKey(Platform platform, String summonerId) {
+			this.platform = Objects.requireNonNull(platform);
+			this.summonerId = Objects.requireNonNull(summonerId);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof WatchKey)) {
+				return false;
+			}
+			WatchKey other = (WatchKey) obj;
+			return platform == other.platform && summonerId.equals(other.summonerId);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * platform.hashCode() + summonerId.hashCode();
+		}
+	}
+
+	public static final double DEFAULT_BACKOFF_FACTOR = 1.5;
+	public static final long DEFAULT_IN_GAME_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(2);
+	public static final int DEFAULT_MAX_CONCURRENT_POLLS = 10;
+	public static final long DEFAULT_MAX_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	public static final long DEFAULT_MIN_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final RiotApiFuture api;
+	private double backoffFactor = DEFAULT_BACKOFF_FACTOR;
+	private int inFlight = 0;
+	private long inGameIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IN_GAME_INTERVAL_MILLIS);
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+	private int maxConcurrentPolls = DEFAULT_MAX_CONCURRENT_POLLS;
+	private long maxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_INTERVAL_MILLIS);
+	private long minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MIN_INTERVAL_MILLIS);
+	private final Queue<Watch> queue = new PriorityQueue<Watch>(16, new Comparator<Watch>() {
+		@Override
+		public int compare(Watch w1, Watch w2) {
+			return Long.compare(w1.nextPollNanos - w2.nextPollNanos, 0);
+		}
+	});
+	private boolean running = false;
+	private ScheduledFuture<?> wakeUp = null;
+	private long wakeUpNanos = 0;
+	private final Map<WatchKey, Watch> watches = new HashMap<WatchKey, Watch>();
+
+	/**
+	 * Constructs a {@code SpectatorWatcher} without any watched summoners. Call {@link #start()} to start polling.
+	 * 
+	 * @param api
+	 *            The {@code RiotApi} to poll with
+	 * @throws NullPointerException
+	 *             If {@code api} is {@code null}
+	 */
+	public SpectatorWatcher(RiotApi api) {
+		this.api = new RiotApiFuture(api);
+	}
+
+	/**
+	 * Adds a listener, that is notified about game events of all watched summoners.
+	 * 
+	 * @param listener
+	 *            The listener to add
+	 */
+	public void addListener(Listener listener) {
+		listeners.add(Objects.requireNonNull(listener));
+	}
+
+	/**
+	 * Polls all summoners that are due, as long as fewer than the maximum number of polls are in flight, and schedules the next dispatch.
+	 */
+	private void dispatch() {
+		List<Watch> due = new ArrayList<Watch>();
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			long now = System.nanoTime();
+			while (inFlight < maxConcurrentPolls && !queue.isEmpty() && queue.peek().nextPollNanos - now <= 0) {
+				Watch watch = queue.poll();
+				if (!watch.removed) {
+					inFlight++;
+					due.add(watch);
+				}
+			}
+			// Once the maximum number of polls is in flight, the next dispatch is triggered by a completing poll
+			if (inFlight < maxConcurrentPolls && !queue.isEmpty()) {
+				long nextPollNanos = queue.peek().nextPollNanos;
+				if (wakeUp == null || wakeUp.isDone() || nextPollNanos - wakeUpNanos < 0) {
+					if (wakeUp != null) {
+						wakeUp.cancel(false);
+					}
+					final long scheduledNanos = nextPollNanos;
+					wakeUpNanos = scheduledNanos;
+					wakeUp = SharedScheduler.get().schedule(new Runnable() {
+						@Override
+						public void run() {
+							synchronized (SpectatorWatcher.this) {
+								// Mark this wake-up as fired, since it still counts as pending until it returns
+								if (wakeUp != null && wakeUpNanos == scheduledNanos) {
+									wakeUp = null;
+								}
+							}
+							dispatch();
+						}
+					}, Math.max(0, nextPollNanos - now), TimeUnit.NANOSECONDS);
+				}
+			}
+		}
+		for (Watch watch : due) {
+			poll(watch);
+		}
+	}
+
+	public synchronized double getBackoffFactor() {
+		return backoffFactor;
+	}
+
+	/**
+	 * Returns the last info received about the game the given summoner is in.
+	 * 
+	 * @param platform
+	 *            Platform of the summoner
+	 * @param summonerId
+	 *            Summoner ID
+	 * @return The game, or {@code null} if the summoner is not watched or was not in a game when polled last
+	 */
+	public synchronized CurrentGameInfo getGame(Platform platform, String summonerId) {
+		Watch watch = watches.get(new WatchKey(platform, summonerId));
+		return (watch == null ? null : watch.game);
+	}
+
+	public synchronized long getInGameInterval(TimeUnit unit) {
+		return unit.convert(inGameIntervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized int getMaxConcurrentPolls() {
+		return maxConcurrentPolls;
+	}
+
+	public synchronized long getMaxInterval(TimeUnit unit) {
+		return unit.convert(maxIntervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized long getMinInterval(TimeUnit unit) {
+		return unit.convert(minIntervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized boolean isRunning() {
+		return running;
+	}
+
+	private void onPolled(Watch watch, CurrentGameInfo game, Throwable failure) {
+		CurrentGameInfo endedGame = null;
+		CurrentGameInfo startedGame = null;
+		boolean watched;
+		synchronized (this) {
+			inFlight--;
+			if (failure != null) {
+				// Retry with the same interval
+				RiotApi.log.log(Level.FINE, "[" + watch.platform + "/" + watch.summonerId + "] SpectatorWatcher > Poll failed", failure);
+			} else if (game == null) {
+				if (watch.game != null) {
+					endedGame = watch.game;
+					watch.intervalNanos = minIntervalNanos;
+				} else {
+					watch.intervalNanos = Math.min(maxIntervalNanos, (long) (watch.intervalNanos * backoffFactor));
+				}
+				watch.game = null;
+			} else {
+				if (watch.game == null) {
+					startedGame = game;
+				} else if (watch.game.getGameId() != game.getGameId()) {
+					endedGame = watch.game;
+					startedGame = game;
+				}
+				watch.game = game;
+				watch.intervalNanos = inGameIntervalNanos;
+			}
+			watched = !watch.removed;
+			if (watched) {
+				watch.nextPollNanos = System.nanoTime() + watch.intervalNanos;
+				queue.add(watch);
+			}
+		}
+		if (watched) {
+			for (Listener listener : listeners) {
+				if (endedGame != null) {
+					listener.onGameEnded(watch.platform, watch.summonerId, endedGame);
+				}
+				if (startedGame != null) {
+					listener.onGameStarted(watch.platform, watch.summonerId, startedGame);
+				}
+			}
+		}
+		dispatch();
+	}
+
+	private void poll(final Watch watch) {
+		ApiMethod method = new GetActiveGameBySummoner(api.getConfig(), watch.platform, watch.summonerId, true);
+		CompletableFuture<CurrentGameInfo> future = api.callCustomApiMethod(method);
+		future.whenComplete(new BiConsumer<CurrentGameInfo, Throwable>() {
+			@Override
+			public void accept(CurrentGameInfo game, Throwable failure) {
+				onPolled(watch, game, failure);
+			}
+		});
+	}
+
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener
+	 *            The listener to remove
+	 */
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Sets the factor the polling interval of a summoner who is not in a game grows by with every poll.
+	 * 
+	 * Default: {@value #DEFAULT_BACKOFF_FACTOR}
+	 * 
+	 * @param backoffFactor
+	 *            The backoff factor
+	 * @return This {@code SpectatorWatcher}
+	 * @throws IllegalArgumentException
+	 *             If {@code backoffFactor} is less than {@code 1}
+	 */
+	public synchronized SpectatorWatcher setBackoffFactor(double backoffFactor) {
+		if (!(backoffFactor >= 1)) {
+			throw new IllegalArgumentException("backoffFactor must be at least 1");
+		}
+		this.backoffFactor = backoffFactor;
+		return this;
+	}
+
+	/**
+	 * Sets the polling interval of summoners who are in a game.
+	 * 
+	 * Default: 2 minutes
+	 * 
+	 * @param interval
+	 *            The interval
+	 * @param unit
+	 *            The time unit of the {@code interval} argument
+	 * @return This {@code SpectatorWatcher}
+	 */
+	public synchronized SpectatorWatcher setInGameInterval(long interval, TimeUnit unit) {
+		inGameIntervalNanos = unit.toNanos(interval);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of polls that are in flight at once.
+	 * 
+	 * Default: {@value #DEFAULT_MAX_CONCURRENT_POLLS}
+	 * 
+	 * @param maxConcurrentPolls
+	 *            Maximum number of concurrent polls
+	 * @return This {@code SpectatorWatcher}
+	 * @throws IllegalArgumentException
+	 *             If {@code maxConcurrentPolls} is less than {@code 1}
+	 */
+	public SpectatorWatcher setMaxConcurrentPolls(int maxConcurrentPolls) {
+		if (maxConcurrentPolls < 1) {
+			throw new IllegalArgumentException("maxConcurrentPolls must be at least 1");
+		}
+		synchronized (this) {
+			this.maxConcurrentPolls = maxConcurrentPolls;
+		}
+		dispatch();
+		return this;
+	}
+
+	/**
+	 * Sets the maximum polling interval of summoners who are not in a game.
+	 * 
+	 * Default: 30 minutes
+	 * 
+	 * @param interval
+	 *            The interval
+	 * @param unit
+	 *            The time unit of the {@code interval} argument
+	 * @return This {@code SpectatorWatcher}
+	 */
+	public synchronized SpectatorWatcher setMaxInterval(long interval, TimeUnit unit) {
+		maxIntervalNanos = unit.toNanos(interval);
+		return this;
+	}
+
+	/**
+	 * Sets the minimum polling interval of summoners who are not in a game. It is used for newly watched summoners and after a game ended.
+	 * 
+	 * Default: 1 minute
+	 * 
+	 * @param interval
+	 *            The interval
+	 * @param unit
+	 *            The time unit of the {@code interval} argument
+	 * @return This {@code SpectatorWatcher}
+	 * @throws IllegalArgumentException
+	 *             If {@code interval} is not positive
+	 */
+	public synchronized SpectatorWatcher setMinInterval(long interval, TimeUnit unit) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("interval must be positive");
+		}
+		minIntervalNanos = unit.toNanos(interval);
+		return this;
+	}
+
+	/**
+	 * Returns the number of watched summoners.
+	 * 
+	 * @return The number of watched summoners
+	 */
+	public synchronized int size() {
+		return watches.size();
+	}
+
+	/**
+	 * Starts polling the watched summoners.
+	 */
+	public void start() {
+		synchronized (this) {
+			running = true;
+		}
+		dispatch();
+	}
+
+	/**
+	 * Stops polling. Polls that are in flight still complete and notify the listeners. Polling can be resumed with {@link #start()}.
+	 */
+	public synchronized void stop() {
+		running = false;
+		if (wakeUp != null) {
+			wakeUp.cancel(false);
+			wakeUp = null;
+		}
+	}
+
+	/**
+	 * Stops watching the given summoner.
+	 * 
+	 * @param platform
+	 *            Platform of the summoner
+	 * @param summonerId
+	 *            Summoner ID
+	 * @return {@code true} if the summoner was watched
+	 */
+	public synchronized boolean unwatch(Platform platform, String summonerId) {
+		Watch watch = watches.remove(new WatchKey(platform, summonerId));
+		if (watch == null) {
+			return false;
+		}
+		// The watch is skipped once it is taken from the queue
+		watch.removed = true;
+		return true;
+	}
+
+	/**
+	 * Starts watching the given summoner. The first poll happens within the minimum interval, spread randomly to avoid bursts when many
+	 * summoners are added at once.
+	 * 
+	 * @param platform
+	 *            Platform of the summoner
+	 * @param summonerId
+	 *            Summoner ID
+	 * @return {@code true} if the summoner was not watched already
+	 * @throws NullPointerException
+	 *             If {@code platform} or {@code summonerId} is {@code null}
+	 */
+	public boolean watch(Platform platform, String summonerId) {
+		boolean first;
+		synchronized (this) {
+			WatchKey key = new WatchKey(platform, summonerId);
+			if (watches.containsKey(key)) {
+				return false;
+			}
+			Watch watch = new Watch(platform, summonerId);
+			watch.intervalNanos = minIntervalNanos;
+			watch.nextPollNanos = System.nanoTime() + ThreadLocalRandom.current().nextLong(minIntervalNanos);
+			watches.put(key, watch);
+			queue.add(watch);
+			first = (queue.peek() == watch);
+		}
+		if (first) {
+			// The next dispatch has been scheduled for a later summoner
+			dispatch();
+		}
+		return true;
+	}
+}
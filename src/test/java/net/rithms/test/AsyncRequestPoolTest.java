@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.ExecutionMode;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiAsync;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.request.AsyncRequest;
+import net.rithms.riot.api.request.RequestAdapter;
+
+/**
+ * Tests the dispatching of asynchronous requests against a local http server.
+ */
+public class AsyncRequestPoolTest {
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	@Test
+	public void testVirtualThreadExecutionMode() throws InterruptedException, RiotApiException {
+		ApiConfig config = new ApiConfig().setKey("key");
+		try {
+			config.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+		} catch (UnsupportedOperationException e) {
+			Assume.assumeNoException("Virtual threads require Java 21 and the multi-release jar", e);
+		}
+		final Set<String> threads = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		RiotApiAsync api = new RiotApi(config).getAsyncApi();
+		RequestAdapter listener = new RequestAdapter() {
+			@Override
+			public void onRequestSucceeded(AsyncRequest request) {
+				threads.add(Thread.currentThread().toString());
+			}
+		};
+		for (int i = 0; i < 100; i++) {
+			api.callCustomApiMethod(server.newMethod(config, "/" + i)).addListeners(listener);
+		}
+		api.awaitAll();
+		assertEquals(100, server.getPaths().size());
+		for (String thread : threads) {
+			assertTrue(thread.startsWith("VirtualThread"));
+		}
+	}
+
+	@Test
+	public void testVirtualThreadExecutorIsShared() {
+		ApiConfig config = new ApiConfig();
+		ApiConfig other = new ApiConfig();
+		try {
+			config.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+		} catch (UnsupportedOperationException e) {
+			Assume.assumeNoException("Virtual threads require Java 21 and the multi-release jar", e);
+		}
+		ExecutorService executor = config.getExecutor();
+		config.setExecutionMode(ExecutionMode.PLATFORM_THREADS).setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+		other.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+		assertSame(executor, config.getExecutor());
+		assertSame(executor, other.getExecutor());
+		assertFalse(executor.isShutdown());
+	}
+
+	@Test
+	public void testQueuedRequestsAreDispatched() throws InterruptedException, RiotApiException {
+		ApiConfig config = new ApiConfig().setKey("key").setMaxAsyncThreads(2);
+		RiotApiAsync api = new RiotApi(config).getAsyncApi();
+		List<AsyncRequest> requests = new ArrayList<AsyncRequest>();
+		for (int i = 0; i < 30; i++) {
+			requests.add(api.callCustomApiMethod(server.newMethod(config, "/" + i)));
+		}
+		assertTrue(api.getPoolSize() <= 2);
+		api.awaitAll();
+		for (AsyncRequest request : requests) {
+			assertTrue(request.isSuccessful());
+		}
+		assertEquals(0, api.getPoolSize());
+		assertEquals(0, api.getQueueSize());
+		assertEquals(30, server.getPaths().size());
+	}
+
+	@Test
+	public void testBurstIsBoundedByExecutor() throws InterruptedException, RiotApiException {
+		final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		ApiConfig config = new ApiConfig().setKey("key").setExecutor(executor);
+		RiotApiAsync api = new RiotApi(config).getAsyncApi();
+		RequestAdapter listener = new RequestAdapter() {
+			@Override
+			public void onRequestSucceeded(AsyncRequest request) {
+				threads.add(Thread.currentThread());
+			}
+		};
+		for (int i = 0; i < 200; i++) {
+			api.callCustomApiMethod(server.newMethod(config, "/" + i)).addListeners(listener);
+		}
+		assertTrue(api.getExecutorPoolSize() <= 2);
+		api.awaitAll();
+		assertEquals(200, server.getPaths().size());
+		assertTrue(threads.size() <= 2);
+		assertEquals(0, api.getExecutorQueueSize());
+		executor.shutdown();
+	}
+
+	@Test
+	public void testCancelledQueuedRequestIsSkipped() throws InterruptedException, RiotApiException {
+		final CountDownLatch release = new CountDownLatch(1);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				LocalServer.respond(exchange, 200, "{}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setMaxAsyncThreads(1);
+		RiotApiAsync api = new RiotApi(config).getAsyncApi();
+		AsyncRequest first = api.callCustomApiMethod(server.newMethod(config, "/first"));
+		AsyncRequest second = api.callCustomApiMethod(server.newMethod(config, "/second"));
+		AsyncRequest third = api.callCustomApiMethod(server.newMethod(config, "/third"));
+		assertEquals(2, api.getQueueSize());
+		assertTrue(second.cancel());
+		assertEquals(1, api.getQueueSize());
+		release.countDown();
+		api.awaitAll();
+		assertTrue(first.isSuccessful());
+		assertTrue(second.isCancelled());
+		assertTrue(third.isSuccessful());
+		assertFalse(server.getPaths().contains("/second"));
+	}
+
+	@Test
+	public void testThrowingListenerDoesNotBlockPool() throws InterruptedException, RiotApiException, TimeoutException {
+		ApiConfig config = new ApiConfig().setKey("key").setMaxAsyncThreads(1);
+		RiotApiAsync api = new RiotApi(config).getAsyncApi();
+		AsyncRequest first = api.callCustomApiMethod(server.newMethod(config, "/first"));
+		first.addListeners(new RequestAdapter() {
+			@Override
+			public void onRequestSucceeded(AsyncRequest request) {
+				throw new IllegalStateException();
+			}
+		});
+		AsyncRequest second = api.callCustomApiMethod(server.newMethod(config, "/second"));
+		second.await(5, TimeUnit.SECONDS);
+		api.awaitAll();
+		assertTrue(first.isSuccessful());
+		assertTrue(second.isSuccessful());
+	}
+
+	@Test
+	public void testDefaultExecutorIsShared() {
+		ApiConfig config = new ApiConfig();
+		assertSame(config.getExecutor(), new ApiConfig().getExecutor());
+		assertSame(config.getExecutor(), config.setKey("key").setTournamentKey("tournamentKey").clone().getExecutor());
+		assertSame(config.getHttpTransport(), new ApiConfig().getHttpTransport());
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.RiotApiFuture;
+
+/**
+ * Tests {@link RiotApiFuture} against a local http server.
+ */
+public class FutureApiTest {
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	@Test
+	public void testComposedFutures() throws InterruptedException, ExecutionException, TimeoutException {
+		final ApiConfig config = new ApiConfig().setKey("key");
+		final RiotApiFuture api = new RiotApiFuture(new RiotApi(config));
+		CompletableFuture<Map<String, String>> first = api.callCustomApiMethod(server.newMethod(config, "/first"));
+		CompletableFuture<Map<String, String>> second = first.thenCompose(new Function<Map<String, String>, CompletableFuture<Map<String, String>>>() {
+			@Override
+			public CompletableFuture<Map<String, String>> apply(Map<String, String> dto) {
+				return api.callCustomApiMethod(server.newMethod(config, "/second/" + dto.get("token")));
+			}
+		});
+		assertEquals("key", second.get(5, TimeUnit.SECONDS).get("token"));
+		assertEquals("/second/key", server.getPaths().get(1));
+	}
+
+	@Test
+	public void testFailedFuture() throws InterruptedException, TimeoutException {
+		ApiConfig config = new ApiConfig().setKey("key");
+		RiotApiFuture api = new RiotApiFuture(new RiotApi(config));
+		CompletableFuture<Map<String, String>> future = api.callCustomApiMethod(server.newMethod(config, "/missing"));
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			fail("Expected the future to complete exceptionally");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RiotApiException);
+			assertEquals(RiotApiException.DATA_NOT_FOUND, ((RiotApiException) e.getCause()).getErrorCode());
+		}
+	}
+
+	@Test
+	public void testCoalescedRequests() throws InterruptedException, ExecutionException, TimeoutException, RiotApiException {
+		final CountDownLatch release = new CountDownLatch(1);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				LocalServer.respond(exchange, 200, "{\"token\":\"shared\"}");
+			}
+		});
+		final ApiConfig config = new ApiConfig().setKey("key").setCoalesceRequests(true);
+		final RiotApi api = new RiotApi(config);
+		List<CompletableFuture<Map<String, String>>> futures = new ArrayList<CompletableFuture<Map<String, String>>>();
+		for (int i = 0; i < 10; i++) {
+			futures.add(new RiotApiFuture(api).<Map<String, String>> callCustomApiMethod(server.newMethod(config, "/summoner")));
+		}
+		final List<Object> syncResults = new ArrayList<Object>();
+		Thread syncCaller = new Thread() {
+			@Override
+			public void run() {
+				try {
+					syncResults.add(api.callCustomApiMethod(server.newMethod(config, "/summoner")));
+				} catch (RiotApiException e) {
+					syncResults.add(e);
+				}
+			}
+		};
+		syncCaller.start();
+		Thread.sleep(200);
+		release.countDown();
+		for (CompletableFuture<Map<String, String>> future : futures) {
+			assertEquals("shared", future.get(5, TimeUnit.SECONDS).get("token"));
+		}
+		syncCaller.join(5000);
+		assertEquals(futures.get(0).get(), syncResults.get(0));
+		assertEquals(1, server.getPaths().size());
+
+		// Requests are not shared anymore, once they completed
+		api.callCustomApiMethod(server.newMethod(config, "/summoner"));
+		assertEquals(2, server.getPaths().size());
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.LadderDiff;
+import net.rithms.riot.api.LadderDiff.Change;
+import net.rithms.riot.api.LadderSnapshot;
+import net.rithms.riot.api.LadderSnapshot.Ladder;
+import net.rithms.riot.api.LadderSnapshot.Tier;
+import net.rithms.riot.api.LadderSnapshotter;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.endpoints.league.constant.LeagueQueue;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Tests taking snapshots of the apex tier ladders against a local http server.
+ */
+public class LadderTest {
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	private static Tier getTier(HttpExchange exchange) {
+		String path = exchange.getRequestURI().getPath();
+		if (path.contains("/challengerleagues/")) {
+			return Tier.CHALLENGER;
+		} else if (path.contains("/grandmasterleagues/")) {
+			return Tier.GRANDMASTER;
+		}
+		return Tier.MASTER;
+	}
+
+	@Test
+	public void testLadderSnapshot() throws InterruptedException {
+		final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<String, AtomicInteger>();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		for (Platform platform : Platform.values()) {
+			inFlight.put(platform.getHost().substring("https://".length()), new AtomicInteger());
+		}
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String host = exchange.getRequestHeaders().getFirst(LocalServer.HOST_HEADER);
+				Tier tier = getTier(exchange);
+				int current = inFlight.get(host).incrementAndGet();
+				maxInFlight.set(Math.max(maxInFlight.get(), current));
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				inFlight.get(host).decrementAndGet();
+				if (host.startsWith("kr.") && tier == Tier.CHALLENGER) {
+					LocalServer.respond(exchange, 403, "{\"status\":{\"message\":\"Forbidden\",\"status_code\":403}}");
+					return;
+				}
+				LocalServer.respond(exchange, 200, "{\"tier\":\"" + tier + "\",\"name\":\"" + host + "\",\"entries\":[{\"summonerId\":\"" + tier
+						+ "-1\",\"rank\":\"I\",\"leaguePoints\":100,\"wins\":10,\"losses\":5,\"hotStreak\":true},{\"summonerId\":\"" + tier
+						+ "-2\",\"rank\":\"I\",\"leaguePoints\":50,\"veteran\":true,\"miniSeries\":{\"progress\":\"WLN\"}}]}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		LadderSnapshotter snapshotter = new LadderSnapshotter(new RiotApi(config)).setQueues(LeagueQueue.RANKED_SOLO_5x5)
+				.setMaxConcurrentRequestsPerPlatform(1);
+		LadderSnapshot snapshot = snapshotter.takeSnapshot();
+		assertEquals(Platform.values().length * 3, server.getPaths().size());
+		assertEquals(1, maxInFlight.get());
+
+		assertFalse(snapshot.isComplete());
+		assertEquals(1, snapshot.getFailures().size());
+		assertEquals(Platform.KR, snapshot.getFailures().get(0).getPlatform());
+		assertEquals(RiotApiException.FORBIDDEN, snapshot.getFailures().get(0).getException().getErrorCode());
+		assertNull(snapshot.getLadder(Platform.KR, LeagueQueue.RANKED_SOLO_5x5, Tier.CHALLENGER));
+		assertEquals(Platform.values().length * 3 - 1, snapshot.getLadders().size());
+		assertEquals(Platform.BR, snapshot.getLadders().get(0).getPlatform());
+		assertEquals(Tier.CHALLENGER, snapshot.getLadders().get(0).getTier());
+		assertEquals((Platform.values().length * 3 - 1) * 2, snapshot.getEntryCount());
+
+		Ladder ladder = snapshot.getLadder(Platform.EUW, LeagueQueue.RANKED_SOLO_5x5, Tier.GRANDMASTER);
+		assertEquals(2, ladder.size());
+		assertEquals("GRANDMASTER-1", ladder.getSummonerId(0));
+		assertEquals("I", ladder.getRank(0));
+		assertEquals(100, ladder.getLeaguePoints(0));
+		assertEquals(10, ladder.getWins(0));
+		assertEquals(5, ladder.getLosses(0));
+		assertTrue(ladder.isHotStreak(0));
+		assertFalse(ladder.isVeteran(0));
+		assertNull(ladder.getMiniSeriesProgress(0));
+		assertTrue(ladder.isVeteran(1));
+		assertEquals("WLN", ladder.getMiniSeriesProgress(1));
+	}
+
+	@Test
+	public void testLadderDiff() throws InterruptedException {
+		final AtomicInteger round = new AtomicInteger();
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String entries;
+				if (getTier(exchange) == Tier.CHALLENGER) {
+					entries = (round.get() == 0 ? "{\"summonerId\":\"a\",\"leaguePoints\":100,\"wins\":10},{\"summonerId\":\"b\",\"leaguePoints\":50}"
+							: "{\"summonerId\":\"a\",\"leaguePoints\":120,\"wins\":11},{\"summonerId\":\"c\",\"leaguePoints\":30}");
+				} else {
+					entries = (round.get() == 0 ? "{\"summonerId\":\"c\",\"leaguePoints\":10}" : "{\"summonerId\":\"d\",\"leaguePoints\":0}");
+				}
+				LocalServer.respond(exchange, 200, "{\"entries\":[" + entries + "]}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		LadderSnapshotter snapshotter = new LadderSnapshotter(new RiotApi(config)).setPlatforms(Platform.EUW)
+				.setQueues(LeagueQueue.RANKED_SOLO_5x5).setTiers(Tier.CHALLENGER, Tier.MASTER);
+		LadderSnapshot before = snapshotter.takeSnapshot();
+		round.set(1);
+		LadderSnapshot after = snapshotter.takeSnapshot();
+		assertSame(after, snapshotter.getLastSnapshot());
+		// Summoner IDs are shared with the previous snapshot
+		Ladder oldChallenger = before.getLadder(Platform.EUW, LeagueQueue.RANKED_SOLO_5x5, Tier.CHALLENGER);
+		Ladder newChallenger = after.getLadder(Platform.EUW, LeagueQueue.RANKED_SOLO_5x5, Tier.CHALLENGER);
+		assertSame(oldChallenger.getSummonerId(0), newChallenger.getSummonerId(0));
+		assertEquals(1, newChallenger.indexOf("c"));
+		assertEquals(-1, newChallenger.indexOf("b"));
+
+		List<Change> changes = LadderDiff.diff(before, after);
+		assertEquals(4, changes.size());
+		Change change = changes.get(0);
+		assertEquals(LadderDiff.Type.CHANGED, change.getType());
+		assertEquals("a", change.getSummonerId());
+		assertEquals(20, change.getLeaguePointsDelta());
+		assertEquals(1, change.getWinsDelta());
+		assertFalse(change.isRankChanged());
+		change = changes.get(1);
+		assertEquals("c", change.getSummonerId());
+		assertEquals(Tier.MASTER, change.getOldTier());
+		assertEquals(Tier.CHALLENGER, change.getNewTier());
+		assertTrue(change.isRankChanged());
+		change = changes.get(2);
+		assertEquals(LadderDiff.Type.ENTERED, change.getType());
+		assertEquals("d", change.getSummonerId());
+		change = changes.get(3);
+		assertEquals(LadderDiff.Type.LEFT, change.getType());
+		assertEquals("b", change.getSummonerId());
+		assertEquals(50, change.getOldLeaguePoints());
+		assertTrue(LadderDiff.diff(after, after).isEmpty());
+	}
+
+	@Test
+	public void testMalformedLadderIsRecordedAsFailure() throws InterruptedException, ExecutionException, TimeoutException {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String entries = (getTier(exchange) == Tier.CHALLENGER ? "null" : "{\"summonerId\":\"a\",\"leaguePoints\":10}");
+				LocalServer.respond(exchange, 200, "{\"entries\":[" + entries + "]}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		LadderSnapshotter snapshotter = new LadderSnapshotter(new RiotApi(config)).setPlatforms(Platform.EUW)
+				.setQueues(LeagueQueue.RANKED_SOLO_5x5).setTiers(Tier.CHALLENGER, Tier.MASTER).setMaxConcurrentRequestsPerPlatform(1);
+		LadderSnapshot snapshot = snapshotter.takeSnapshotAsync().get(5, TimeUnit.SECONDS);
+		assertEquals(1, snapshot.getFailures().size());
+		assertEquals(Tier.CHALLENGER, snapshot.getFailures().get(0).getTier());
+		assertEquals(RiotApiException.PARSE_FAILURE, snapshot.getFailures().get(0).getException().getErrorCode());
+		assertEquals(1, snapshot.getLadders().size());
+		assertEquals(2, server.getPaths().size());
+	}
+
+	@Test
+	public void testDefaultQueuesSkipRetiredQueue() throws InterruptedException {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				LocalServer.respond(exchange, 200, "{\"entries\":[]}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		LadderSnapshotter snapshotter = new LadderSnapshotter(new RiotApi(config)).setPlatforms(Platform.NA);
+		assertFalse(snapshotter.getQueues().contains(LeagueQueue.RANKED_FLEX_TT));
+		assertTrue(snapshotter.takeSnapshot().isComplete());
+		assertEquals(2 * Tier.values().length, server.getPaths().size());
+		for (String path : server.getPaths()) {
+			assertFalse(path.contains(LeagueQueue.RANKED_FLEX_TT.name()));
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.ApiMethod;
+import net.rithms.riot.api.HttpHeadParameter;
+import net.rithms.riot.api.request.transport.HttpTransport;
+import net.rithms.riot.api.request.transport.HttpTransportRequest;
+import net.rithms.riot.api.request.transport.HttpTransportResponse;
+import net.rithms.riot.api.request.transport.PooledHttpTransport;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * A local http server to test requests against without an api key. By default, every request is answered with a JSON object containing
+ * the api key that was sent, except for requests to {@code /missing}, which are answered with {@code 404}.
+ */
+public class LocalServer {
+
+	/**
+	 * Api method that calls the local http server
+	 */
+	public static class LocalApiMethod extends ApiMethod {
+
+		public LocalApiMethod(ApiConfig config, String url, Type returnType) {
+			super(config, "local");
+			setPlatform(Platform.NA);
+			setReturnType(returnType);
+			setUrlBase(url);
+			requireApiKey();
+			addApiKeyParameter();
+		}
+	}
+
+	/**
+	 * Header carrying the host a request was addressed to before it was redirected by {@link LocalServer#newTransport()}
+	 */
+	public static final String HOST_HEADER = "X-Api-Host";
+
+	public static final Type TOKEN_TYPE = new TypeToken<Map<String, String>>() {
+	}.getType();
+
+	private final HttpServer server;
+	private final List<Integer> clientPorts = new CopyOnWriteArrayList<Integer>();
+	private final List<String> paths = new CopyOnWriteArrayList<String>();
+	private volatile HttpHandler handler = null;
+
+	public LocalServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				clientPorts.add(exchange.getRemoteAddress().getPort());
+				paths.add(exchange.getRequestURI().toString());
+				HttpHandler customHandler = handler;
+				if (customHandler != null) {
+					customHandler.handle(exchange);
+					return;
+				}
+				if (exchange.getRequestURI().getPath().equals("/missing")) {
+					respond(exchange, 404, "{\"status\":{\"message\":\"Data not found\",\"status_code\":404}}");
+					return;
+				}
+				String token = exchange.getRequestHeaders().getFirst("X-Riot-Token");
+				respond(exchange, 200, "{\"token\":\"" + token + "\"}");
+			}
+		});
+		server.start();
+	}
+
+	/**
+	 * Returns the first value of the given query parameter, or {@code null} if the request does not have it.
+	 */
+	public static String getQueryParameter(HttpExchange exchange, String name) {
+		String query = exchange.getRequestURI().getRawQuery();
+		if (query == null) {
+			return null;
+		}
+		for (String parameter : query.split("&")) {
+			int separator = parameter.indexOf('=');
+			if (separator != -1 && parameter.substring(0, separator).equals(name)) {
+				return parameter.substring(separator + 1);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Sends the given JSON body as response.
+	 */
+	public static void respond(HttpExchange exchange, int code, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(code, bytes.length);
+		OutputStream os = exchange.getResponseBody();
+		os.write(bytes);
+		os.close();
+	}
+
+	public void clear() {
+		clientPorts.clear();
+		paths.clear();
+		handler = null;
+	}
+
+	public List<Integer> getClientPorts() {
+		return clientPorts;
+	}
+
+	public List<String> getPaths() {
+		return paths;
+	}
+
+	public String getUrl(String path) {
+		return "http://localhost:" + server.getAddress().getPort() + path;
+	}
+
+	/**
+	 * Creates an executor that runs every task right away on the calling thread. Asynchronous requests executed with it complete before
+	 * the call that started them returns, which makes races with their completion reproducible.
+	 */
+	public static ExecutorService newDirectExecutor() {
+		return new AbstractExecutorService() {
+			private volatile boolean shutdown = false;
+
+			@Override
+			public boolean awaitTermination(long timeout, TimeUnit unit) {
+				return shutdown;
+			}
+
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+
+			@Override
+			public boolean isShutdown() {
+				return shutdown;
+			}
+
+			@Override
+			public boolean isTerminated() {
+				return shutdown;
+			}
+
+			@Override
+			public void shutdown() {
+				shutdown = true;
+			}
+
+			@Override
+			public List<Runnable> shutdownNow() {
+				shutdown = true;
+				return Collections.emptyList();
+			}
+		};
+	}
+
+	public ApiMethod newMethod(ApiConfig config, String path) {
+		return new LocalApiMethod(config, getUrl(path), TOKEN_TYPE);
+	}
+
+	public ApiMethod newMethod(ApiConfig config, String path, Type returnType) {
+		return new LocalApiMethod(config, getUrl(path), returnType);
+	}
+
+	/**
+	 * Creates a transport that sends every request to this server instead of the Riot Api, keeping its path and query. The original host is
+	 * passed in the header {@link #HOST_HEADER}. This allows testing the regular api methods.
+	 */
+	public HttpTransport newTransport() {
+		final HttpTransport transport = new PooledHttpTransport();
+		return new HttpTransport() {
+			@Override
+			public HttpTransportResponse execute(HttpTransportRequest request) throws IOException {
+				URL url = new URL(request.getUrl());
+				List<HttpHeadParameter> headers = new ArrayList<HttpHeadParameter>();
+				if (request.getHeaders() != null) {
+					headers.addAll(request.getHeaders());
+				}
+				headers.add(new HttpHeadParameter(HOST_HEADER, url.getHost()));
+				return transport.execute(new HttpTransportRequest(getUrl(url.getFile()), request.getMethod(), headers, request.getBody(), request
+						.getTimeout()));
+			}
+		};
+	}
+
+	/**
+	 * Sets a custom handler for all following requests, until {@link #clear()} is called.
+	 */
+	public void setHandler(HttpHandler handler) {
+		this.handler = handler;
+	}
+
+	public void stop() {
+		server.stop(0);
+		((ExecutorService) server.getExecutor()).shutdown();
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.Gson;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.MatchArchive;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.endpoints.match.dto.Match;
+import net.rithms.riot.api.endpoints.match.dto.MatchTimeline;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Tests the {@link MatchArchive}.
+ */
+public class MatchArchiveTest {
+
+	private static final Gson gson = new Gson();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Match newMatch(long gameId) {
+		return gson.fromJson("{\"gameId\":" + gameId + ",\"gameMode\":\"CLASSIC\",\"platformId\":\"NA1\"}", Match.class);
+	}
+
+	@Test
+	public void testArchiveSurvivesReopening() throws IOException {
+		File directory = folder.newFolder();
+		MatchArchive archive = new MatchArchive(directory);
+		archive.putMatch(Platform.NA, newMatch(1));
+		archive.putMatch(Platform.EUW, newMatch(1));
+		archive.putTimeline(Platform.NA, 1, gson.fromJson("{\"frameInterval\":60000}", MatchTimeline.class));
+		assertEquals(3, archive.size());
+		assertTrue(archive.containsMatch(Platform.EUW, 1));
+		assertFalse(archive.containsTimeline(Platform.EUW, 1));
+		assertNull(archive.getMatch(Platform.NA, 2));
+		archive.close();
+
+		archive = new MatchArchive(directory);
+		assertEquals(3, archive.size());
+		assertEquals("CLASSIC", archive.getMatch(Platform.NA, 1).getGameMode());
+		assertEquals(60000, archive.getTimeline(Platform.NA, 1).getFrameInterval());
+		archive.close();
+	}
+
+	@Test
+	public void testClosedArchiveIsSkipped() throws IOException, RiotApiException {
+		LocalServer server = new LocalServer();
+		try {
+			MatchArchive archive = new MatchArchive(folder.newFolder());
+			archive.close();
+			ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport()).setMatchArchive(archive);
+			assertNotNull(new RiotApi(config).getMatch(Platform.NA, 1));
+			assertEquals(1, server.getPaths().size());
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void testIndexIsRebuiltAndResized() throws IOException {
+		File directory = folder.newFolder();
+		MatchArchive archive = new MatchArchive(directory);
+		// Exceeds the load factor of the initial index
+		int count = 50000;
+		for (int i = 0; i < count; i++) {
+			archive.putMatch(Platform.KR, newMatch(i));
+		}
+		assertEquals(count, archive.size());
+		assertEquals(count - 1, archive.getMatch(Platform.KR, count - 1).getGameId());
+		archive.close();
+
+		for (File file : directory.listFiles()) {
+			if (file.getName().startsWith("index")) {
+				assertTrue(file.delete());
+			}
+		}
+		archive = new MatchArchive(directory);
+		assertEquals(count, archive.size());
+		assertEquals(12345, archive.getMatch(Platform.KR, 12345).getGameId());
+		archive.close();
+	}
+
+	@Test
+	public void testStaleIndexIsCaughtUp() throws IOException {
+		File directory = folder.newFolder();
+		MatchArchive archive = new MatchArchive(directory);
+		archive.putMatch(Platform.NA, newMatch(1));
+		archive.close();
+		File indexFile = new File(directory, "index-65536.dat");
+		byte[] staleIndex = Files.readAllBytes(indexFile.toPath());
+
+		archive = new MatchArchive(directory);
+		archive.putMatch(Platform.NA, newMatch(2));
+		archive.putMatch(Platform.NA, newMatch(3));
+		archive.close();
+		// As if the process died after appending the records, but before the index was updated
+		Files.write(indexFile.toPath(), staleIndex);
+		// As if the process died while resizing the index
+		RandomAccessFile partialIndex = new RandomAccessFile(new File(directory, "index-131072.dat"), "rw");
+		partialIndex.setLength(32 + 131072L * 32);
+		partialIndex.close();
+
+		archive = new MatchArchive(directory);
+		assertEquals(3, archive.size());
+		assertEquals(3, archive.getMatch(Platform.NA, 3).getGameId());
+		// Nothing is appended twice
+		archive.putMatch(Platform.NA, newMatch(2));
+		archive.close();
+		archive = new MatchArchive(directory);
+		assertEquals(3, archive.size());
+		archive.close();
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.LeaguePositionIterator;
+import net.rithms.riot.api.MatchHistoryIterator;
+import net.rithms.riot.api.MatchHistorySync;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.UncheckedRiotApiException;
+import net.rithms.riot.api.endpoints.league.constant.LeagueQueue;
+import net.rithms.riot.api.endpoints.league.dto.LeaguePosition;
+import net.rithms.riot.api.endpoints.match.dto.MatchReference;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Tests the iterators that page through the Riot Api's results against a local http server.
+ */
+public class PagingTest {
+
+	private LocalServer server = null;
+
+	/**
+	 * Starts a new server for every test, since pages that an iterator requested speculatively may still arrive after the test finished.
+	 */
+	@Before
+	public void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@After
+	public void stopServer() {
+		server.stop();
+	}
+
+	private static HttpHandler newMatchListHandler(int totalGames, CountDownLatch secondPageRequested) {
+		return newMatchListHandler(new AtomicInteger(totalGames), secondPageRequested);
+	}
+
+	/**
+	 * Answers matchlist requests with a history of {@code games} matches, whose game IDs count down to {@code 1}. The match with game ID
+	 * {@code n} was played at timestamp {@code n * 1000}.
+	 */
+	private static HttpHandler newMatchListHandler(final AtomicInteger games, final CountDownLatch secondPageRequested) {
+		return new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				int newestGameId = games.get();
+				int totalGames = newestGameId;
+				String beginTime = LocalServer.getQueryParameter(exchange, "beginTime");
+				if (beginTime != null) {
+					// Matches at or after the begin time
+					totalGames = Math.max(0, totalGames - (int) (Long.parseLong(beginTime) / 1000) + 1);
+				}
+				int beginIndex = Integer.parseInt(LocalServer.getQueryParameter(exchange, "beginIndex"));
+				int endIndex = Math.min(totalGames, Integer.parseInt(LocalServer.getQueryParameter(exchange, "endIndex")));
+				if (beginIndex > 0 && secondPageRequested != null) {
+					secondPageRequested.countDown();
+				}
+				if (beginIndex >= totalGames) {
+					LocalServer.respond(exchange, 404, "{\"status\":{\"message\":\"Data not found\",\"status_code\":404}}");
+					return;
+				}
+				StringBuilder body = new StringBuilder("{\"matches\":[");
+				for (int i = beginIndex; i < endIndex; i++) {
+					body.append(i == beginIndex ? "" : ",").append("{\"gameId\":").append(newestGameId - i).append(",\"timestamp\":")
+							.append((newestGameId - i) * 1000L).append('}');
+				}
+				body.append("],\"startIndex\":").append(beginIndex).append(",\"endIndex\":").append(endIndex).append(",\"totalGames\":")
+						.append(totalGames).append('}');
+				LocalServer.respond(exchange, 200, body.toString());
+			}
+		};
+	}
+
+	@Test
+	public void testMatchHistory() throws InterruptedException {
+		CountDownLatch secondPageRequested = new CountDownLatch(1);
+		server.setHandler(newMatchListHandler(250, secondPageRequested));
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		MatchHistoryIterator history = new RiotApi(config).getMatchHistory(Platform.NA, "account");
+		assertEquals(250, history.next().getGameId());
+		// The second page is requested before the first one has been processed
+		assertTrue(secondPageRequested.await(5, TimeUnit.SECONDS));
+		long expectedGameId = 249;
+		while (history.hasNext()) {
+			MatchReference match = history.next();
+			assertEquals(expectedGameId--, match.getGameId());
+		}
+		assertEquals(0, expectedGameId);
+		// The last page is shorter than a full page, so no further page is requested
+		assertEquals(3, server.getPaths().size());
+		history.close();
+	}
+
+	@Test
+	public void testMatchHistoryEndsWithNotFound() {
+		server.setHandler(newMatchListHandler(200, null));
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		MatchHistoryIterator history = new RiotApi(config).getMatchHistory(Platform.NA, "account");
+		int count = 0;
+		while (history.hasNext()) {
+			history.next();
+			count++;
+		}
+		assertEquals(200, count);
+		assertEquals(3, server.getPaths().size());
+		assertFalse(history.hasNext());
+	}
+
+	@Test
+	public void testMatchHistoryFailure() {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				LocalServer.respond(exchange, 403, "{\"status\":{\"message\":\"Forbidden\",\"status_code\":403}}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		MatchHistoryIterator history = new RiotApi(config).getMatchHistory(Platform.NA, "account");
+		try {
+			history.hasNext();
+			fail();
+		} catch (UncheckedRiotApiException e) {
+			assertEquals(RiotApiException.FORBIDDEN, e.getCause().getErrorCode());
+		}
+	}
+
+	@Test
+	public void testMatchHistorySync() throws IOException, RiotApiException {
+		AtomicInteger games = new AtomicInteger(150);
+		server.setHandler(newMatchListHandler(games, null));
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		MatchHistorySync sync = new MatchHistorySync(new RiotApi(config));
+		assertEquals(150, sync.sync(Platform.NA, "account").size());
+		assertEquals(150, sync.getLastGameId(Platform.NA, "account"));
+		assertEquals(150000, sync.getLastTimestamp(Platform.NA, "account"));
+
+		games.set(152);
+		server.getPaths().clear();
+		List<MatchReference> matches = sync.sync(Platform.NA, "account");
+		assertEquals(2, matches.size());
+		assertEquals(152, matches.get(0).getGameId());
+		assertEquals(151, matches.get(1).getGameId());
+		assertEquals(1, server.getPaths().size());
+		assertTrue(server.getPaths().get(0).contains("beginTime=150000"));
+		assertTrue(sync.sync(Platform.NA, "account").isEmpty());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		sync.store(bytes);
+		MatchHistorySync loaded = new MatchHistorySync(new RiotApi(config));
+		loaded.load(new ByteArrayInputStream(bytes.toByteArray()));
+		assertEquals(1, loaded.size());
+		assertEquals(152, loaded.getLastGameId(Platform.NA, "account"));
+		assertEquals(152000, loaded.getLastTimestamp(Platform.NA, "account"));
+		games.set(153);
+		assertEquals(1, loaded.sync(Platform.NA, "account").size());
+	}
+
+	@Test
+	public void testLeaguePositions() throws InterruptedException {
+		final CountDownLatch lastSpeculativePageRequested = new CountDownLatch(1);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String path = exchange.getRequestURI().getPath();
+				int page = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+				if (page == 3) {
+					lastSpeculativePageRequested.countDown();
+				} else if (page == 0) {
+					// The first page is only answered once the speculative pages have been requested
+					try {
+						lastSpeculativePageRequested.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				StringBuilder body = new StringBuilder("[");
+				for (int i = 0; page < 5 && i < 3; i++) {
+					body.append(i == 0 ? "" : ",").append("{\"summonerId\":\"").append(page).append('-').append(i).append("\",\"leaguePoints\":")
+							.append(page).append('}');
+				}
+				LocalServer.respond(exchange, 200, body.append(']').toString());
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		LeaguePositionIterator positions = new LeaguePositionIterator(new RiotApi(config), Platform.EUW, LeagueQueue.RANKED_SOLO_5x5, "DIAMOND",
+				"I", "APEX");
+		int count = 0;
+		int lastPage = 0;
+		while (positions.hasNext()) {
+			LeaguePosition position = positions.next();
+			assertTrue(position.getLeaguePoints() >= lastPage);
+			lastPage = position.getLeaguePoints();
+			count++;
+		}
+		assertEquals(15, count);
+		assertEquals(4, lastPage);
+		assertEquals(0, lastSpeculativePageRequested.getCount());
+		assertTrue(server.getPaths().get(0).startsWith("/lol/league/v4/positions/RANKED_SOLO_5x5/DIAMOND/I/APEX/"));
+		assertFalse(positions.hasNext());
+	}
+}
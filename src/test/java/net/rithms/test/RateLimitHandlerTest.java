@@ -0,0 +1,238 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiAsync;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.request.AsyncRequest;
+import net.rithms.riot.api.request.ratelimit.DefaultRateLimitHandler;
+import net.rithms.riot.api.request.ratelimit.DefaultRateLimitHandler.RateLimitList;
+import net.rithms.riot.api.request.ratelimit.ProactiveRateLimitHandler;
+import net.rithms.riot.api.request.ratelimit.ProactiveRateLimitHandler.RateLimitWindow;
+import net.rithms.riot.api.request.ratelimit.ProactiveRateLimitHandler.RateLimitWindowList;
+import net.rithms.riot.api.request.ratelimit.RespectedRateLimitException;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Tests the rate limit handlers in the package {@code net.rithms.riot.api.request.ratelimit}.
+ */
+public class RateLimitHandlerTest {
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	private static void limitServer(final String rateLimit) {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				exchange.getResponseHeaders().add("X-App-Rate-Limit", rateLimit);
+				LocalServer.respond(exchange, 200, "{}");
+			}
+		});
+	}
+
+	@Test
+	public void testAsyncRequestsAreScheduled() throws InterruptedException, RiotApiException {
+		limitServer("3:1");
+		ApiConfig config = new ApiConfig().setKey("key").setRateLimitHandler(new ProactiveRateLimitHandler());
+		RiotApi api = new RiotApi(config);
+		// Learn the rate limits
+		api.callCustomApiMethod(server.newMethod(config, "/0"));
+		long start = System.currentTimeMillis();
+		RiotApiAsync apiAsync = api.getAsyncApi();
+		List<AsyncRequest> requests = new ArrayList<AsyncRequest>();
+		for (int i = 1; i <= 5; i++) {
+			requests.add(apiAsync.callCustomApiMethod(server.newMethod(config, "/" + i)));
+		}
+		// Requests are parked on the executor threads, so wait until the first one is
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+		while (apiAsync.getParkedSize() == 0 && System.nanoTime() - deadline < 0) {
+			Thread.sleep(1);
+		}
+		assertTrue(apiAsync.getParkedSize() > 0);
+		apiAsync.awaitAll();
+		for (AsyncRequest request : requests) {
+			assertTrue(request.isSuccessful());
+		}
+		assertTrue(System.currentTimeMillis() - start >= 1000);
+		assertEquals(0, apiAsync.getParkedSize());
+		assertEquals(6, server.getPaths().size());
+	}
+
+	@Test
+	public void testAsyncRequestsFailWithoutScheduling() throws InterruptedException, RiotApiException {
+		limitServer("1:60");
+		ApiConfig config = new ApiConfig().setKey("key").setRateLimitHandler(new ProactiveRateLimitHandler())
+				.setScheduleRateLimitedRequests(false);
+		RiotApi api = new RiotApi(config);
+		api.callCustomApiMethod(server.newMethod(config, "/0"));
+		AsyncRequest request = api.getAsyncApi().callCustomApiMethod(server.newMethod(config, "/1"));
+		api.getAsyncApi().awaitAll();
+		assertTrue(request.isFailed());
+		assertTrue(request.getException() instanceof RespectedRateLimitException);
+	}
+
+	@Test
+	public void testSyncRequestsWaitForRateLimits() throws RiotApiException {
+		limitServer("2:1");
+		ApiConfig config = new ApiConfig().setKey("key").setRateLimitHandler(new ProactiveRateLimitHandler()).setWaitForRateLimits(true);
+		RiotApi api = new RiotApi(config);
+		api.callCustomApiMethod(server.newMethod(config, "/0"));
+		long start = System.currentTimeMillis();
+		for (int i = 1; i <= 3; i++) {
+			api.callCustomApiMethod(server.newMethod(config, "/" + i));
+		}
+		assertTrue(System.currentTimeMillis() - start >= 900);
+		assertEquals(4, server.getPaths().size());
+	}
+
+	@Test
+	public void testProactiveRateLimitHandler() throws RiotApiException {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				exchange.getResponseHeaders().add("X-App-Rate-Limit", "100:1,3:120");
+				exchange.getResponseHeaders().add("X-App-Rate-Limit-Count", "1:1,1:120");
+				LocalServer.respond(exchange, 200, "{}");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setRateLimitHandler(new ProactiveRateLimitHandler());
+		RiotApi api = new RiotApi(config);
+		for (int i = 0; i < 3; i++) {
+			api.callCustomApiMethod(server.newMethod(config, "/" + i));
+		}
+		try {
+			api.callCustomApiMethod(server.newMethod(config, "/3"));
+			fail("Expected the rate limit to be respected");
+		} catch (RespectedRateLimitException e) {
+			assertEquals("application", e.getRateLimitType());
+			assertEquals(120, e.getRetryAfter(), 1);
+		}
+		assertEquals(3, server.getPaths().size());
+	}
+
+	@Test
+	public void testProactiveRateLimitHandlerWithTournamentMethods() throws RiotApiException {
+		limitServer("2:120");
+		ApiConfig config = new ApiConfig().setKey("key").setTournamentKey("tournamentKey").setRateLimitHandler(new ProactiveRateLimitHandler())
+				.setHttpTransport(server.newTransport());
+		RiotApi api = new RiotApi(config);
+		// Tournament methods have no platform and are tracked separately
+		for (int i = 0; i < 2; i++) {
+			api.getLobbyEventsByTournament("CODE");
+		}
+		try {
+			api.getLobbyEventsByTournament("CODE");
+			fail("Expected the rate limit to be respected");
+		} catch (RespectedRateLimitException e) {
+			assertEquals("application", e.getRateLimitType());
+		}
+		api.callCustomApiMethod(server.newMethod(config, "/platform"));
+		assertEquals(3, server.getPaths().size());
+	}
+
+	private static long millis(long millis) {
+		// Starts near the end of the range of System.nanoTime(), so that the windows have to cope with overflowing timestamps
+		return Long.MAX_VALUE - TimeUnit.MILLISECONDS.toNanos(750) + TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	@Test
+	public void testRateLimitWindow() {
+		RateLimitWindow window = new RateLimitWindow(2, 1000);
+		window.record(millis(0));
+		assertEquals(0, window.getWaitTime(millis(0)));
+		window.record(millis(500));
+		assertEquals(1000, window.getWaitTime(millis(0)));
+		assertEquals(500, window.getWaitTime(millis(500)));
+		assertEquals(1, window.getWaitTime(millis(1000) - 1));
+		assertEquals(0, window.getWaitTime(millis(1000)));
+		assertEquals(1, window.getCount(millis(1000)));
+		window.record(millis(1000));
+		window.setLimit(1);
+		assertEquals(1, window.getCount(millis(1000)));
+		assertEquals(1000, window.getWaitTime(millis(1000)));
+	}
+
+	@Test
+	public void testRateLimitWindowListUpdate() {
+		RateLimitWindowList list = new RateLimitWindowList("application");
+		list.update("20:1, 100:120", "3:1,7:120", millis(0));
+		assertEquals(2, list.getWindows().size());
+		assertEquals(20, list.getWindows().get(1).getLimit());
+		assertEquals(3, list.getWindows().get(1).getCount(millis(0)));
+		assertEquals(7, list.getWindows().get(120).getCount(millis(0)));
+		// Invalid pairs are skipped, and windows that are no longer reported are dropped
+		list.update("x:1,10:1", null, millis(0));
+		assertEquals(1, list.getWindows().size());
+		assertEquals(10, list.getWindows().get(1).getLimit());
+		assertEquals(3, list.getWindows().get(1).getCount(millis(0)));
+		list.update(null, "1:1", millis(0));
+		assertEquals(1, list.getWindows().size());
+	}
+
+	@Test
+	public void testRateLimitList() {
+		RateLimitList list = new DefaultRateLimitHandler().new RateLimitList();
+		assertNull(list.getRateLimit(Platform.NA, "service", "method"));
+		assertNull(list.getRateLimit(null, "service", "method"));
+		list.setRateLimit(Platform.NA, "service", "method", "method", 10);
+		assertTrue(list.isLimitExceeded(Platform.NA, "service", "method"));
+		assertFalse(list.isLimitExceeded(Platform.NA, "service", "other"));
+		assertFalse(list.isLimitExceeded(Platform.EUW, "service", "method"));
+		list.setRateLimit(Platform.EUW, "service", "method", "service", 10);
+		assertEquals("service", list.getRateLimit(Platform.EUW, "service", "other").getRateLimitType());
+		assertFalse(list.isLimitExceeded(Platform.EUW, "other", "other"));
+		list.setRateLimit(Platform.KR, "service", "method", "application", 10);
+		assertEquals("application", list.getRateLimit(Platform.KR, "other", "other").getRateLimitType());
+		list.setRateLimit(Platform.KR, "service", "method", null, 10);
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.ResponseCache;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.RiotApiFuture;
+import net.rithms.riot.api.endpoints.match.methods.GetMatch;
+
+/**
+ * Tests the {@link ResponseCache} against a local http server.
+ */
+public class ResponseCacheTest {
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	@Test
+	public void testCacheHits() throws RiotApiException, InterruptedException, ExecutionException {
+		ResponseCache cache = new ResponseCache(1024).setTimeToLive(LocalServer.LocalApiMethod.class, ResponseCache.FOREVER, TimeUnit.SECONDS);
+		ApiConfig config = new ApiConfig().setKey("key").setResponseCache(cache);
+		RiotApi api = new RiotApi(config);
+		Object first = api.callCustomApiMethod(server.newMethod(config, "/cached"));
+		Object second = api.callCustomApiMethod(server.newMethod(config, "/cached"));
+		Object third = new RiotApiFuture(api).callCustomApiMethod(server.newMethod(config, "/cached")).get();
+		assertSame(first, second);
+		assertSame(first, third);
+		assertEquals(1, server.getPaths().size());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testTimeToLiveAndEviction() throws RiotApiException, InterruptedException {
+		// Holds two responses of 15 bytes
+		ResponseCache cache = new ResponseCache(30).setDefaultTimeToLive(100, TimeUnit.MILLISECONDS);
+		ApiConfig config = new ApiConfig().setKey("key").setResponseCache(cache);
+		RiotApi api = new RiotApi(config);
+		api.callCustomApiMethod(server.newMethod(config, "/expiring"));
+		Thread.sleep(150);
+		api.callCustomApiMethod(server.newMethod(config, "/expiring"));
+		assertEquals(2, server.getPaths().size());
+
+		cache.setDefaultTimeToLive(1, TimeUnit.MINUTES);
+		api.callCustomApiMethod(server.newMethod(config, "/a"));
+		api.callCustomApiMethod(server.newMethod(config, "/b"));
+		api.callCustomApiMethod(server.newMethod(config, "/a"));
+		// Evicts /b, which is the least recently used
+		api.callCustomApiMethod(server.newMethod(config, "/c"));
+		api.callCustomApiMethod(server.newMethod(config, "/a"));
+		api.callCustomApiMethod(server.newMethod(config, "/b"));
+		assertEquals(6, server.getPaths().size());
+		assertEquals(2, cache.size());
+		assertEquals(30, cache.getWeight());
+
+		assertEquals(ResponseCache.FOREVER, cache.getTimeToLive(GetMatch.class));
+	}
+
+	@Test
+	public void testWeightedEviction() throws RiotApiException {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				// Responds to /<n>/<id> with a body of n + 12 bytes
+				char[] token = new char[Integer.parseInt(exchange.getRequestURI().getPath().split("/")[1])];
+				Arrays.fill(token, 'x');
+				LocalServer.respond(exchange, 200, "{\"token\":\"" + new String(token) + "\"}");
+			}
+		});
+		ResponseCache cache = new ResponseCache(100).setDefaultTimeToLive(1, TimeUnit.MINUTES);
+		ApiConfig config = new ApiConfig().setKey("key").setResponseCache(cache);
+		RiotApi api = new RiotApi(config);
+		api.callCustomApiMethod(server.newMethod(config, "/18/a"));
+		api.callCustomApiMethod(server.newMethod(config, "/18/b"));
+		api.callCustomApiMethod(server.newMethod(config, "/18/c"));
+		assertEquals(3, cache.size());
+		assertEquals(90, cache.getWeight());
+
+		// Evicts /18/a and /18/b to make room for 50 bytes
+		api.callCustomApiMethod(server.newMethod(config, "/38/d"));
+		assertEquals(2, cache.size());
+		assertEquals(80, cache.getWeight());
+		api.callCustomApiMethod(server.newMethod(config, "/18/c"));
+		assertEquals(4, server.getPaths().size());
+
+		// Fills the whole cache
+		api.callCustomApiMethod(server.newMethod(config, "/88/e"));
+		assertEquals(1, cache.size());
+		assertEquals(100, cache.getWeight());
+
+		// Too heavy to be cached, so it neither evicts /88/e nor is served from the cache
+		api.callCustomApiMethod(server.newMethod(config, "/100/f"));
+		api.callCustomApiMethod(server.newMethod(config, "/100/f"));
+		api.callCustomApiMethod(server.newMethod(config, "/88/e"));
+		assertEquals(7, server.getPaths().size());
+		assertEquals(1, cache.size());
+		assertEquals(100, cache.getWeight());
+	}
+}
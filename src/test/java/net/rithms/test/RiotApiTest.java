@@ -36,7 +36,9 @@ import net.rithms.test.sync.AllSyncTests;
  * </p>
  */
 @RunWith(Suite.class)
-@SuiteClasses({ UtilTest.class, AllSyncTests.class, AllAsyncTests.class })
+@SuiteClasses({ UtilTest.class, TransportTest.class, AsyncRequestPoolTest.class, FutureApiTest.class, RateLimitHandlerTest.class,
+		ResponseCacheTest.class, MatchArchiveTest.class, PagingTest.class, LadderTest.class, SpectatorTest.class, TournamentTest.class,
+		AllSyncTests.class, AllAsyncTests.class })
 public class RiotApiTest {
 	private static final String apiKey = "YOUR-API-KEY-HERE";
 	private static final String tournamentApiKey = "YOUR-TOURNAMENT-API-KEY-HERE";
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.CurrentGameEnricher;
+import net.rithms.riot.api.CurrentGameEnricher.EnrichedGame;
+import net.rithms.riot.api.CurrentGameEnricher.EnrichedParticipant;
+import net.rithms.riot.api.FeaturedGamesFeed;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.SpectatorWatcher;
+import net.rithms.riot.api.endpoints.spectator.dto.CurrentGameInfo;
+import net.rithms.riot.api.endpoints.spectator.dto.FeaturedGameInfo;
+import net.rithms.riot.api.endpoints.spectator.dto.FeaturedGames;
+import net.rithms.riot.api.endpoints.spectator.methods.GetActiveGameBySummoner;
+import net.rithms.riot.constant.Platform;
+
+/**
+ * Tests the helpers built around the spectator endpoint against a local http server.
+ */
+public class SpectatorTest {
+
+	private static final String NOT_FOUND = "{\"status\":{\"message\":\"Data not found\",\"status_code\":404}}";
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	@Test
+	public void testEnrichActiveGame() throws InterruptedException, ExecutionException {
+		final CountDownLatch release = new CountDownLatch(1);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String path = exchange.getRequestURI().getPath();
+				if (path.equals("/lol/spectator/v4/active-games/by-summoner/s0")) {
+					StringBuilder body = new StringBuilder("{\"gameId\":1,\"participants\":[");
+					for (int i = 0; i < 10; i++) {
+						body.append(i == 0 ? "" : ",").append("{\"summonerId\":\"s").append(i).append("\",\"championId\":").append(10 + i)
+								.append(",\"bot\":").append(i == 9).append('}');
+					}
+					LocalServer.respond(exchange, 200, body.append("]}").toString());
+				} else if (path.startsWith("/lol/spectator/")) {
+					LocalServer.respond(exchange, 404, NOT_FOUND);
+				} else if (path.startsWith("/lol/league/v4/positions/by-summoner/")) {
+					String summonerId = path.substring(path.lastIndexOf('/') + 1);
+					if (summonerId.equals("s3")) {
+						// Misses the deadline
+						try {
+							release.await(5, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					LocalServer.respond(exchange, 200, "[{\"summonerId\":\"" + summonerId + "\",\"leaguePoints\":1}]");
+				} else if (path.contains("/by-summoner/s1/")) {
+					LocalServer.respond(exchange, 404, NOT_FOUND);
+				} else {
+					String championId = path.substring(path.lastIndexOf('/') + 1);
+					LocalServer.respond(exchange, 200, "{\"championId\":" + championId + ",\"championPoints\":100}");
+				}
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		CurrentGameEnricher enricher = new CurrentGameEnricher(new RiotApi(config));
+		long start = System.nanoTime();
+		EnrichedGame game = enricher.enrichActiveGame(Platform.NA, "s0", 500, TimeUnit.MILLISECONDS).get();
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+		release.countDown();
+
+		assertEquals(1, game.getGame().getGameId());
+		assertEquals(10, game.getParticipants().size());
+		assertFalse(game.isComplete());
+		EnrichedParticipant participant = game.getParticipant("s0");
+		assertTrue(participant.isComplete());
+		assertEquals(1, participant.getLeaguePositions().size());
+		assertEquals(10, participant.getChampionMastery().getChampionId());
+		// Never played the champion
+		participant = game.getParticipant("s1");
+		assertTrue(participant.isComplete());
+		assertNull(participant.getChampionMastery());
+		assertNotNull(participant.getLeaguePositions());
+		// Missed the deadline
+		participant = game.getParticipant("s3");
+		assertFalse(participant.isComplete());
+		assertNull(participant.getLeaguePositions());
+		assertEquals(13, participant.getChampionMastery().getChampionId());
+		// Bots are not enriched
+		participant = game.getParticipant("s9");
+		assertTrue(participant.isComplete());
+		assertNull(participant.getLeaguePositions());
+		assertEquals(1 + 9 * 2, server.getPaths().size());
+
+		assertNull(enricher.enrichActiveGame(Platform.NA, "s10", 500, TimeUnit.MILLISECONDS).get());
+	}
+
+	@Test
+	public void testFeaturedGamesFeed() throws InterruptedException, ExecutionException {
+		final AtomicInteger refreshes = new AtomicInteger();
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				assertEquals("/lol/spectator/v4/featured-games", exchange.getRequestURI().getPath());
+				String games = refreshes.getAndIncrement() == 0 ? "{\"gameId\":1},{\"gameId\":2}" : "{\"gameId\":2},{\"gameId\":3}";
+				LocalServer.respond(exchange, 200, "{\"gameList\":[" + games + "],\"clientRefreshInterval\":1}");
+			}
+		});
+		final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+		RiotApi api = new RiotApi(new ApiConfig().setKey("key").setHttpTransport(server.newTransport()));
+		FeaturedGamesFeed feed = new FeaturedGamesFeed(api);
+		feed.addListener(new FeaturedGamesFeed.Listener() {
+			@Override
+			public void onGameAdded(Platform platform, FeaturedGameInfo game) {
+				events.add(platform.name() + " +" + game.getGameId());
+			}
+
+			@Override
+			public void onGameRemoved(Platform platform, FeaturedGameInfo game) {
+				events.add(platform.name() + " -" + game.getGameId());
+			}
+		});
+
+		feed.refresh(Platform.NA).get();
+		assertEquals("NA +1", events.poll());
+		assertEquals("NA +2", events.poll());
+		feed.refresh(Platform.NA).get();
+		assertEquals("NA -1", events.poll());
+		assertEquals("NA +3", events.poll());
+		assertNull(events.poll());
+		assertEquals(2, feed.getGames(Platform.NA).size());
+		assertEquals(2, feed.getRefreshCount(Platform.NA));
+		assertTrue(feed.getGames(Platform.EUW).isEmpty());
+
+		// The second scheduled refresh follows the suggested interval of one second
+		refreshes.set(0);
+		feed.setPlatforms(Platform.EUW).start();
+		assertEquals("EUW +1", events.poll(5, TimeUnit.SECONDS));
+		assertEquals("EUW +2", events.poll(5, TimeUnit.SECONDS));
+		assertEquals("EUW -1", events.poll(5, TimeUnit.SECONDS));
+		assertEquals("EUW +3", events.poll(5, TimeUnit.SECONDS));
+		feed.stop();
+		assertFalse(feed.isRunning());
+		assertEquals(2, feed.getRefreshCount(Platform.NA));
+	}
+
+	@Test
+	public void testFeaturedGamesFeedIgnoresOutdatedResponses() throws InterruptedException, ExecutionException {
+		final CountDownLatch firstRequest = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger requests = new AtomicInteger();
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (requests.incrementAndGet() == 1) {
+					firstRequest.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					LocalServer.respond(exchange, 200, "{\"gameList\":[{\"gameId\":1}]}");
+					return;
+				}
+				LocalServer.respond(exchange, 200, "{\"gameList\":[{\"gameId\":2}]}");
+			}
+		});
+		final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+		RiotApi api = new RiotApi(new ApiConfig().setKey("key").setHttpTransport(server.newTransport()));
+		FeaturedGamesFeed feed = new FeaturedGamesFeed(api);
+		feed.addListener(new FeaturedGamesFeed.Listener() {
+			@Override
+			public void onGameAdded(Platform platform, FeaturedGameInfo game) {
+				events.add("+" + game.getGameId());
+			}
+
+			@Override
+			public void onGameRemoved(Platform platform, FeaturedGameInfo game) {
+				events.add("-" + game.getGameId());
+			}
+		});
+		CompletableFuture<FeaturedGames> first = feed.refresh(Platform.NA);
+		try {
+			assertTrue(firstRequest.await(5, TimeUnit.SECONDS));
+			feed.refresh(Platform.NA).get();
+		} finally {
+			release.countDown();
+		}
+		first.get();
+		assertEquals("+2", events.poll());
+		assertNull(events.poll());
+		assertEquals(1, feed.getGames(Platform.NA).size());
+		assertEquals(2, feed.getGames(Platform.NA).get(0).getGameId());
+		assertEquals(1, feed.getRefreshCount(Platform.NA));
+	}
+
+	@Test
+	public void testFeaturedGamesFeedRestartKeepsOneRefreshChain() throws InterruptedException {
+		final CountDownLatch firstRequest = new CountDownLatch(1);
+		final CountDownLatch secondRequest = new CountDownLatch(1);
+		final CountDownLatch fifthRequest = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger requests = new AtomicInteger();
+		final List<Long> requestNanos = new CopyOnWriteArrayList<Long>();
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				requestNanos.add(System.nanoTime());
+				int request = requests.incrementAndGet();
+				if (request == 2) {
+					secondRequest.countDown();
+				} else if (request == 5) {
+					fifthRequest.countDown();
+				}
+				if (request == 1) {
+					firstRequest.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				LocalServer.respond(exchange, 200, "{\"gameList\":[],\"clientRefreshInterval\":1}");
+			}
+		});
+		RiotApi api = new RiotApi(new ApiConfig().setKey("key").setHttpTransport(server.newTransport()));
+		FeaturedGamesFeed feed = new FeaturedGamesFeed(api).setPlatforms(Platform.NA);
+		feed.start();
+		try {
+			assertTrue(firstRequest.await(10, TimeUnit.SECONDS));
+			// Restart while the first refresh is in flight
+			feed.stop();
+			feed.start();
+			assertTrue(secondRequest.await(10, TimeUnit.SECONDS));
+			release.countDown();
+			// Three more refreshes, one per suggested interval of one second
+			assertTrue(fifthRequest.await(10, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			feed.stop();
+		}
+		// The completing first refresh must not start a second chain next to the one started by the restart
+		for (int i = 2; i < requestNanos.size(); i++) {
+			assertTrue(requestNanos.get(i) - requestNanos.get(i - 1) > TimeUnit.MILLISECONDS.toNanos(500));
+		}
+	}
+
+	@Test
+	public void testNotInGameAsNull() throws RiotApiException {
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				LocalServer.respond(exchange, 404, NOT_FOUND);
+			}
+		});
+		RiotApi api = new RiotApi(config);
+		assertNull(api.callCustomApiMethod(new GetActiveGameBySummoner(config, Platform.NA, "s1", true)));
+		try {
+			api.callCustomApiMethod(new GetActiveGameBySummoner(config, Platform.NA, "s1"));
+			fail();
+		} catch (RiotApiException e) {
+			assertEquals(RiotApiException.DATA_NOT_FOUND, e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void testSpectatorWatcherKeepsPollingAfterWakeUps() throws InterruptedException {
+		final CountDownLatch polled = new CountDownLatch(5);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				polled.countDown();
+				LocalServer.respond(exchange, 404, NOT_FOUND);
+			}
+		});
+		// Every poll completes within the wake-up that started it, before the wake-up returns
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport()).setExecutor(LocalServer.newDirectExecutor());
+		SpectatorWatcher watcher = new SpectatorWatcher(new RiotApi(config)).setMinInterval(20, TimeUnit.MILLISECONDS)
+				.setMaxInterval(20, TimeUnit.MILLISECONDS);
+		watcher.watch(Platform.NA, "idle");
+		watcher.start();
+		try {
+			assertTrue("Polling stopped after " + (5 - polled.getCount()) + " polls", polled.await(5, TimeUnit.SECONDS));
+		} finally {
+			watcher.stop();
+		}
+	}
+
+	@Test
+	public void testSpectatorWatcher() throws InterruptedException {
+		final AtomicInteger gameId = new AtomicInteger();
+		final CountDownLatch playingPolled = new CountDownLatch(2);
+		final CountDownLatch idlePolled = new CountDownLatch(5);
+		final List<Long> idlePollNanos = new CopyOnWriteArrayList<Long>();
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String path = exchange.getRequestURI().getPath();
+				if (path.endsWith("/playing")) {
+					if (gameId.get() != 0) {
+						LocalServer.respond(exchange, 200, "{\"gameId\":" + gameId.get() + "}");
+						return;
+					}
+					playingPolled.countDown();
+				} else if (path.endsWith("/idle")) {
+					idlePollNanos.add(System.nanoTime());
+					idlePolled.countDown();
+				}
+				LocalServer.respond(exchange, 404, NOT_FOUND);
+			}
+		});
+		final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(server.newTransport());
+		SpectatorWatcher watcher = new SpectatorWatcher(new RiotApi(config)).setMinInterval(20, TimeUnit.MILLISECONDS)
+				.setMaxInterval(400, TimeUnit.MILLISECONDS).setInGameInterval(20, TimeUnit.MILLISECONDS).setBackoffFactor(2);
+		watcher.addListener(new SpectatorWatcher.Listener() {
+			@Override
+			public void onGameEnded(Platform platform, String summonerId, CurrentGameInfo game) {
+				events.add("ended " + summonerId + " " + game.getGameId());
+			}
+
+			@Override
+			public void onGameStarted(Platform platform, String summonerId, CurrentGameInfo game) {
+				events.add("started " + summonerId + " " + game.getGameId());
+			}
+		});
+		assertTrue(watcher.watch(Platform.NA, "playing"));
+		assertTrue(watcher.watch(Platform.NA, "idle"));
+		assertFalse(watcher.watch(Platform.NA, "idle"));
+		assertEquals(2, watcher.size());
+		watcher.start();
+		try {
+			// Not in game while polled the first times
+			assertTrue(playingPolled.await(10, TimeUnit.SECONDS));
+			gameId.set(1);
+			assertEquals("started playing 1", events.poll(10, TimeUnit.SECONDS));
+			assertEquals(1, watcher.getGame(Platform.NA, "playing").getGameId());
+			gameId.set(2);
+			assertEquals("ended playing 1", events.poll(10, TimeUnit.SECONDS));
+			assertEquals("started playing 2", events.poll(10, TimeUnit.SECONDS));
+			gameId.set(0);
+			assertEquals("ended playing 2", events.poll(10, TimeUnit.SECONDS));
+			assertNull(watcher.getGame(Platform.NA, "playing"));
+			assertTrue(idlePolled.await(10, TimeUnit.SECONDS));
+		} finally {
+			watcher.stop();
+		}
+		// The idle summoner backed off: each poll follows the previous one after at least 40, 80, 160 and 320 ms, since the next poll is
+		// only scheduled once the previous one completed
+		for (int i = 1; i < 5; i++) {
+			long minInterval = TimeUnit.MILLISECONDS.toNanos(Math.min(400, 20 << i));
+			assertTrue(idlePollNanos.get(i) - idlePollNanos.get(i - 1) >= minInterval);
+		}
+		assertTrue(watcher.unwatch(Platform.NA, "idle"));
+		assertEquals(1, watcher.size());
+		assertTrue(events.isEmpty());
+	}
+}
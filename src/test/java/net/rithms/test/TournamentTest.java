@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.LobbyEventPoller;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.endpoints.tournament.dto.LobbyEvent;
+
+/**
+ * Tests the helpers built around the tournament endpoint against a local http server.
+ */
+public class TournamentTest {
+
+	private static final String PATH = "/lol/tournament/v3/lobby-events/by-code/";
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	private static String event(String eventType, String summonerId, long timestamp) {
+		return "{\"eventType\":\"" + eventType + "\",\"summonerId\":\"" + summonerId + "\",\"timestamp\":\"" + timestamp + "\"}";
+	}
+
+	private static String toString(List<LobbyEvent> events) {
+		StringBuilder sb = new StringBuilder();
+		for (LobbyEvent event : events) {
+			sb.append(sb.length() == 0 ? "" : ",").append(event.getEventType()).append(' ').append(event.getSummonerId());
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void testLobbyEventPoller() throws InterruptedException {
+		final Map<String, AtomicInteger> polls = new ConcurrentHashMap<String, AtomicInteger>();
+		final List<Long> pollNanos = new CopyOnWriteArrayList<Long>();
+		// Counted down by the third poll of the codes B and C
+		final CountDownLatch thirdPolls = new CountDownLatch(2);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				pollNanos.add(System.nanoTime());
+				assertEquals("tournamentKey", exchange.getRequestHeaders().getFirst("X-Riot-Token"));
+				String code = exchange.getRequestURI().getPath().substring(PATH.length());
+				polls.putIfAbsent(code, new AtomicInteger());
+				int poll = polls.get(code).getAndIncrement();
+				if (poll == 2 && !code.equals("A")) {
+					thirdPolls.countDown();
+				}
+				String events = event("PlayerJoinedGameEvent", "1", 1000) + "," + event("PlayerJoinedGameEvent", "2", 1000);
+				if (code.equals("A") && poll > 0) {
+					// Not listed chronologically
+					events += "," + event("ChampSelectStartedEvent", "0", 2000) + "," + event("PlayerJoinedGameEvent", "3", 1000);
+				} else if (code.equals("C")) {
+					events += "," + event("ChampSelectStartedEvent", "0", 1500);
+				}
+				LocalServer.respond(exchange, 200, "{\"eventList\":[" + events + "]}");
+			}
+		});
+		final BlockingQueue<String> deliveries = new LinkedBlockingQueue<String>();
+		RiotApi api = new RiotApi(new ApiConfig().setKey("key").setTournamentKey("tournamentKey").setHttpTransport(server.newTransport()));
+		LobbyEventPoller poller = new LobbyEventPoller(api).setPollInterval(100, TimeUnit.MILLISECONDS).setMaxPollsPerSecond(20);
+		poller.addListener(new LobbyEventPoller.Listener() {
+			@Override
+			public void onLobbyEvents(String tournamentCode, List<LobbyEvent> events) {
+				deliveries.add(tournamentCode + ": " + TournamentTest.toString(events));
+			}
+		});
+		poller.track("A");
+		poller.track("B");
+		// Events up to the given timestamp have been delivered before
+		poller.track("C", 1000);
+		assertEquals(3, poller.size());
+		poller.start();
+		try {
+			// Codes are polled concurrently, but the events of each code are delivered in order of their timestamps
+			List<String> expected = Arrays.asList("A: PlayerJoinedGameEvent 1,PlayerJoinedGameEvent 2",
+					"A: PlayerJoinedGameEvent 3,ChampSelectStartedEvent 0", "B: PlayerJoinedGameEvent 1,PlayerJoinedGameEvent 2",
+					"C: ChampSelectStartedEvent 0");
+			List<String> delivered = new ArrayList<String>();
+			for (int i = 0; i < expected.size(); i++) {
+				String delivery = deliveries.poll(10, TimeUnit.SECONDS);
+				assertNotNull("Only received the deliveries " + delivered + " within 10 seconds", delivery);
+				delivered.add(delivery);
+			}
+			Collections.sort(delivered);
+			assertEquals(expected, delivered);
+			// Polling the same events again does not deliver them again
+			assertTrue("B and C have not been polled three times within 10 seconds", thirdPolls.await(10, TimeUnit.SECONDS));
+		} finally {
+			poller.stop();
+		}
+		assertNull(deliveries.poll(200, TimeUnit.MILLISECONDS));
+		assertEquals(2000, poller.getLastTimestamp("A"));
+		assertEquals(1500, poller.getLastTimestamp("C"));
+		assertEquals(-1, poller.getLastTimestamp("D"));
+
+		// Polls are spread to at most 20 per second, allowing for the first request being slower
+		long span = pollNanos.get(pollNanos.size() - 1) - pollNanos.get(0);
+		assertTrue(span >= (pollNanos.size() - 2) * TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(poller.untrack("A"));
+		assertEquals(2, poller.size());
+	}
+
+	@Test
+	public void testLobbyEventPollerKeepsPollingAfterWakeUps() throws InterruptedException {
+		final CountDownLatch polled = new CountDownLatch(5);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				polled.countDown();
+				LocalServer.respond(exchange, 200, "{\"eventList\":[]}");
+			}
+		});
+		// Every poll completes within the wake-up that started it, before the wake-up returns
+		RiotApi api = new RiotApi(new ApiConfig().setKey("key").setTournamentKey("tournamentKey").setHttpTransport(server.newTransport())
+				.setExecutor(LocalServer.newDirectExecutor()));
+		LobbyEventPoller poller = new LobbyEventPoller(api).setPollInterval(20, TimeUnit.MILLISECONDS);
+		poller.track("A");
+		poller.start();
+		try {
+			assertTrue("Polling stopped after " + (5 - polled.getCount()) + " polls", polled.await(5, TimeUnit.SECONDS));
+		} finally {
+			poller.stop();
+		}
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2018 Taylor Caldwell
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.rithms.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import net.rithms.riot.api.ApiConfig;
+import net.rithms.riot.api.HttpHeadParameter;
+import net.rithms.riot.api.RiotApi;
+import net.rithms.riot.api.RiotApiAsync;
+import net.rithms.riot.api.RiotApiException;
+import net.rithms.riot.api.request.AsyncRequest;
+import net.rithms.riot.api.request.RequestMethod;
+import net.rithms.riot.api.request.RequestResponse;
+import net.rithms.riot.api.request.transport.Http2Transport;
+import net.rithms.riot.api.request.transport.HttpTransport;
+import net.rithms.riot.api.request.transport.HttpTransportRequest;
+import net.rithms.riot.api.request.transport.HttpTransportResponse;
+import net.rithms.riot.api.request.transport.PooledHttpTransport;
+
+/**
+ * Tests the http transports in the package {@code net.rithms.riot.api.request.transport} against a local http server.
+ */
+public class TransportTest {
+
+	private static LocalServer server = null;
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		server = new LocalServer();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void clearServer() {
+		server.clear();
+	}
+
+	private static String readBody(HttpTransportResponse response) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		InputStream is = response.getBody();
+		byte[] buffer = new byte[256];
+		int read;
+		while ((read = is.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testPooledTransportReusesConnections() throws IOException {
+		HttpTransport transport = new PooledHttpTransport(1);
+		for (int i = 0; i < 3; i++) {
+			HttpTransportRequest request = new HttpTransportRequest(server.getUrl("/" + i), RequestMethod.GET,
+					Collections.singletonList(new HttpHeadParameter("X-Riot-Token", "key")), null, 5000);
+			HttpTransportResponse response = transport.execute(request);
+			try {
+				assertEquals(200, response.getCode());
+				assertEquals("{\"token\":\"key\"}", readBody(response));
+			} finally {
+				response.close();
+			}
+		}
+		assertEquals(3, server.getClientPorts().size());
+		assertEquals(server.getClientPorts().get(0), server.getClientPorts().get(1));
+		assertEquals(server.getClientPorts().get(0), server.getClientPorts().get(2));
+	}
+
+	@Test
+	public void testPooledTransportReusesConnectionsAfterErrors() throws IOException {
+		HttpTransport transport = new PooledHttpTransport(1);
+		HttpTransportResponse response = transport.execute(new HttpTransportRequest(server.getUrl("/missing"), RequestMethod.GET, null, null, 5000));
+		assertEquals(404, response.getCode());
+		// Close without reading the body
+		response.close();
+		response = transport.execute(new HttpTransportRequest(server.getUrl("/found"), RequestMethod.GET, null, null, 5000));
+		assertEquals(200, response.getCode());
+		response.close();
+		assertEquals(2, server.getClientPorts().size());
+		assertEquals(server.getClientPorts().get(0), server.getClientPorts().get(1));
+	}
+
+	@Test
+	public void testAbortedRequestsAreNotSent() {
+		HttpTransport[] transports = { new PooledHttpTransport(1), new Http2Transport() };
+		for (HttpTransport transport : transports) {
+			HttpTransportRequest request = new HttpTransportRequest(server.getUrl("/aborted"), RequestMethod.GET, null, null, 5000);
+			request.abort();
+			try {
+				transport.execute(request).close();
+				fail("Aborted request has been executed by " + transport.getClass().getSimpleName());
+			} catch (IOException e) {
+				// Expected
+			}
+		}
+		assertTrue(server.getPaths().isEmpty());
+	}
+
+	@Test
+	public void testPooledTransportWaitTimesOut() throws IOException {
+		HttpTransport transport = new PooledHttpTransport(1);
+		HttpTransportResponse first = transport.execute(new HttpTransportRequest(server.getUrl("/first"), RequestMethod.GET, null, null, 5000));
+		try {
+			transport.execute(new HttpTransportRequest(server.getUrl("/second"), RequestMethod.GET, null, null, 100)).close();
+			fail("Request did not time out while waiting for a connection");
+		} catch (SocketTimeoutException e) {
+			// Expected
+		} finally {
+			first.close();
+		}
+		assertEquals(1, server.getPaths().size());
+	}
+
+	@Test
+	public void testPooledTransportAbortEndsWait() throws IOException, InterruptedException {
+		HttpTransport transport = new PooledHttpTransport(1);
+		HttpTransportResponse first = transport.execute(new HttpTransportRequest(server.getUrl("/first"), RequestMethod.GET, null, null, 5000));
+		final HttpTransportRequest second = new HttpTransportRequest(server.getUrl("/second"), RequestMethod.GET, null, null, 0);
+		Thread aborter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					throw new AssertionError(e);
+				}
+				second.abort();
+			}
+		};
+		aborter.start();
+		try {
+			transport.execute(second).close();
+			fail("Aborted request has been executed");
+		} catch (IOException e) {
+			// Expected
+		} finally {
+			first.close();
+		}
+		aborter.join();
+		assertEquals(1, server.getPaths().size());
+	}
+
+	@Test
+	public void testPooledTransportDoesNotLimitConnectionsByDefault() throws IOException, InterruptedException {
+		final CountDownLatch arrived = new CountDownLatch(10);
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				arrived.countDown();
+				try {
+					arrived.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				LocalServer.respond(exchange, 200, "{}");
+			}
+		});
+		final HttpTransport transport = new PooledHttpTransport();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 10; i++) {
+			final String path = "/" + i;
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						transport.execute(new HttpTransportRequest(server.getUrl(path), RequestMethod.GET, null, null, 5000)).close();
+					} catch (IOException e) {
+						throw new AssertionError(e);
+					}
+				}
+			};
+			thread.start();
+			threads.add(thread);
+		}
+		// All requests must reach the server at once, which is more than the keep-alive cache holds
+		assertTrue(arrived.await(5, TimeUnit.SECONDS));
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	@Test
+	public void testHttp2Transport() throws RiotApiException, InterruptedException, TimeoutException {
+		ApiConfig config = new ApiConfig().setKey("key").setHttpTransport(new Http2Transport());
+		RiotApi api = new RiotApi(config);
+		@SuppressWarnings("unchecked")
+		Map<String, String> dto = (Map<String, String>) api.callCustomApiMethod(server.newMethod(config, "/sync"));
+		assertEquals("key", dto.get("token"));
+
+		RiotApiAsync apiAsync = api.getAsyncApi();
+		List<AsyncRequest> requests = new ArrayList<AsyncRequest>();
+		for (int i = 0; i < 50; i++) {
+			requests.add(apiAsync.callCustomApiMethod(server.newMethod(config, "/async/" + i)));
+		}
+		for (AsyncRequest request : requests) {
+			request.await(5, TimeUnit.SECONDS);
+			assertTrue(request.isSuccessful());
+			Map<String, String> asyncDto = request.getDto();
+			assertEquals("key", asyncDto.get("token"));
+		}
+	}
+
+	@Test
+	public void testResponseBodyIsKeptOnRequest() throws InterruptedException, RiotApiException {
+		ApiConfig config = new ApiConfig().setKey("key");
+		AsyncRequest request = new RiotApi(config).getAsyncApi().callCustomApiMethod(server.newMethod(config, "/streamed"));
+		request.await();
+		Map<String, String> dto = request.getDto();
+		assertEquals("key", dto.get("token"));
+		assertNull(request.getResponse().getBody());
+
+		config.setKeepResponseBody(true);
+		request = new RiotApi(config).getAsyncApi().callCustomApiMethod(server.newMethod(config, "/kept"));
+		request.await();
+		dto = request.getDto();
+		assertEquals("key", dto.get("token"));
+		RequestResponse response = request.getResponse();
+		assertEquals("{\"token\":\"key\"}", response.getBody());
+	}
+
+	@Test
+	public void testStreamedParseFailure() throws InterruptedException, RiotApiException {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				LocalServer.respond(exchange, 200, "{\"token\":");
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key");
+		AsyncRequest request = new RiotApi(config).getAsyncApi().callCustomApiMethod(server.newMethod(config, "/malformed"));
+		request.await();
+		assertTrue(request.isSuccessful());
+		try {
+			request.getDtoAndThrowException();
+			fail();
+		} catch (RiotApiException e) {
+			assertEquals(RiotApiException.PARSE_FAILURE, e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void testCompressedResponses() throws RiotApiException {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+				String encoding = exchange.getRequestURI().getPath().substring(1);
+				if (acceptEncoding == null) {
+					LocalServer.respond(exchange, 200, "{\"token\":\"identity\"}");
+					return;
+				}
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				OutputStream os;
+				if (encoding.equals("gzip")) {
+					os = new GZIPOutputStream(bytes);
+				} else if (encoding.equals("deflate")) {
+					os = new DeflaterOutputStream(bytes);
+				} else {
+					// Raw deflate data without zlib wrapper
+					os = new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+					encoding = "deflate";
+				}
+				os.write(("{\"token\":\"" + acceptEncoding + "\"}").getBytes(StandardCharsets.UTF_8));
+				os.close();
+				exchange.getResponseHeaders().add("Content-Encoding", encoding);
+				exchange.sendResponseHeaders(200, bytes.size());
+				exchange.getResponseBody().write(bytes.toByteArray());
+				exchange.close();
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key");
+		RiotApi api = new RiotApi(config);
+		for (String path : new String[] { "/gzip", "/deflate", "/raw" }) {
+			@SuppressWarnings("unchecked")
+			Map<String, String> dto = (Map<String, String>) api.callCustomApiMethod(server.newMethod(config, path));
+			assertEquals("gzip, deflate", dto.get("token"));
+		}
+		config.setCompressResponses(false);
+		@SuppressWarnings("unchecked")
+		Map<String, String> dto = (Map<String, String>) api.callCustomApiMethod(server.newMethod(config, "/gzip"));
+		assertEquals("identity", dto.get("token"));
+		// All responses were read over the same connection
+		assertEquals(1, new HashSet<Integer>(server.getClientPorts()).size());
+	}
+
+	@Test
+	public void testCorruptCompressedResponse() {
+		server.setHandler(new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				byte[] bytes = "{\"token\":\"not gzip\"}".getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+				exchange.sendResponseHeaders(200, bytes.length);
+				exchange.getResponseBody().write(bytes);
+				exchange.close();
+			}
+		});
+		ApiConfig config = new ApiConfig().setKey("key");
+		try {
+			new RiotApi(config).callCustomApiMethod(server.newMethod(config, "/corrupt"));
+			fail();
+		} catch (RiotApiException e) {
+			assertEquals(RiotApiException.IOEXCEPTION, e.getErrorCode());
+		}
+	}
+}